@@ -0,0 +1,40 @@
+package com.boilerplate.application.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditActivityRequest {
+
+    public enum Granularity { HOUR, DAY }
+
+    public enum Dimension { ACTION, RESOURCE, USER }
+
+    @Schema(description = "Inclusive lower bound, rounded down to the bucket; defaults to 24 hours ago")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Schema(description = "Exclusive upper bound; defaults to now")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @Builder.Default
+    private Granularity granularity = Granularity.HOUR;
+
+    @Schema(description = "Counts are split by these; the others are summed up")
+    private Set<Dimension> groupBy;
+
+    private Long userId;
+    private String action;
+    private String resource;
+}
@@ -0,0 +1,38 @@
+package com.boilerplate.application.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogSearchRequest {
+
+    private Long userId;
+    private String action;
+    private String resource;
+
+    @Schema(description = "Only together with resource")
+    private String resourceId;
+
+    private String ipAddress;
+
+    @Schema(description = "JSON object the metadata must contain,"
+        + " e.g. {\"userIds\":[42]} for events that affected user 42")
+    private String metadata;
+
+    @Schema(description = "Inclusive lower bound on createdAt")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @Schema(description = "Exclusive upper bound on createdAt")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+}
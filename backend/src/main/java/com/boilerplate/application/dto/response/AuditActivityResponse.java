@@ -0,0 +1,21 @@
+package com.boilerplate.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One bucket of a time series; action, resource and userId are only set when grouped by. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditActivityResponse {
+    private LocalDateTime bucket;
+    private String action;
+    private String resource;
+    private Long userId;
+    private long count;
+}
@@ -0,0 +1,21 @@
+package com.boilerplate.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditArchiveSegmentResponse {
+    private YearMonth month;
+    private long rowCount;
+    private long sizeBytes;
+    private LocalDateTime firstCreatedAt;
+    private LocalDateTime lastCreatedAt;
+}
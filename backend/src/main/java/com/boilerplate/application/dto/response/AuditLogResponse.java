@@ -1,5 +1,6 @@
 package com.boilerplate.application.dto.response;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -18,7 +19,8 @@ public class AuditLogResponse {
     private String action;
     private String resource;
     private String resourceId;
-    private String metadata;
+    private JsonNode metadata;
     private String ipAddress;
+    private Integer eventCount;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,29 @@
+package com.boilerplate.application.dto.response;
+
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
+import com.boilerplate.domain.model.BulkJob.BulkJobType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkJobResponse {
+    private Long id;
+    private BulkJobType type;
+    private BulkJobStatus status;
+    private Boolean enabled;
+    private Integer total;
+    private Integer processed;
+    private Integer affected;
+    private String error;
+    private Long createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -1,5 +1,7 @@
 package com.boilerplate.application.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.Set;
 
@@ -7,6 +9,8 @@ public record GroupResponse(
     Long id,
     String name,
     String description,
+    // Null, and omitted, in the signed-in user's own groups (GroupMapper#toResponseWithoutMembers)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     Set<UserSummary> users,
     Integer userCount,
     LocalDateTime createdAt,
@@ -1,5 +1,8 @@
 package com.boilerplate.application.event;
 
+/**
+ * @param count how many identical events this one stands for; more than 1 once coalesced
+ */
 public record AuditEvent(
     Long userId,
     String username,
@@ -7,5 +10,12 @@ public record AuditEvent(
     String resource,
     String resourceId,
     String metadata,
-    String ipAddress
-) {}
+    String ipAddress,
+    int count
+) {
+
+    public AuditEvent(Long userId, String username, String action, String resource, String resourceId,
+                      String metadata, String ipAddress) {
+        this(userId, username, action, resource, resourceId, metadata, ipAddress, 1);
+    }
+}
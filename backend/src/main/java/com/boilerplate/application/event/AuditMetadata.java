@@ -0,0 +1,143 @@
+package com.boilerplate.application.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Builds the metadata of an audit event, stored as a JSON object in {@code audit_logs.metadata}
+ * (jsonb, V28) where searches can match it by containment, e.g. {@code {"userIds":[42]}}.
+ */
+public final class AuditMetadata {
+
+    public static final String MESSAGE = "message";
+    public static final String COUNT = "count";
+    /** Users an event affected besides its resourceId, e.g. every user of a bulk operation. */
+    public static final String USER_IDS = "userIds";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final ObjectNode fields = JsonNodeFactory.instance.objectNode();
+
+    private AuditMetadata() {
+    }
+
+    public static AuditMetadata empty() {
+        return new AuditMetadata();
+    }
+
+    public static AuditMetadata message(String message) {
+        return new AuditMetadata().with(MESSAGE, message);
+    }
+
+    public AuditMetadata with(String key, String value) {
+        fields.put(key, value);
+        return this;
+    }
+
+    public AuditMetadata with(String key, long value) {
+        fields.put(key, value);
+        return this;
+    }
+
+    public AuditMetadata with(String key, boolean value) {
+        fields.put(key, value);
+        return this;
+    }
+
+    /** The ids as a sorted array of numbers without duplicates. */
+    public AuditMetadata ids(String key, Collection<Long> ids) {
+        ArrayNode array = fields.putArray(key);
+        ids.stream().filter(Objects::nonNull).distinct().sorted().forEach(array::add);
+        return this;
+    }
+
+    public String toJson() {
+        return fields.toString();
+    }
+
+    /** The value if it is a JSON object, otherwise null. */
+    public static ObjectNode parseObject(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        try {
+            return JSON.readTree(json) instanceof ObjectNode object ? object : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /** Stored metadata as JSON; anything that does not parse is returned as a plain string. */
+    public static JsonNode read(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return JSON.readTree(json);
+        } catch (JsonProcessingException e) {
+            return TextNode.valueOf(json);
+        }
+    }
+
+    /**
+     * Whether {@code document} contains {@code fragment} the way jsonb's {@code @>} decides it:
+     * objects by key, arrays by element in any order, scalars by equality.
+     */
+    public static boolean contains(JsonNode document, JsonNode fragment) {
+        if (document == null || fragment == null) {
+            return false;
+        }
+        if (fragment.isObject()) {
+            if (!document.isObject()) {
+                return false;
+            }
+            for (var field : fragment.properties()) {
+                if (!contains(document.get(field.getKey()), field.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (fragment.isArray()) {
+            if (!document.isArray()) {
+                return false;
+            }
+            for (JsonNode wanted : fragment) {
+                boolean found = false;
+                for (JsonNode element : document) {
+                    if (contains(element, wanted)) {
+                        found = true;
+                        break;
+                    }
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (fragment.isNumber() && document.isNumber()) {
+            return fragment.decimalValue().compareTo(document.decimalValue()) == 0;
+        }
+        return fragment.equals(document);
+    }
+
+    /**
+     * {@link #contains(JsonNode, JsonNode)} on JSON text; H2 runs this as {@code jsonb_contains}
+     * (V28) in place of PostgreSQL's operator.
+     */
+    public static Boolean jsonbContains(String document, String fragment) {
+        if (document == null || fragment == null) {
+            return null;
+        }
+        return contains(read(document), read(fragment));
+    }
+}
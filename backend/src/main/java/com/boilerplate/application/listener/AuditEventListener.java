@@ -1,12 +1,10 @@
 package com.boilerplate.application.listener;
 
 import com.boilerplate.application.event.AuditEvent;
-import com.boilerplate.domain.model.AuditLog;
-import com.boilerplate.domain.repository.AuditLogRepository;
+import com.boilerplate.infrastructure.audit.AuditSink;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -14,26 +12,14 @@ import org.springframework.stereotype.Component;
 @Slf4j
 public class AuditEventListener {
 
-    private final AuditLogRepository auditLogRepository;
+    private final AuditSink auditSink;
 
+    /**
+     * Hands the event to the configured sink (queue or journal); neither touches the database here.
+     */
     @EventListener
-    @Async
     public void handleAuditEvent(AuditEvent event) {
         log.debug("Handling audit event: {}", event);
-        try {
-            AuditLog auditLog = AuditLog.builder()
-                .userId(event.userId())
-                .username(event.username())
-                .action(event.action())
-                .resource(event.resource())
-                .resourceId(event.resourceId())
-                .metadata(event.metadata())
-                .ipAddress(event.ipAddress())
-                .build();
-            
-            auditLogRepository.save(auditLog);
-        } catch (Exception e) {
-            log.error("Failed to save audit log", e);
-        }
+        auditSink.accept(event);
     }
 }
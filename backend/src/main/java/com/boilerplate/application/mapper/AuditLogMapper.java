@@ -1,10 +1,21 @@
 package com.boilerplate.application.mapper;
 
 import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.event.AuditMetadata;
 import com.boilerplate.domain.model.AuditLog;
+import com.boilerplate.infrastructure.audit.AuditDictionary;
+import com.fasterxml.jackson.databind.JsonNode;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = AuditDictionary.class)
 public interface AuditLogMapper {
+
+    @Mapping(target = "action", source = "actionCode")
+    @Mapping(target = "resource", source = "resourceCode")
     AuditLogResponse toResponse(AuditLog auditLog);
+
+    default JsonNode toJson(String metadata) {
+        return AuditMetadata.read(metadata);
+    }
 }
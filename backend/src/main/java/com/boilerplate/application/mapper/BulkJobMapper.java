@@ -0,0 +1,11 @@
+package com.boilerplate.application.mapper;
+
+import com.boilerplate.application.dto.response.BulkJobResponse;
+import com.boilerplate.domain.repository.BulkJobProgress;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface BulkJobMapper {
+
+    BulkJobResponse toResponse(BulkJobProgress progress);
+}
@@ -7,6 +7,7 @@ import com.boilerplate.domain.model.Group;
 import com.boilerplate.domain.model.User;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -18,6 +19,14 @@ public interface GroupMapper {
     @Mapping(target = "userCount", expression = "java(group.getUsers().size())")
     GroupResponse toResponse(Group group);
 
+    // Membership view for the signed-in user: avoids lazy-loading every member of every group.
+    // users is left out of the JSON rather than sent empty, so clients can't read it as "no members";
+    // userCount is filled in by the caller from one aggregate query (GroupRepository#countUsersByGroupIds).
+    @Named("withoutMembers")
+    @Mapping(target = "users", ignore = true)
+    @Mapping(target = "userCount", ignore = true)
+    GroupResponse toResponseWithoutMembers(Group group);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "users", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
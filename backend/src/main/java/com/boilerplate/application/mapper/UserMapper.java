@@ -22,6 +22,9 @@ public interface UserMapper {
     @Mapping(target = "accountNonLocked", constant = "true")
     @Mapping(target = "credentialsNonExpired", constant = "true")
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true)
+    @Mapping(target = "attributesVersion", ignore = true)
+    @Mapping(target = "policySetVersion", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -35,6 +38,9 @@ public interface UserMapper {
     @Mapping(target = "accountNonLocked", ignore = true)
     @Mapping(target = "credentialsNonExpired", ignore = true)
     @Mapping(target = "deletedAt", ignore = true)
+    @Mapping(target = "securityVersion", ignore = true)
+    @Mapping(target = "attributesVersion", ignore = true)
+    @Mapping(target = "policySetVersion", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "version", ignore = true)
@@ -43,4 +49,8 @@ public interface UserMapper {
 
     @Mapping(target = "effectivePermissions", ignore = true)
     UserResponse toResponse(User user);
+
+    @Mapping(target = "effectivePermissions", ignore = true)
+    @Mapping(target = "groups", qualifiedByName = "withoutMembers")
+    UserResponse toAuthResponse(User user);
 }
@@ -0,0 +1,215 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties.ActionPolicy;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties.Mode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Applies the per-action {@link AuditPolicyProperties} to published events: record every event,
+ * a random sample of them, or per (user, action, resource) and window the first event plus one
+ * row with the number of events that followed it.
+ *
+ * The first event of a window is recorded right away, like any other; only the count of the
+ * events folded into it is held in memory until the window ends, so a crash can lose at most
+ * that count, never a row. Stopping the application writes out every open window first.
+ * Security-critical actions are always recorded one by one, and configuring anything else for
+ * them fails at startup.
+ */
+@Component
+public class AuditEventPolicy implements SmartLifecycle {
+
+    static final Set<String> SECURITY_CRITICAL = Set.of(
+        "USER_CREATE", "USER_REGISTER", "USER_UPDATE", "USER_DELETE", "USER_RESTORE", "USER_PURGE",
+        "USER_BULK_DELETE", "USER_BULK_STATUS"
+    );
+
+    private static final ActionPolicy ALWAYS = new ActionPolicy();
+
+    private final AuditPolicyProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final Counter sampledOutCounter;
+    private final Counter coalescedCounter;
+    private volatile boolean running;
+
+    public AuditEventPolicy(
+        AuditPolicyProperties properties,
+        ApplicationEventPublisher eventPublisher,
+        MeterRegistry meterRegistry
+    ) {
+        properties.getActions().forEach(AuditEventPolicy::validate);
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.sampledOutCounter = Counter.builder("audit.events.sampled_out")
+            .description("Audit events not recorded because their action is sampled")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("audit.events.coalesced")
+            .description("Audit events folded into the row of an identical earlier event")
+            .register(meterRegistry);
+    }
+
+    public void publish(AuditEvent event) {
+        ActionPolicy policy = SECURITY_CRITICAL.contains(event.action())
+            ? ALWAYS
+            : properties.getActions().getOrDefault(event.action(), ALWAYS);
+        switch (policy.getMode()) {
+            case ALWAYS -> eventPublisher.publishEvent(event);
+            case SAMPLE -> sample(event, policy.getSamplePercent());
+            case COALESCE -> coalesce(event, policy, LocalDateTime.now());
+        }
+    }
+
+    /**
+     * A kept event stands for the ones sampled out with it: its row counts {@code 100 / percent}
+     * events, so rollups and activity totals estimate the real volume instead of the sample's.
+     */
+    private void sample(AuditEvent event, int percent) {
+        if (ThreadLocalRandom.current().nextInt(100) >= percent) {
+            sampledOutCounter.increment();
+            return;
+        }
+        int weight = Math.round(100f / percent);
+        eventPublisher.publishEvent(
+            withMetadata(event, event.count() * weight, metadata -> metadata.put("samplePercent", percent)));
+    }
+
+    void coalesce(AuditEvent event, ActionPolicy policy, LocalDateTime now) {
+        Key key = new Key(event.userId(), event.action(), event.resource());
+        if (!running || windows.size() >= properties.getMaxPendingKeys() && !windows.containsKey(key)) {
+            eventPublisher.publishEvent(event);
+            return;
+        }
+        Window window = windows.compute(key, (k, open) -> {
+            if (open == null) {
+                return new Window(event, now.plus(policy.getWindow()));
+            }
+            open.add(event.count(), now);
+            return open;
+        });
+        if (window.first == event) {
+            eventPublisher.publishEvent(event);
+        } else {
+            coalescedCounter.increment(event.count());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${audit.policy.flush-interval:1s}")
+    public void flush() {
+        flushEndedBefore(LocalDateTime.now());
+    }
+
+    /** Writes out the events folded into every window that ends at or before {@code now}. */
+    void flushEndedBefore(LocalDateTime now) {
+        for (Key key : windows.keySet()) {
+            Window[] ended = new Window[1];
+            windows.computeIfPresent(key, (k, window) -> {
+                if (window.end.isAfter(now)) {
+                    return window;
+                }
+                ended[0] = window;
+                return null;
+            });
+            if (ended[0] != null && ended[0].count > 0) {
+                eventPublisher.publishEvent(ended[0].toEvent());
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** Runs before the audit writer stops, so the rows of open windows are still written. */
+    @Override
+    public void stop() {
+        running = false;
+        flushEndedBefore(LocalDateTime.MAX);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 2048;
+    }
+
+    private static void validate(String action, ActionPolicy policy) {
+        if (policy.getMode() != Mode.ALWAYS && SECURITY_CRITICAL.contains(action)) {
+            throw new IllegalStateException(
+                "audit.policy.actions." + action + ": security-critical actions are always recorded exactly");
+        }
+        if (policy.getSamplePercent() < 0 || policy.getSamplePercent() > 100) {
+            throw new IllegalStateException("audit.policy.actions." + action + ".sample-percent must be 0-100");
+        }
+        if (policy.getMode() == Mode.COALESCE && !policy.getWindow().isPositive()) {
+            throw new IllegalStateException("audit.policy.actions." + action + ".window must be positive");
+        }
+    }
+
+    private static AuditEvent withMetadata(AuditEvent event, int count, Consumer<ObjectNode> change) {
+        ObjectNode metadata = AuditMetadata.parseObject(event.metadata());
+        if (metadata == null) {
+            metadata = AuditMetadata.parseObject(AuditMetadata.message(event.metadata()).toJson());
+        }
+        change.accept(metadata);
+        return new AuditEvent(event.userId(), event.username(), event.action(), event.resource(),
+            event.resourceId(), metadata.toString(), event.ipAddress(), count);
+    }
+
+    private record Key(Long userId, String action, String resource) {
+    }
+
+    /**
+     * The first event of a window, already recorded, and the events folded into it since; changed
+     * only under the map's lock.
+     */
+    private static final class Window {
+
+        private final AuditEvent first;
+        private final LocalDateTime end;
+        private LocalDateTime firstAt;
+        private LocalDateTime lastAt;
+        private int count;
+
+        private Window(AuditEvent first, LocalDateTime end) {
+            this.first = first;
+            this.end = end;
+        }
+
+        private void add(int events, LocalDateTime at) {
+            if (firstAt == null) {
+                firstAt = at;
+            }
+            count += events;
+            lastAt = at;
+        }
+
+        /** One row for the folded events, described by the first event and when they happened. */
+        private AuditEvent toEvent() {
+            return withMetadata(first, count, metadata -> {
+                metadata.put("firstAt", firstAt.toString());
+                metadata.put("lastAt", lastAt.toString());
+            });
+        }
+    }
+}
@@ -1,24 +1,292 @@
 package com.boilerplate.application.service;
 
+import com.boilerplate.application.dto.request.AuditActivityRequest;
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.dto.response.AuditActivityResponse;
+import com.boilerplate.application.dto.response.AuditArchiveSegmentResponse;
 import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.dto.response.CursorPage;
+import com.boilerplate.application.event.AuditMetadata;
 import com.boilerplate.application.mapper.AuditLogMapper;
+import com.boilerplate.domain.model.AuditLog;
+import com.boilerplate.domain.model.Policy.PolicyAction;
+import com.boilerplate.domain.model.Policy.PolicyResource;
 import com.boilerplate.domain.repository.AuditLogRepository;
+import com.boilerplate.domain.repository.AuditLogSpecification;
+import com.boilerplate.infrastructure.audit.AuditArchive;
+import com.boilerplate.infrastructure.audit.AuditDictionary;
+import com.boilerplate.infrastructure.audit.AuditLogExporter;
+import com.boilerplate.infrastructure.audit.AuditRollups;
+import com.boilerplate.infrastructure.audit.AuditTail;
+import com.boilerplate.infrastructure.audit.InetLiterals;
+import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
+import com.boilerplate.presentation.exception.InvalidCursorException;
+import com.boilerplate.presentation.exception.InvalidSearchCriteriaException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
 
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    static final Duration MAX_HOURLY_RANGE = Duration.ofDays(31);
+    static final Duration MAX_DAILY_RANGE = Duration.ofDays(366);
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final AuditLogRepository auditLogRepository;
     private final AuditLogMapper auditLogMapper;
+    private final AuditLogExporter auditLogExporter;
+    private final AuditArchive auditArchive;
+    private final AuditRollups auditRollups;
+    private final AuditDictionary auditDictionary;
+    private final AuditTail auditTail;
+    private final AbacPolicyEvaluator abacEvaluator;
 
     @Transactional(readOnly = true)
-    public Page<AuditLogResponse> getAllAuditLogs(Pageable pageable) {
-        return auditLogRepository.findAll(pageable)
+    public Page<AuditLogResponse> getAllAuditLogs(AuditLogSearchRequest search, Pageable pageable) {
+        return auditLogRepository.findAll(buildSpecification(search), pageable)
             .map(auditLogMapper::toResponse);
     }
+
+    /**
+     * Newest-first keyset pagination: seeks straight to the cursor instead of skipping rows and runs
+     * no count query, so every slice costs the same however deep it is. One extra row is read to
+     * tell whether another slice follows.
+     *
+     * Archived months are older than anything left in the table, so once the table runs out the
+     * slice is filled from the archive, continuing from the last row read. An archive search reads
+     * a bounded number of blocks, so such a slice may come back short (even empty) with a cursor.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogResponse> scrollAuditLogs(AuditLogSearchRequest search, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_CURSOR_PAGE_SIZE);
+        Specification<AuditLog> spec = buildSpecification(search);
+        Cursor after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor) : null;
+        if (after != null) {
+            spec = spec.and(AuditLogSpecification.before(after.createdAt(), after.id()));
+        }
+
+        List<AuditLog> rows = auditLogRepository.findBy(spec, query -> query
+            .sortBy(NEWEST_FIRST)
+            .limit(limit + 1)
+            .all());
+
+        if (rows.size() > limit) {
+            return CursorPage.<AuditLogResponse>builder()
+                .content(rows.subList(0, limit).stream().map(auditLogMapper::toResponse).toList())
+                .size(limit)
+                .nextCursor(encodeCursor(rows.get(limit - 1)))
+                .hasNext(true)
+                .build();
+        }
+
+        // The table ran out: continue into the archived months, strictly before the last row seen
+        Cursor from = rows.isEmpty() ? after : new Cursor(rows.getLast().getCreatedAt(), rows.getLast().getId());
+        AuditArchive.Slice slice = auditArchive.search(search,
+            from != null ? from.createdAt() : null,
+            from != null ? from.id() : null,
+            limit + 1 - rows.size());
+        List<AuditLogResponse> archived = slice.rows();
+        boolean full = rows.size() + archived.size() > limit;
+        List<AuditLogResponse> content = new ArrayList<>(rows.stream().map(auditLogMapper::toResponse).toList());
+        content.addAll(full ? archived.subList(0, limit - rows.size()) : archived);
+
+        String nextCursor = null;
+        if (full) {
+            AuditLogResponse last = rows.size() == limit ? null : content.getLast();
+            nextCursor = last != null ? encodeCursor(last.getCreatedAt(), last.getId()) : encodeCursor(rows.getLast());
+        } else if (slice.resumeBefore() != null) {
+            // The archive search hit its block cap: a short slice, and the next one resumes where it stopped
+            nextCursor = encodeCursor(slice.resumeBefore().createdAt(), slice.resumeBefore().id());
+        }
+        return CursorPage.<AuditLogResponse>builder()
+            .content(List.copyOf(content))
+            .size(content.size())
+            .nextCursor(nextCursor)
+            .hasNext(nextCursor != null)
+            .build();
+    }
+
+    /**
+     * Streams every matching row, oldest first, outside of any JPA transaction and on the export
+     * connection pool (see {@link AuditLogExporter}).
+     */
+    public StreamingResponseBody exportAuditLogs(
+        AuditLogSearchRequest search,
+        AuditLogExporter.Format format,
+        boolean gzip
+    ) {
+        validate(search);
+        return auditLogExporter.export(search, format, gzip);
+    }
+
+    /**
+     * Event counts over time from the hourly rollups (see {@link AuditRollups}); no audit log rows
+     * are read, so the cost depends on the range and grouping, not on the number of events.
+     */
+    public List<AuditActivityResponse> getActivity(AuditActivityRequest request) {
+        LocalDateTime to = request.getTo() != null ? request.getTo() : LocalDateTime.now();
+        LocalDateTime from = request.getFrom() != null ? request.getFrom() : to.minusHours(24);
+        if (!from.isBefore(to)) {
+            throw new InvalidSearchCriteriaException("from must be before to");
+        }
+        Duration maxRange = request.getGranularity() == AuditActivityRequest.Granularity.DAY
+            ? MAX_DAILY_RANGE
+            : MAX_HOURLY_RANGE;
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new InvalidSearchCriteriaException("Range longer than " + maxRange.toDays() + " days");
+        }
+        return auditRollups.query(request, from, to);
+    }
+
+    /**
+     * Live events as they are published (see {@link AuditTail}), filtered like a search except for
+     * the time range. The subscriber's permissions are read once, here: an event about a user,
+     * group or policy is only sent to someone who may read or manage that kind of resource.
+     */
+    public SseEmitter tailAuditLogs(AuditLogSearchRequest search, String lastEventId, Long userId) {
+        validate(search);
+        Set<String> permissions = abacEvaluator.computeEffectivePermissions(userId);
+        ObjectNode metadata = search != null ? AuditMetadata.parseObject(search.getMetadata()) : null;
+        return auditTail.subscribe(lastEventId,
+            row -> isVisible(row.getResource(), permissions) && matches(search, metadata, row));
+    }
+
+    public List<AuditArchiveSegmentResponse> getArchivedMonths() {
+        return auditArchive.listSegments();
+    }
+
+    public long getArchivedMonthSize(YearMonth month) {
+        return auditArchive.sizeOf(month);
+    }
+
+    public StreamingResponseBody downloadArchivedMonth(YearMonth month) {
+        return auditArchive.download(month);
+    }
+
+    private Specification<AuditLog> buildSpecification(AuditLogSearchRequest search) {
+        Specification<AuditLog> spec = Specification.where(null);
+        if (search == null) {
+            return spec;
+        }
+        validate(search);
+        return spec
+            .and(AuditLogSpecification.hasUserId(search.getUserId()))
+            .and(AuditLogSpecification.hasActionCode(code(search.getAction())))
+            .and(AuditLogSpecification.hasResourceCode(code(search.getResource())))
+            .and(AuditLogSpecification.hasResourceId(search.getResourceId()))
+            .and(AuditLogSpecification.hasIpAddress(InetLiterals.normalize(search.getIpAddress())))
+            .and(AuditLogSpecification.metadataContains(metadata(search)))
+            .and(AuditLogSpecification.createdFrom(search.getFrom()))
+            .and(AuditLogSpecification.createdBefore(search.getTo()));
+    }
+
+    /** Resources outside the ABAC model (e.g. AUTH) need nothing beyond reading the audit log. */
+    static boolean isVisible(String resource, Set<String> permissions) {
+        PolicyResource policyResource;
+        try {
+            policyResource = PolicyResource.valueOf(resource);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return true;
+        }
+        return permissions.contains(policyResource.name() + ":" + PolicyAction.READ.name())
+            || permissions.contains(policyResource.name() + ":" + PolicyAction.MANAGE.name());
+    }
+
+    private static boolean matches(AuditLogSearchRequest search, ObjectNode metadata, AuditLogResponse row) {
+        if (search == null) {
+            return true;
+        }
+        return (search.getUserId() == null || search.getUserId().equals(row.getUserId()))
+            && matches(search.getAction(), row.getAction())
+            && matches(search.getResource(), row.getResource())
+            && matches(search.getResourceId(), row.getResourceId())
+            && matches(InetLiterals.normalize(search.getIpAddress()), row.getIpAddress())
+            && (metadata == null || AuditMetadata.contains(row.getMetadata(), metadata));
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || Objects.equals(filter, value);
+    }
+
+    /** Action and resource are stored as dictionary codes; a name never written matches nothing. */
+    private Short code(String name) {
+        return name == null || name.isBlank() ? null : auditDictionary.codeOf(name);
+    }
+
+    /** The metadata filter re-serialized, so only well-formed JSON reaches the query. */
+    private static String metadata(AuditLogSearchRequest search) {
+        ObjectNode metadata = AuditMetadata.parseObject(search.getMetadata());
+        return metadata != null ? metadata.toString() : null;
+    }
+
+    /**
+     * Every filter combination has an index to use (see V25); a resource id on its own has none,
+     * and ids are only meaningful per resource type anyway, so it must come with the resource.
+     * IP addresses are stored as {@code inet}, so anything else cannot match and is rejected.
+     * Metadata is matched by containment, which needs a JSON object.
+     */
+    private static void validate(AuditLogSearchRequest search) {
+        if (search == null) {
+            return;
+        }
+        if (search.getResourceId() != null && (search.getResource() == null || search.getResource().isBlank())) {
+            throw new InvalidSearchCriteriaException("resourceId can only be searched together with resource");
+        }
+        if (search.getIpAddress() != null && !search.getIpAddress().isBlank()
+            && InetLiterals.normalize(search.getIpAddress()) == null) {
+            throw new InvalidSearchCriteriaException("ipAddress must be an IPv4 or IPv6 address");
+        }
+        if (search.getMetadata() != null && !search.getMetadata().isBlank()
+            && AuditMetadata.parseObject(search.getMetadata()) == null) {
+            throw new InvalidSearchCriteriaException("metadata must be a JSON object");
+        }
+    }
+
+    static String encodeCursor(AuditLog last) {
+        return encodeCursor(last.getCreatedAt(), last.getId());
+    }
+
+    static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String position = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.lastIndexOf('|');
+            return new Cursor(
+                LocalDateTime.parse(position.substring(0, separator)),
+                Long.parseLong(position.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid audit log cursor");
+        }
+    }
+
+    record Cursor(LocalDateTime createdAt, Long id) {
+    }
 }
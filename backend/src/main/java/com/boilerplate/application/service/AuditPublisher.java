@@ -1,10 +1,11 @@
 package com.boilerplate.application.service;
 
 import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.infrastructure.audit.AuditTail;
 import com.boilerplate.infrastructure.security.UserPrincipal;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -15,9 +16,10 @@ import org.springframework.web.context.request.ServletRequestAttributes;
 @RequiredArgsConstructor
 public class AuditPublisher {
 
-    private final ApplicationEventPublisher eventPublisher;
+    private final AuditEventPolicy auditEventPolicy;
+    private final AuditTail auditTail;
 
-    public void publish(String action, String resource, String resourceId, String metadata) {
+    public void publish(String action, String resource, String resourceId, AuditMetadata metadata) {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         Long userId = null;
@@ -38,15 +40,23 @@ public class AuditPublisher {
             action,
             resource,
             resourceId,
-            metadata,
+            metadata.toJson(),
             ipAddress
         );
 
-        eventPublisher.publishEvent(event);
+        auditTail.append(event);
+        auditEventPolicy.publish(event);
     }
     
     // Overload for manual user context (e.g. login success/failure where context might not be fully set or different)
-    public void publish(Long userId, String username, String action, String resource, String resourceId, String metadata) {
+    public void publish(
+        Long userId,
+        String username,
+        String action,
+        String resource,
+        String resourceId,
+        AuditMetadata metadata
+    ) {
         String ipAddress = getClientIp();
         
         AuditEvent event = new AuditEvent(
@@ -55,11 +65,12 @@ public class AuditPublisher {
             action,
             resource,
             resourceId,
-            metadata,
+            metadata.toJson(),
             ipAddress
         );
 
-        eventPublisher.publishEvent(event);
+        auditTail.append(event);
+        auditEventPolicy.publish(event);
     }
 
     private String getClientIp() {
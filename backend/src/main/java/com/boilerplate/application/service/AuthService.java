@@ -3,18 +3,26 @@ package com.boilerplate.application.service;
 import com.boilerplate.application.dto.request.LoginRequest;
 import com.boilerplate.application.dto.request.RegisterRequest;
 import com.boilerplate.application.dto.response.AuthResponse;
+import com.boilerplate.application.dto.response.GroupResponse;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.application.event.AuditMetadata;
 import com.boilerplate.application.mapper.UserMapper;
 import com.boilerplate.domain.model.Group;
 import com.boilerplate.domain.model.User;
 import com.boilerplate.domain.repository.GroupRepository;
+import com.boilerplate.domain.repository.GroupUserCount;
 import com.boilerplate.domain.repository.UserRepository;
+import com.boilerplate.domain.repository.UserSecurityStamp;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.security.UserPrincipal;
 import com.boilerplate.presentation.exception.DuplicateResourceException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -23,6 +31,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -38,6 +50,12 @@ public class AuthService {
     private final AuditPublisher auditPublisher;
     private final AbacPolicyEvaluator abacPolicyEvaluator;
 
+    /**
+     * The principal returned by the authentication manager already carries the user with groups
+     * fetched, so the response and effective permissions are built from it instead of reloading:
+     * one query for user + groups, one for the groups' member counts, one for attributes, one for
+     * the enabled policy set.
+     */
     @Transactional(readOnly = true)
     public AuthResponse login(LoginRequest request) {
         log.debug("Login attempt for user: {}", request.getUsername());
@@ -46,20 +64,15 @@ public class AuthService {
             new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-        String accessToken = jwtService.generateAccessToken(userDetails);
+        String accessToken = jwtService.generateAccessToken(principal);
         String refreshToken = jwtService.generateRefreshToken(
-            userDetails,
+            principal,
             Boolean.TRUE.equals(request.getRememberMe())
         );
 
-        UserResponse userResponse = userRepository.findByUsernameWithGroups(request.getUsername())
-            .map(userMapper::toResponse)
-            .orElseThrow(() -> new RuntimeException("User not found after authentication"));
-        userResponse.setEffectivePermissions(
-            abacPolicyEvaluator.computeEffectivePermissions(userResponse.getId())
-        );
+        UserResponse userResponse = toAuthenticatedUserResponse(principal.getUser());
 
         log.info("User logged in successfully: {}", request.getUsername());
 
@@ -69,7 +82,7 @@ public class AuthService {
             "LOGIN_SUCCESS",
             "AUTH",
             userResponse.getId().toString(),
-            "Login successful via username/password"
+            AuditMetadata.message("Login successful via username/password")
         );
 
         return AuthResponse.builder()
@@ -108,6 +121,59 @@ public class AuthService {
             .build();
     }
 
+    /**
+     * Lightweight refresh: the token is verified once and its security stamp is compared with the
+     * user's current one in a single query. Effective permissions are only recomputed (and the refresh
+     * token re-stamped) when the user's attributes or the policy set changed since the token was issued;
+     * otherwise the response carries no user and the caller keeps the one it has.
+     */
+    @Transactional(readOnly = true)
+    public AuthResponse refreshAccessToken(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtService.parseToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new CredentialsExpiredException("Invalid refresh token");
+        }
+
+        Long userId = claims.get(JwtService.CLAIM_USER_ID, Long.class);
+        if (userId == null) {
+            // Issued before refresh tokens carried a security stamp
+            return refreshToken(refreshToken);
+        }
+
+        UserSecurityStamp stamp = userRepository.findSecurityStampById(userId)
+            .filter(s -> Boolean.TRUE.equals(s.getEnabled()) && Boolean.TRUE.equals(s.getAccountNonLocked()))
+            .filter(s -> s.getUsername().equals(claims.getSubject()))
+            .filter(s -> s.getSecurityVersion().equals(claims.get(JwtService.CLAIM_SECURITY_VERSION, Long.class)))
+            .orElseThrow(() -> new CredentialsExpiredException("Refresh token has been revoked"));
+
+        String newAccessToken = jwtService.generateAccessToken(claims);
+
+        boolean permissionsUnchanged =
+            stamp.getAttributesVersion().equals(claims.get(JwtService.CLAIM_ATTRIBUTES_VERSION, Long.class))
+                && stamp.getPolicySetVersion().equals(claims.get(JwtService.CLAIM_POLICY_SET_VERSION, Long.class));
+        if (permissionsUnchanged) {
+            return AuthResponse.builder()
+                .accessToken(newAccessToken)
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(15 * 60L)
+                .build();
+        }
+
+        User user = userRepository.findByIdWithGroups(userId)
+            .orElseThrow(() -> new CredentialsExpiredException("Refresh token has been revoked"));
+
+        return AuthResponse.builder()
+            .accessToken(newAccessToken)
+            .refreshToken(jwtService.generateRefreshToken(new UserPrincipal(user), claims.getExpiration()))
+            .tokenType("Bearer")
+            .expiresIn(15 * 60L)
+            .user(toAuthenticatedUserResponse(user))
+            .build();
+    }
+
     @Transactional
     public AuthResponse register(RegisterRequest request) {
         log.debug("Registration attempt for user: {}", request.getUsername());
@@ -143,17 +209,12 @@ public class AuthService {
             new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
         );
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-        String accessToken = jwtService.generateAccessToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails, false);
+        String accessToken = jwtService.generateAccessToken(principal);
+        String refreshToken = jwtService.generateRefreshToken(principal, false);
 
-        UserResponse userResponse = userRepository.findByUsernameWithGroups(request.getUsername())
-            .map(userMapper::toResponse)
-            .orElseThrow(() -> new RuntimeException("User not found after registration"));
-        userResponse.setEffectivePermissions(
-            abacPolicyEvaluator.computeEffectivePermissions(userResponse.getId())
-        );
+        UserResponse userResponse = toAuthenticatedUserResponse(principal.getUser());
 
         log.info("User registered successfully: {}", request.getUsername());
 
@@ -163,7 +224,7 @@ public class AuthService {
             "USER_REGISTER",
             "USER",
             userResponse.getId().toString(),
-            "Self-registration"
+            AuditMetadata.message("Self-registration")
         );
 
         return AuthResponse.builder()
@@ -174,4 +235,31 @@ public class AuthService {
             .user(userResponse)
             .build();
     }
+
+    private UserResponse toAuthenticatedUserResponse(User user) {
+        UserResponse userResponse = userMapper.toAuthResponse(user);
+        userResponse.setGroups(withUserCounts(userResponse.getGroups()));
+        userResponse.setEffectivePermissions(abacPolicyEvaluator.computeEffectivePermissions(user));
+        return userResponse;
+    }
+
+    private Set<GroupResponse> withUserCounts(Set<GroupResponse> groups) {
+        if (groups == null || groups.isEmpty()) {
+            return groups;
+        }
+        Map<Long, Long> counts = groupRepository.countUsersByGroupIds(
+                groups.stream().map(GroupResponse::id).toList()).stream()
+            .collect(Collectors.toMap(GroupUserCount::getGroupId, GroupUserCount::getUserCount));
+        return groups.stream()
+            .map(group -> new GroupResponse(
+                group.id(),
+                group.name(),
+                group.description(),
+                group.users(),
+                counts.getOrDefault(group.id(), 0L).intValue(),
+                group.createdAt(),
+                group.updatedAt()
+            ))
+            .collect(Collectors.toSet());
+    }
 }
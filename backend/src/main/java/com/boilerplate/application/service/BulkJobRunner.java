@@ -0,0 +1,224 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.domain.model.BulkJob;
+import com.boilerplate.domain.repository.BulkJobRepository;
+import com.boilerplate.domain.repository.UserRepository;
+import com.boilerplate.infrastructure.config.BulkJobProperties;
+import com.boilerplate.infrastructure.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static com.boilerplate.domain.model.BulkJob.BulkJobStatus.COMPLETED;
+import static com.boilerplate.domain.model.BulkJob.BulkJobStatus.FAILED;
+import static com.boilerplate.domain.model.BulkJob.BulkJobStatus.QUEUED;
+import static com.boilerplate.domain.model.BulkJob.BulkJobStatus.RUNNING;
+
+/**
+ * Runs bulk jobs in the background, at most {@code workers} at a time on this instance, each on its
+ * own virtual thread.
+ *
+ * A job is worked through in chunks of {@code chunkSize} users, one short transaction per chunk.
+ * Each chunk first moves the job's {@code processed} on in the same transaction, guarded by the
+ * value it started from, so a committed chunk is recorded exactly once and a job that another
+ * instance has taken over is abandoned before it changes anything. While a job runs, every chunk
+ * renews its lease; a job whose lease runs out, because its instance died, is claimed again by the
+ * next poll anywhere and resumes after the last committed chunk. On shutdown running jobs stop
+ * between chunks and go back to the queue.
+ *
+ * The changes are audited as the user who submitted the job.
+ */
+@Component
+@Slf4j
+public class BulkJobRunner implements SmartLifecycle {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final BulkJobRepository bulkJobRepository;
+    private final UserRepository userRepository;
+    private final UserService userService;
+    private final BulkJobProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Semaphore workers;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+
+    public BulkJobRunner(
+        BulkJobRepository bulkJobRepository,
+        UserRepository userRepository,
+        UserService userService,
+        BulkJobProperties properties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.bulkJobRepository = bulkJobRepository;
+        this.userRepository = userRepository;
+        this.userService = userService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = new Semaphore(properties.getWorkers());
+        Gauge.builder("bulk.jobs.running", workers, w -> properties.getWorkers() - w.availablePermits())
+            .description("Bulk jobs running on this instance")
+            .register(meterRegistry);
+        this.completedCounter = Counter.builder("bulk.jobs.completed")
+            .description("Bulk jobs finished on this instance")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("bulk.jobs.failed")
+            .description("Bulk jobs that stopped on an error")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts as many claimable jobs as there are free workers. Runs on a schedule and right after a
+     * job is submitted; the claim itself is a conditional update, so callers racing here, on this
+     * instance or another, never start the same job twice.
+     */
+    @Scheduled(fixedDelayString = "${bulk-jobs.poll-interval:5s}")
+    public void dispatch() {
+        if (!running || workers.availablePermits() == 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = bulkJobRepository.findClaimableIds(QUEUED, RUNNING, now, Limit.of(workers.availablePermits()));
+        for (Long id : ids) {
+            if (!workers.tryAcquire()) {
+                return;
+            }
+            Integer claimed = transactionTemplate.execute(status ->
+                bulkJobRepository.claim(id, QUEUED, RUNNING, now.plus(properties.getLease()), now));
+            if (claimed == null || claimed == 0) {
+                workers.release();
+                continue;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(id);
+                    } finally {
+                        workers.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Shutting down; the lease hands the job to whoever polls next
+                workers.release();
+                log.warn("Could not start bulk job {}: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    /** Works through a claimed job from where it stopped until it is done, fails, or this instance stops. */
+    void run(Long id) {
+        BulkJob job = bulkJobRepository.findById(id).orElse(null);
+        if (job == null) {
+            return;
+        }
+        log.info("Running bulk job {} ({}, {} of {} users done)",
+            id, job.getType(), job.getProcessed(), job.getTotal());
+        actAs(job.getCreatedBy());
+        try {
+            List<Long> userIds = Arrays.asList(job.getUserIds());
+            int processed = job.getProcessed();
+            while (processed < userIds.size()) {
+                if (!running) {
+                    transactionTemplate.executeWithoutResult(status ->
+                        bulkJobRepository.release(id, RUNNING, QUEUED, LocalDateTime.now()));
+                    log.info("Bulk job {} returned to the queue at {} of {} users", id, processed, userIds.size());
+                    return;
+                }
+                int from = processed;
+                int to = Math.min(userIds.size(), from + properties.getChunkSize());
+                Boolean applied = transactionTemplate.execute(status ->
+                    applyChunk(job, from, userIds.subList(from, to)));
+                if (!Boolean.TRUE.equals(applied)) {
+                    log.warn("Bulk job {} was taken over at {} of {} users; leaving it", id, from, userIds.size());
+                    return;
+                }
+                processed = to;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                bulkJobRepository.finish(id, RUNNING, COMPLETED, null, LocalDateTime.now()));
+            completedCounter.increment();
+            log.info("Bulk job {} completed ({} users)", id, userIds.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.error("Bulk job {} failed", id, e);
+            String error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            String truncated = error.substring(0, Math.min(error.length(), MAX_ERROR_LENGTH));
+            transactionTemplate.executeWithoutResult(status ->
+                bulkJobRepository.finish(id, RUNNING, FAILED, truncated, LocalDateTime.now()));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private boolean applyChunk(BulkJob job, int from, List<Long> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        int to = from + chunk.size();
+        if (bulkJobRepository.advance(job.getId(), RUNNING, from, to, now.plus(properties.getLease()), now) == 0) {
+            return false;
+        }
+        int affected = switch (job.getType()) {
+            case USER_DELETE -> userService.bulkSoftDelete(chunk, job.getId());
+            case USER_STATUS -> userService.bulkUpdateStatus(chunk, job.getEnabled(), job.getId());
+        };
+        bulkJobRepository.addAffected(job.getId(), affected);
+        return true;
+    }
+
+    private void actAs(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userRepository.findById(userId).map(UserPrincipal::new).ifPresent(principal ->
+            SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities())));
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        running = true;
+    }
+
+    /** Lets running chunks commit, so jobs go back to the queue at a chunk boundary, before the audit writers stop. */
+    @Override
+    public void stop() {
+        running = false;
+        ExecutorService current = executor;
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Bulk jobs still running after {}; their leases will expire", properties.getShutdownTimeout());
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            current.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
@@ -0,0 +1,170 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.application.dto.response.BulkJobResponse;
+import com.boilerplate.application.mapper.BulkJobMapper;
+import com.boilerplate.domain.model.BulkJob;
+import com.boilerplate.domain.model.BulkJob.BulkJobType;
+import com.boilerplate.domain.repository.BulkJobRepository;
+import com.boilerplate.infrastructure.config.BulkJobProperties;
+import com.boilerplate.presentation.exception.InvalidBulkJobException;
+import com.boilerplate.presentation.exception.ResourceNotFoundException;
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Submits bulk user operations as jobs for {@link BulkJobRunner} and reports their progress, either
+ * on request or as a Server-Sent Events stream that sends a {@code progress} event whenever the job
+ * has moved on and ends once it has finished. Each stream reads the job's counters once per
+ * {@code progressInterval}, never its user ids.
+ */
+@Service
+@Slf4j
+public class BulkJobService implements SmartLifecycle {
+
+    static final String PROGRESS_EVENT = "progress";
+
+    private static final int RETRY_AFTER_SECONDS = 30;
+
+    private final BulkJobRepository bulkJobRepository;
+    private final BulkJobMapper bulkJobMapper;
+    private final BulkJobRunner bulkJobRunner;
+    private final BulkJobProperties properties;
+    private final Set<SseEmitter> streams = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    public BulkJobService(
+        BulkJobRepository bulkJobRepository,
+        BulkJobMapper bulkJobMapper,
+        BulkJobRunner bulkJobRunner,
+        BulkJobProperties properties
+    ) {
+        this.bulkJobRepository = bulkJobRepository;
+        this.bulkJobMapper = bulkJobMapper;
+        this.bulkJobRunner = bulkJobRunner;
+        this.properties = properties;
+    }
+
+    public BulkJobResponse submitDelete(List<Long> userIds, Long createdBy) {
+        return submit(BulkJobType.USER_DELETE, userIds, null, createdBy);
+    }
+
+    public BulkJobResponse submitStatusUpdate(List<Long> userIds, boolean enabled, Long createdBy) {
+        return submit(BulkJobType.USER_STATUS, userIds, enabled, createdBy);
+    }
+
+    /**
+     * Saves the job as queued and commits it before asking the runner to start it, so a job is
+     * never lost to a crash once it has been accepted.
+     */
+    private BulkJobResponse submit(BulkJobType type, List<Long> userIds, Boolean enabled, Long createdBy) {
+        Long[] ids = userIds.stream().filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        if (ids.length == 0) {
+            throw new InvalidBulkJobException("User IDs are required");
+        }
+        if (ids.length > properties.getMaxUsers()) {
+            throw new InvalidBulkJobException(
+                "A bulk job takes at most " + properties.getMaxUsers() + " users, got " + ids.length);
+        }
+
+        BulkJob job = bulkJobRepository.save(BulkJob.builder()
+            .type(type)
+            .userIds(ids)
+            .enabled(enabled)
+            .total(ids.length)
+            .createdBy(createdBy)
+            .build());
+        log.info("Bulk job {} queued ({}, {} users)", job.getId(), type, ids.length);
+
+        bulkJobRunner.dispatch();
+        return getJob(job.getId());
+    }
+
+    public BulkJobResponse getJob(Long id) {
+        return findJob(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Bulk job not found with id: " + id));
+    }
+
+    /** Streams the job's progress until it has finished. */
+    public SseEmitter streamJob(Long id) {
+        BulkJobResponse current = getJob(id);
+        if (!running) {
+            throw new ServiceOverloadedException("Bulk job streams are shutting down.", RETRY_AFTER_SECONDS);
+        }
+        if (streams.size() >= properties.getMaxStreams()) {
+            throw new ServiceOverloadedException(
+                "Too many bulk job streams. Please poll the job instead.", RETRY_AFTER_SECONDS);
+        }
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        streams.add(emitter);
+        emitter.onCompletion(() -> streams.remove(emitter));
+        emitter.onTimeout(() -> streams.remove(emitter));
+        emitter.onError(error -> streams.remove(emitter));
+        Thread.ofVirtual()
+            .name("bulk-job-stream-" + id)
+            .start(() -> stream(emitter, id, current));
+        return emitter;
+    }
+
+    private void stream(SseEmitter emitter, Long id, BulkJobResponse first) {
+        long intervalMillis = properties.getProgressInterval().toMillis();
+        try {
+            BulkJobResponse sent = null;
+            Optional<BulkJobResponse> current = Optional.of(first);
+            while (current.isPresent() && streams.contains(emitter)) {
+                BulkJobResponse job = current.get();
+                if (job.equals(sent)) {
+                    emitter.send(SseEmitter.event().comment(""));
+                } else {
+                    emitter.send(SseEmitter.event().name(PROGRESS_EVENT).data(job, MediaType.APPLICATION_JSON));
+                    sent = job;
+                }
+                if (job.getStatus().isFinished()) {
+                    break;
+                }
+                Thread.sleep(intervalMillis);
+                current = findJob(id);
+            }
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream already ended
+            log.debug("Bulk job stream closed: {}", e.getMessage());
+        } finally {
+            streams.remove(emitter);
+        }
+    }
+
+    private Optional<BulkJobResponse> findJob(Long id) {
+        return bulkJobRepository.findProgressById(id).map(bulkJobMapper::toResponse);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /** Ends every stream before the web server shuts down; clients can poll or reconnect elsewhere. */
+    @Override
+    public void stop() {
+        running = false;
+        streams.forEach(SseEmitter::complete);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
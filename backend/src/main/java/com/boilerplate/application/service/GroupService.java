@@ -86,7 +86,10 @@ public class GroupService {
         }
 
         for (User user : users) {
-            user.getGroups().add(group);
+            if (user.getGroups().add(group)) {
+                // Group membership feeds ABAC group:<name> attributes
+                user.bumpAttributesVersion();
+            }
             group.getUsers().add(user);
         }
 
@@ -102,7 +105,9 @@ public class GroupService {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        user.getGroups().remove(group);
+        if (user.getGroups().remove(group)) {
+            user.bumpAttributesVersion();
+        }
         group.getUsers().remove(user);
 
         userRepository.save(user);
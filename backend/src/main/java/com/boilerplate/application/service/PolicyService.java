@@ -49,7 +49,9 @@ public class PolicyService {
             });
         }
 
-        return policyMapper.toResponse(policyRepository.save(policy));
+        Policy saved = policyRepository.save(policy);
+        policyRepository.incrementPolicySetVersion();
+        return policyMapper.toResponse(saved);
     }
 
     @Transactional
@@ -71,12 +73,15 @@ public class PolicyService {
             });
         }
 
-        return policyMapper.toResponse(policyRepository.save(policy));
+        Policy saved = policyRepository.save(policy);
+        policyRepository.incrementPolicySetVersion();
+        return policyMapper.toResponse(saved);
     }
 
     @Transactional
     public void deletePolicy(Long id) {
         policyRepository.delete(findById(id));
+        policyRepository.incrementPolicySetVersion();
     }
 
     private Policy findById(Long id) {
@@ -43,7 +43,9 @@ public class UserAttributeService {
             });
 
         attribute.setAttributeValue(request.attributeValue());
-        return userAttributeMapper.toResponse(userAttributeRepository.save(attribute));
+        UserAttribute saved = userAttributeRepository.save(attribute);
+        user.bumpAttributesVersion();
+        return userAttributeMapper.toResponse(saved);
     }
 
     @Transactional
@@ -55,6 +57,7 @@ public class UserAttributeService {
             );
         }
         userAttributeRepository.deleteByUserIdAndAttributeKey(userId, attributeKey);
+        userRepository.incrementAttributesVersion(userId);
     }
 
     private User findUser(Long userId) {
@@ -4,6 +4,7 @@ import com.boilerplate.application.dto.request.CreateUserRequest;
 import com.boilerplate.application.dto.request.UpdateUserRequest;
 import com.boilerplate.application.dto.request.UserSearchRequest;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.application.event.AuditMetadata;
 import com.boilerplate.application.mapper.UserMapper;
 import com.boilerplate.domain.model.Group;
 import com.boilerplate.domain.model.User;
@@ -115,7 +116,7 @@ public class UserService {
             "USER_CREATE",
             "USER",
             savedUser.getId().toString(),
-            "Created user: " + savedUser.getUsername()
+            AuditMetadata.message("Created user").with("username", savedUser.getUsername())
         );
 
         return userMapper.toResponse(savedUser);
@@ -141,11 +142,17 @@ public class UserService {
             }
         }
 
+        boolean wasEnabled = Boolean.TRUE.equals(user.getEnabled());
         userMapper.updateEntity(user, request);
 
-        if (request.getPassword() != null && !request.getPassword().isBlank()) {
+        boolean passwordChanged = request.getPassword() != null && !request.getPassword().isBlank();
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(request.getPassword()));
         }
+        if (passwordChanged || (wasEnabled && !Boolean.TRUE.equals(user.getEnabled()))) {
+            // Revokes outstanding refresh tokens
+            user.bumpSecurityVersion();
+        }
 
         User updatedUser = userRepository.save(user);
         log.info("User updated successfully: {}", updatedUser.getUsername());
@@ -154,7 +161,7 @@ public class UserService {
             "USER_UPDATE",
             "USER",
             updatedUser.getId().toString(),
-            "Updated user profile"
+            AuditMetadata.message("Updated user profile")
         );
 
         return userMapper.toResponse(updatedUser);
@@ -175,7 +182,7 @@ public class UserService {
             "USER_DELETE",
             "USER",
             id.toString(),
-            "Soft-deleted user"
+            AuditMetadata.message("Soft-deleted user")
         );
     }
 
@@ -197,7 +204,7 @@ public class UserService {
             "USER_RESTORE",
             "USER",
             id.toString(),
-            "Restored user"
+            AuditMetadata.message("Restored user")
         );
 
         return userMapper.toResponse(user);
@@ -218,11 +225,19 @@ public class UserService {
                     "USER_PURGE",
                     "USER",
                     id.toString(),
-                    "Permanently deleted user: " + user.getUsername()
+                    AuditMetadata.message("Permanently deleted user").with("username", user.getUsername())
                 );
             }
     @Transactional
     public int bulkSoftDelete(List<Long> ids) {
+        return bulkSoftDelete(ids, null);
+    }
+
+    /**
+     * As {@link #bulkSoftDelete(List)}, for one chunk of a bulk job; the audit event names the job.
+     */
+    @Transactional
+    public int bulkSoftDelete(List<Long> ids, Long jobId) {
         log.debug("Bulk soft-deleting users: {}", ids);
 
         int deleted = userRepository.softDeleteByIds(ids, LocalDateTime.now());
@@ -232,37 +247,49 @@ public class UserService {
             "USER_BULK_DELETE",
             "USER",
             "N/A",
-            "Bulk deleted " + deleted + " users. IDs: " + ids
+            withJob(AuditMetadata.message("Bulk deleted users"), jobId)
+                .with(AuditMetadata.COUNT, deleted)
+                .ids(AuditMetadata.USER_IDS, ids)
         );
 
         return deleted;
     }
 
+    /**
+     * One UPDATE per chunk of ids (see {@link com.boilerplate.domain.repository.UserBulkRepository})
+     * rather than a find and a save per user. Users already in the requested state are not written
+     * and not counted; the audit event lists the users that actually changed.
+     */
     @Transactional
     public int bulkUpdateStatus(List<Long> ids, boolean enabled) {
-        log.debug("Bulk updating status for users: {} to enabled={}", ids, enabled);
-
-        int count = 0;
-        for (Long id : ids) {
-            User user = userRepository.findById(id)
-                .filter(u -> u.getDeletedAt() == null)
-                .orElse(null);
-            if (user != null) {
-                user.setEnabled(enabled);
-                userRepository.save(user);
-                count++;
-            }
-        }
+        return bulkUpdateStatus(ids, enabled, null);
+    }
+
+    /**
+     * As {@link #bulkUpdateStatus(List, boolean)}, for one chunk of a bulk job; the audit event names the job.
+     */
+    @Transactional
+    public int bulkUpdateStatus(List<Long> ids, boolean enabled, Long jobId) {
+        log.debug("Bulk updating status for {} users to enabled={}", ids.size(), enabled);
 
-        log.info("Bulk updated status for {} users to enabled={}", count, enabled);
+        List<Long> changed = userRepository.updateEnabledByIds(ids, enabled, LocalDateTime.now());
+
+        log.info("Bulk updated status for {} users to enabled={}", changed.size(), enabled);
 
         auditPublisher.publish(
             "USER_BULK_STATUS",
             "USER",
             "N/A",
-            "Bulk status update to " + enabled + " for " + count + " users. IDs: " + ids
+            withJob(AuditMetadata.message("Bulk status update"), jobId)
+                .with("enabled", enabled)
+                .with(AuditMetadata.COUNT, changed.size())
+                .ids(AuditMetadata.USER_IDS, changed)
         );
 
-        return count;
+        return changed.size();
+    }
+
+    private static AuditMetadata withJob(AuditMetadata metadata, Long jobId) {
+        return jobId == null ? metadata : metadata.with("jobId", jobId);
     }
 }
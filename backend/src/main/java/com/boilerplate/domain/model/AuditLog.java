@@ -2,21 +2,38 @@ package com.boilerplate.domain.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcType;
 
+import java.time.LocalDateTime;
+
+/**
+ * A row of the append-only audit trail. Rows are written with plain JDBC by the audit writer and
+ * only read through JPA, so unlike {@link BaseEntity} there is no version column. Action and
+ * resource are codes into {@code audit_dictionary}; see {@code AuditDictionary}.
+ */
 @Entity
 @Table(name = "audit_logs")
+@Immutable
 @Getter
 @Setter
-@SuperBuilder
+@Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AuditLog extends BaseEntity {
+public class AuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
 
     @Column(name = "user_id")
     private Long userId;
@@ -24,18 +41,30 @@ public class AuditLog extends BaseEntity {
     @Column(name = "username")
     private String username;
 
-    @Column(nullable = false)
-    private String action;
+    @Column(name = "action_code", nullable = false)
+    private Short actionCode;
 
-    @Column(nullable = false)
-    private String resource;
+    @Column(name = "resource_code", nullable = false)
+    private Short resourceCode;
 
     @Column(name = "resource_id")
     private String resourceId;
 
-    @Column(columnDefinition = "TEXT")
+    /** A JSON object, see {@code AuditMetadata}. */
+    @Column(columnDefinition = "jsonb")
     private String metadata;
 
-    @Column(name = "ip_address")
+    @Column(name = "ip_address", columnDefinition = "inet")
+    @JdbcType(InetJdbcType.class)
     private String ipAddress;
+
+    /** Identical events this row stands for; more than 1 when they were coalesced. */
+    @Column(name = "event_count", nullable = false)
+    private Integer eventCount;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
 }
@@ -0,0 +1,85 @@
+package com.boilerplate.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A bulk user operation running in the background, one committed chunk of {@link #userIds} at a
+ * time; {@link #processed} is how many of them are done.
+ */
+@Entity
+@Table(name = "bulk_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+public class BulkJob extends BaseEntity {
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private BulkJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BulkJobStatus status = BulkJobStatus.QUEUED;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "user_ids", nullable = false)
+    private Long[] userIds;
+
+    /** The status to set, for {@link BulkJobType#USER_STATUS}. */
+    private Boolean enabled;
+
+    @Column(nullable = false)
+    private Integer total;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer processed = 0;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer affected = 0;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(name = "created_by")
+    private Long createdBy;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum BulkJobType {
+        USER_DELETE, USER_STATUS
+    }
+
+    public enum BulkJobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.boilerplate.domain.model;
+
+import org.hibernate.type.descriptor.ValueBinder;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.descriptor.jdbc.BasicBinder;
+import org.hibernate.type.descriptor.jdbc.VarcharJdbcType;
+
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * An {@code inet} column read and written as a string.
+ *
+ * Values are bound without a type, so PostgreSQL casts them to {@code inet} where a varchar would
+ * fail to compare ({@code inet = character varying}); on H2 the column is a varchar domain and the
+ * value stays a string.
+ */
+public class InetJdbcType extends VarcharJdbcType {
+
+    @Override
+    public <X> ValueBinder<X> getBinder(JavaType<X> javaType) {
+        return new BasicBinder<>(javaType, this) {
+            @Override
+            protected void doBind(PreparedStatement st, X value, int index, WrapperOptions options)
+                throws SQLException {
+                st.setObject(index, javaType.unwrap(value, String.class, options), Types.OTHER);
+            }
+
+            @Override
+            protected void doBind(CallableStatement st, X value, String name, WrapperOptions options)
+                throws SQLException {
+                st.setObject(name, javaType.unwrap(value, String.class, options), Types.OTHER);
+            }
+        };
+    }
+}
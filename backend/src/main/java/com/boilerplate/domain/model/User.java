@@ -2,6 +2,7 @@ package com.boilerplate.domain.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Formula;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -44,6 +45,20 @@ public class User extends BaseEntity {
     @Column(name = "deleted_at")
     private LocalDateTime deletedAt;
 
+    // Embedded in refresh tokens; a mismatch revokes the token (see V21 migration)
+    @Column(name = "security_version", nullable = false)
+    @Builder.Default
+    private Long securityVersion = 0L;
+
+    // Embedded in refresh tokens; a mismatch makes refresh reload effective permissions
+    @Column(name = "attributes_version", nullable = false)
+    @Builder.Default
+    private Long attributesVersion = 0L;
+
+    // Read along with the user so login can stamp refresh tokens without an extra round trip
+    @Formula("(SELECT sv.version FROM security_versions sv WHERE sv.scope = 'POLICY_SET')")
+    private Long policySetVersion;
+
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(
         name = "user_groups",
@@ -56,4 +71,12 @@ public class User extends BaseEntity {
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @Builder.Default
     private Set<UserAttribute> attributes = new HashSet<>();
+
+    public void bumpSecurityVersion() {
+        securityVersion = securityVersion + 1;
+    }
+
+    public void bumpAttributesVersion() {
+        attributesVersion = attributesVersion + 1;
+    }
 }
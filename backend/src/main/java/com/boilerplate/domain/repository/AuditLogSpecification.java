@@ -0,0 +1,97 @@
+package com.boilerplate.domain.repository;
+
+import com.boilerplate.domain.model.AuditLog;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+public final class AuditLogSpecification {
+
+    private AuditLogSpecification() {
+    }
+
+    /**
+     * Rows that come after {@code (createdAt, id)} in newest-first order. The redundant
+     * {@code created_at <= ?} bound is what the {@code (created_at, id)} index can seek on (the OR
+     * alone is only a filter), so the cost does not grow with how far the client has scrolled.
+     */
+    public static Specification<AuditLog> before(LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+            cb.lessThanOrEqualTo(root.get("createdAt"), createdAt),
+            cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                    cb.equal(root.get("createdAt"), createdAt),
+                    cb.lessThan(root.get("id"), id)
+                )
+            )
+        );
+    }
+
+    public static Specification<AuditLog> hasUserId(Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("userId"), userId);
+    }
+
+    public static Specification<AuditLog> hasActionCode(Short actionCode) {
+        if (actionCode == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("actionCode"), actionCode);
+    }
+
+    public static Specification<AuditLog> hasResourceCode(Short resourceCode) {
+        if (resourceCode == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get("resourceCode"), resourceCode);
+    }
+
+    public static Specification<AuditLog> hasResourceId(String resourceId) {
+        return equalTo("resourceId", resourceId);
+    }
+
+    public static Specification<AuditLog> hasIpAddress(String ipAddress) {
+        return equalTo("ipAddress", ipAddress);
+    }
+
+    /**
+     * Rows whose metadata contains the given JSON object, e.g. {@code {"userIds":[42]}}; rendered as
+     * jsonb's {@code @>} so the GIN index on metadata is used (see {@code JsonbFunctionContributor}).
+     */
+    public static Specification<AuditLog> metadataContains(String json) {
+        if (json == null || json.isBlank()) {
+            return null;
+        }
+        // value() binds the JSON as a parameter; literal() would inline it into the SQL
+        return (root, query, cb) -> cb.isTrue(cb.function("jsonb_contains", Boolean.class,
+            root.get("metadata"), ((HibernateCriteriaBuilder) cb).value(json)));
+    }
+
+    public static Specification<AuditLog> createdFrom(LocalDateTime from) {
+        if (from == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<AuditLog> createdBefore(LocalDateTime to) {
+        if (to == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    private static Specification<AuditLog> equalTo(String attribute, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,36 @@
+package com.boilerplate.domain.repository;
+
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
+import com.boilerplate.domain.model.BulkJob.BulkJobType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of a bulk job without its user ids, read by progress polls and streams.
+ */
+public interface BulkJobProgress {
+
+    Long getId();
+
+    BulkJobType getType();
+
+    BulkJobStatus getStatus();
+
+    Boolean getEnabled();
+
+    Integer getTotal();
+
+    Integer getProcessed();
+
+    Integer getAffected();
+
+    String getError();
+
+    Long getCreatedBy();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getStartedAt();
+
+    LocalDateTime getFinishedAt();
+}
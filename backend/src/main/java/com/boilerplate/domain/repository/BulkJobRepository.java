@@ -0,0 +1,62 @@
+package com.boilerplate.domain.repository;
+
+import com.boilerplate.domain.model.BulkJob;
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BulkJobRepository extends JpaRepository<BulkJob, Long> {
+
+    Optional<BulkJobProgress> findProgressById(Long id);
+
+    /** Jobs in {@code queued}, and ones in {@code running} whose holder stopped renewing the lease, oldest first. */
+    @Query("SELECT j.id FROM BulkJob j"
+        + " WHERE j.status = :queued OR (j.status = :running AND j.leaseUntil < :now)"
+        + " ORDER BY j.id")
+    List<Long> findClaimableIds(BulkJobStatus queued, BulkJobStatus running, LocalDateTime now, Limit limit);
+
+    /** Takes the job into {@code running} if it is still claimable; 1 if this caller now holds it. */
+    @Modifying
+    @Query("UPDATE BulkJob j SET j.status = :running, j.leaseUntil = :leaseUntil,"
+        + " j.startedAt = COALESCE(j.startedAt, :now), j.updatedAt = :now, j.version = j.version + 1"
+        + " WHERE j.id = :id"
+        + " AND (j.status = :queued OR (j.status = :running AND j.leaseUntil < :now))")
+    int claim(Long id, BulkJobStatus queued, BulkJobStatus running, LocalDateTime leaseUntil, LocalDateTime now);
+
+    /**
+     * Moves a job in {@code running} on from {@code from} to {@code processed} and renews the lease,
+     * taking the row lock for the rest of the chunk's transaction. Matches nothing if another holder
+     * has moved the job on in the meantime, so a chunk is never applied twice.
+     */
+    @Modifying
+    @Query("UPDATE BulkJob j SET j.processed = :processed, j.leaseUntil = :leaseUntil, j.updatedAt = :now,"
+        + " j.version = j.version + 1"
+        + " WHERE j.id = :id AND j.status = :running AND j.processed = :from")
+    int advance(Long id, BulkJobStatus running, int from, int processed, LocalDateTime leaseUntil, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE BulkJob j SET j.affected = j.affected + :affected WHERE j.id = :id")
+    int addAffected(Long id, int affected);
+
+    /** Ends a job in {@code running} with the given status and error, if any. */
+    @Modifying
+    @Query("UPDATE BulkJob j SET j.status = :status, j.error = :error, j.leaseUntil = null, j.finishedAt = :now,"
+        + " j.updatedAt = :now, j.version = j.version + 1"
+        + " WHERE j.id = :id AND j.status = :running")
+    int finish(Long id, BulkJobStatus running, BulkJobStatus status, String error, LocalDateTime now);
+
+    /** Hands a job in {@code running} back to {@code queued}, e.g. on shutdown, without waiting for the lease. */
+    @Modifying
+    @Query("UPDATE BulkJob j SET j.status = :queued, j.leaseUntil = null, j.updatedAt = :now,"
+        + " j.version = j.version + 1"
+        + " WHERE j.id = :id AND j.status = :running")
+    int release(Long id, BulkJobStatus running, BulkJobStatus queued, LocalDateTime now);
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.domain.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * The database the application runs on, for the few statements written differently for
+ * PostgreSQL and for H2 (dev profile and unit tests). Read from the connection metadata on first
+ * use, then cached.
+ */
+@Component
+public class DatabaseDialect {
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgresql;
+
+    public DatabaseDialect(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPostgreSQL() {
+        if (postgresql == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+            postgresql = "PostgreSQL".equals(product);
+        }
+        return postgresql;
+    }
+}
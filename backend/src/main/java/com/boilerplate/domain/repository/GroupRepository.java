@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +25,9 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
     @Query("SELECT g.name FROM Group g JOIN g.users u WHERE u.id = :userId")
     List<String> findGroupNamesByUserId(@org.springframework.data.repository.query.Param("userId") Long userId);
+
+    /** Member counts of the given groups in one query; groups without members are left out. */
+    @Query("SELECT g.id AS groupId, COUNT(u) AS userCount FROM Group g JOIN g.users u"
+        + " WHERE g.id IN :groupIds GROUP BY g.id")
+    List<GroupUserCount> countUsersByGroupIds(@Param("groupIds") Collection<Long> groupIds);
 }
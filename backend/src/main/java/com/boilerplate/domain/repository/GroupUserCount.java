@@ -0,0 +1,11 @@
+package com.boilerplate.domain.repository;
+
+/**
+ * Number of members of a group, from an aggregate query rather than loading the members.
+ */
+public interface GroupUserCount {
+
+    Long getGroupId();
+
+    Long getUserCount();
+}
@@ -2,6 +2,7 @@ package com.boilerplate.domain.repository;
 
 import com.boilerplate.domain.model.Policy;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -25,4 +26,9 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
 
     @Query("SELECT p FROM Policy p LEFT JOIN FETCH p.conditions WHERE p.enabled = true")
     List<Policy> findAllEnabled();
+
+    // Invalidates the permission snapshot carried by outstanding refresh tokens
+    @Modifying
+    @Query(value = "UPDATE security_versions SET version = version + 1 WHERE scope = 'POLICY_SET'", nativeQuery = true)
+    int incrementPolicySetVersion();
 }
@@ -0,0 +1,19 @@
+package com.boilerplate.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Set-based user updates that would otherwise load and save every user one by one.
+ */
+public interface UserBulkRepository {
+
+    /**
+     * Enables or disables the users that are not deleted and not already in that state, bumping
+     * their version (and, when disabling, their security version so their tokens stop working).
+     *
+     * @return the ids of the users changed
+     */
+    List<Long> updateEnabledByIds(Collection<Long> ids, boolean enabled, LocalDateTime updatedAt);
+}
@@ -0,0 +1,63 @@
+package com.boilerplate.domain.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * One UPDATE per chunk of ids instead of a find and a save per user. The ids are bound as a single
+ * array, so the statement is the same whatever the chunk size, and the changed ids come back from
+ * the statement itself: {@code RETURNING} on PostgreSQL, {@code FINAL TABLE} on H2.
+ *
+ * The statement runs in the caller's transaction. It bypasses the persistence context, so users
+ * already loaded in it are stale afterwards.
+ */
+class UserBulkRepositoryImpl implements UserBulkRepository {
+
+    /** Ids per statement; bounds the array sent and the rows locked at once. */
+    static final int CHUNK_SIZE = 10_000;
+
+    private static final String UPDATE_ENABLED = """
+        UPDATE users
+        SET enabled = ?, version = version + 1, updated_at = ?, security_version = security_version + ?
+        WHERE id = ANY(?) AND deleted_at IS NULL AND enabled <> ?""";
+
+    private static final String UPDATE_ENABLED_POSTGRESQL = UPDATE_ENABLED + "\nRETURNING id";
+
+    private static final String UPDATE_ENABLED_H2 = "SELECT id FROM FINAL TABLE (" + UPDATE_ENABLED + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    UserBulkRepositoryImpl(JdbcTemplate jdbcTemplate, DatabaseDialect databaseDialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+    }
+
+    @Override
+    public List<Long> updateEnabledByIds(Collection<Long> ids, boolean enabled, LocalDateTime updatedAt) {
+        String sql = databaseDialect.isPostgreSQL() ? UPDATE_ENABLED_POSTGRESQL : UPDATE_ENABLED_H2;
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        List<Long> changed = new ArrayList<>();
+        for (int from = 0; from < distinct.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(distinct.size(), from + CHUNK_SIZE));
+            changed.addAll(jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(sql);
+                Array array = connection.createArrayOf("BIGINT", chunk.toArray());
+                ps.setBoolean(1, enabled);
+                ps.setObject(2, updatedAt);
+                ps.setInt(3, enabled ? 0 : 1);
+                ps.setArray(4, array);
+                ps.setBoolean(5, enabled);
+                return ps;
+            }, (rs, rowNum) -> rs.getLong(1)));
+        }
+        return changed;
+    }
+}
@@ -12,7 +12,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User>, UserBulkRepository {
 
     Optional<User> findByUsernameAndDeletedAtIsNull(String username);
 
@@ -29,7 +29,8 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     Optional<User> findByIdWithGroups(Long id);
 
     @Modifying
-    @Query("UPDATE User u SET u.deletedAt = :deletedAt WHERE u.id = :id AND u.deletedAt IS NULL")
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt, u.securityVersion = u.securityVersion + 1"
+        + " WHERE u.id = :id AND u.deletedAt IS NULL")
     int softDeleteById(Long id, LocalDateTime deletedAt);
 
     @Modifying
@@ -37,6 +38,26 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     int restoreById(Long id);
 
     @Modifying
-    @Query("UPDATE User u SET u.deletedAt = :deletedAt WHERE u.id IN :ids AND u.deletedAt IS NULL")
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt, u.securityVersion = u.securityVersion + 1"
+        + " WHERE u.id IN :ids AND u.deletedAt IS NULL")
     int softDeleteByIds(List<Long> ids, LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.username = :username AND u.deletedAt IS NULL")
+    int updatePasswordByUsername(String username, String password);
+
+    @Modifying
+    @Query("UPDATE User u SET u.attributesVersion = u.attributesVersion + 1 WHERE u.id = :id")
+    int incrementAttributesVersion(Long id);
+
+    /**
+     * Everything a lightweight refresh needs in one round trip: account status, the user's
+     * security and attribute versions, and the global policy-set version.
+     */
+    @Query(value = "SELECT u.id AS id, u.username AS username, u.enabled AS enabled,"
+        + " u.account_non_locked AS accountNonLocked, u.security_version AS securityVersion,"
+        + " u.attributes_version AS attributesVersion,"
+        + " (SELECT sv.version FROM security_versions sv WHERE sv.scope = 'POLICY_SET') AS policySetVersion"
+        + " FROM users u WHERE u.id = :id AND u.deleted_at IS NULL", nativeQuery = true)
+    Optional<UserSecurityStamp> findSecurityStampById(Long id);
 }
@@ -0,0 +1,21 @@
+package com.boilerplate.domain.repository;
+
+/**
+ * Projection used by the lightweight refresh path to validate a refresh token without loading the user.
+ */
+public interface UserSecurityStamp {
+
+    Long getId();
+
+    String getUsername();
+
+    Boolean getEnabled();
+
+    Boolean getAccountNonLocked();
+
+    Long getSecurityVersion();
+
+    Long getAttributesVersion();
+
+    Long getPolicySetVersion();
+}
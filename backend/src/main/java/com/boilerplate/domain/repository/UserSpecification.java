@@ -1,7 +1,11 @@
 package com.boilerplate.domain.repository;
 
 import com.boilerplate.domain.model.User;
+import com.boilerplate.domain.model.UserProfile;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.Locale;
@@ -11,15 +15,35 @@ public final class UserSpecification {
     private UserSpecification() {
     }
 
+    /**
+     * Users whose username, email, or profile first or last name contains the keyword, ignoring case.
+     *
+     * Written as {@code id IN (... UNION ALL ...)} rather than one OR over all four columns: each
+     * branch filters a single table, which PostgreSQL answers from that table's pg_trgm indexes (see
+     * V31), while an OR that also reaches into user_profiles would have it check every user in turn.
+     */
     public static Specification<User> searchByKeyword(String keyword) {
         if (keyword == null || keyword.isBlank()) {
             return null;
         }
         String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
-        return (root, query, cb) -> cb.or(
-            cb.like(cb.lower(root.get("username")), pattern),
-            cb.like(cb.lower(root.get("email")), pattern)
-        );
+        return (root, query, cb) -> {
+            Subquery<Long> byAccount = query.subquery(Long.class);
+            Root<User> user = byAccount.from(User.class);
+            byAccount.select(user.get("id")).where(cb.or(
+                cb.like(cb.lower(user.get("username")), pattern),
+                cb.like(cb.lower(user.get("email")), pattern)
+            ));
+
+            Subquery<Long> byProfile = query.subquery(Long.class);
+            Root<UserProfile> profile = byProfile.from(UserProfile.class);
+            byProfile.select(profile.get("user").get("id")).where(cb.or(
+                cb.like(cb.lower(profile.get("firstName")), pattern),
+                cb.like(cb.lower(profile.get("lastName")), pattern)
+            ));
+
+            return root.get("id").in(((HibernateCriteriaBuilder) cb).unionAll(byAccount, byProfile));
+        };
     }
 
     public static Specification<User> hasGroup(String groupName) {
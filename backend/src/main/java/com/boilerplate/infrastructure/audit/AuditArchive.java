@@ -0,0 +1,292 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.dto.response.AuditArchiveSegmentResponse;
+import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.infrastructure.config.AuditArchiveProperties;
+import com.boilerplate.presentation.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * The archived months of audit logs written by {@link AuditArchiver}, searchable with the filters of
+ * the audit log search API and downloadable per month.
+ *
+ * Segments are loaded from the archive directory whether or not archiving is enabled, so an
+ * instance that does not archive still serves what another one archived. The directory may be
+ * shared, so it is looked at again on every search and listing: segments written elsewhere since
+ * are opened and those deleted elsewhere are dropped.
+ */
+@Component
+@Slf4j
+public class AuditArchive implements DisposableBean {
+
+    private final Path directory;
+    private final int maxBlocksPerSearch;
+    private final ObjectReader rowReader;
+    private final NavigableMap<YearMonth, AuditArchiveSegment> segments = new ConcurrentSkipListMap<>();
+    private final Set<YearMonth> unreadable = new HashSet<>();
+
+    public AuditArchive(AuditArchiveProperties properties, ObjectMapper objectMapper) {
+        this.directory = properties.getDirectory();
+        this.maxBlocksPerSearch = Math.max(1, properties.getMaxBlocksPerSearch());
+        this.rowReader = objectMapper.readerFor(AuditLogResponse.class);
+        refresh();
+        log.info("Audit archive: {} monthly segments in {}", segments.size(), directory);
+    }
+
+    /**
+     * Up to {@code limit} archived rows matching the search, newest first, strictly before the given
+     * position when there is one. Months and blocks that cannot match by time or user id are skipped
+     * without being read, and at most {@code maxBlocksPerSearch} blocks with rows before the position
+     * are decompressed: a search that needs more stops there and returns the position to resume from.
+     */
+    public Slice search(
+        AuditLogSearchRequest search,
+        LocalDateTime beforeCreatedAt,
+        Long beforeId,
+        int limit
+    ) {
+        refresh();
+        List<AuditLogResponse> found = new ArrayList<>();
+        if (segments.isEmpty() || limit <= 0) {
+            return new Slice(found, null);
+        }
+        AuditLogSearchRequest criteria = search != null ? search : new AuditLogSearchRequest();
+        ObjectNode metadata = AuditMetadata.parseObject(criteria.getMetadata());
+        long lowest = criteria.getFrom() != null ? AuditArchiveSegment.toMicros(criteria.getFrom()) : Long.MIN_VALUE;
+        long highest = Long.MAX_VALUE;
+        if (criteria.getTo() != null) {
+            highest = AuditArchiveSegment.toMicros(criteria.getTo()) - 1;
+        }
+        if (beforeCreatedAt != null) {
+            highest = Math.min(highest, AuditArchiveSegment.toMicros(beforeCreatedAt));
+        }
+
+        int decompressed = 0;
+        AuditLogResponse oldestRead = null;
+        for (AuditArchiveSegment segment : segments.descendingMap().values()) {
+            for (int block = segment.blockCount() - 1; block >= 0 && found.size() < limit; block--) {
+                if (segment.blockFirstMicros(block) > highest || segment.blockLastMicros(block) < lowest) {
+                    continue;
+                }
+                if (criteria.getUserId() != null && !segment.mightContainUser(block, criteria.getUserId())) {
+                    continue;
+                }
+                if (decompressed == maxBlocksPerSearch) {
+                    // Everything from the oldest row read on has been looked at
+                    return new Slice(found, new Position(oldestRead.getCreatedAt(), oldestRead.getId()));
+                }
+                List<AuditLogResponse> rows = parse(segment.readBlock(block));
+                boolean read = false;
+                for (int i = rows.size() - 1; i >= 0 && found.size() < limit; i--) {
+                    AuditLogResponse row = rows.get(i);
+                    if (isBefore(row, beforeCreatedAt, beforeId)) {
+                        read = true;
+                        if (matches(criteria, metadata, row)) {
+                            found.add(row);
+                        }
+                    }
+                }
+                // The block a resumed search starts at holds nothing before the position; it is free
+                if (read) {
+                    decompressed++;
+                    oldestRead = rows.getFirst();
+                }
+            }
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return new Slice(found, null);
+    }
+
+    public List<AuditArchiveSegmentResponse> listSegments() {
+        refresh();
+        return segments.descendingMap().values().stream()
+            .map(segment -> AuditArchiveSegmentResponse.builder()
+                .month(segment.month())
+                .rowCount(segment.rowCount())
+                .sizeBytes(segment.dataLength())
+                .firstCreatedAt(segment.firstCreatedAt())
+                .lastCreatedAt(segment.lastCreatedAt())
+                .build())
+            .toList();
+    }
+
+    public long sizeOf(YearMonth month) {
+        return segment(month).dataLength();
+    }
+
+    /** The month's data file as stored: gzip-compressed NDJSON, oldest first. */
+    public StreamingResponseBody download(YearMonth month) {
+        AuditArchiveSegment segment = segment(month);
+        return out -> segment.transferTo(Channels.newChannel(out));
+    }
+
+    boolean contains(YearMonth month) {
+        return segments.containsKey(month);
+    }
+
+    AuditArchiveSegment get(YearMonth month) {
+        return segments.get(month);
+    }
+
+    synchronized void add(AuditArchiveSegment segment) {
+        AuditArchiveSegment replaced = segments.put(segment.month(), segment);
+        if (replaced != null && replaced != segment) {
+            closeQuietly(replaced);
+        }
+    }
+
+    /** Deletes the segments of months before the given one; returns the months removed. */
+    synchronized List<YearMonth> deleteBefore(YearMonth month) {
+        List<YearMonth> deleted = new ArrayList<>();
+        for (AuditArchiveSegment segment : List.copyOf(segments.headMap(month).values())) {
+            segments.remove(segment.month());
+            closeQuietly(segment);
+            try {
+                // Index first: without it the data file is never picked up again
+                Files.deleteIfExists(AuditArchiveSegment.indexFile(directory, segment.month()));
+                Files.deleteIfExists(segment.dataFile());
+                deleted.add(segment.month());
+            } catch (IOException e) {
+                log.warn("Failed to delete archived audit logs of {}: {}", segment.month(), e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void destroy() {
+        segments.values().forEach(AuditArchive::closeQuietly);
+        segments.clear();
+    }
+
+    /**
+     * Opens the segments whose index file appeared since the last look and drops those whose index
+     * file is gone. A segment's index file is written last and deleted first, so it marks a complete
+     * segment.
+     */
+    synchronized void refresh() {
+        Set<YearMonth> present = new HashSet<>();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    YearMonth month = AuditArchiveSegment.monthOf(file);
+                    if (month == null) {
+                        continue;
+                    }
+                    present.add(month);
+                    if (segments.containsKey(month)) {
+                        continue;
+                    }
+                    try {
+                        segments.put(month, AuditArchiveSegment.open(directory, month));
+                        unreadable.remove(month);
+                    } catch (IOException e) {
+                        if (unreadable.add(month)) {
+                            log.warn("Skipping unreadable audit archive segment {}: {}", file, e.getMessage());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read audit archive directory " + directory, e);
+            }
+        }
+        for (AuditArchiveSegment segment : List.copyOf(segments.values())) {
+            if (!present.contains(segment.month()) && segments.remove(segment.month(), segment)) {
+                closeQuietly(segment);
+            }
+        }
+    }
+
+    private AuditArchiveSegment segment(YearMonth month) {
+        refresh();
+        AuditArchiveSegment segment = segments.get(month);
+        if (segment == null) {
+            throw new ResourceNotFoundException("No archived audit logs for " + month);
+        }
+        return segment;
+    }
+
+    private List<AuditLogResponse> parse(byte[] lines) {
+        try (MappingIterator<AuditLogResponse> rows = rowReader.readValues(lines)) {
+            return rows.readAll();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Same semantics as the database filters: blank strings do not filter. Rows archived before V28
+     * hold their metadata as a string and never match a metadata filter.
+     */
+    private static boolean matches(AuditLogSearchRequest search, ObjectNode metadata, AuditLogResponse row) {
+        return (search.getUserId() == null || search.getUserId().equals(row.getUserId()))
+            && (metadata == null || AuditMetadata.contains(row.getMetadata(), metadata))
+            && matches(search.getAction(), row.getAction())
+            && matches(search.getResource(), row.getResource())
+            && matches(search.getResourceId(), row.getResourceId())
+            && matches(InetLiterals.normalize(search.getIpAddress()), row.getIpAddress())
+            && (search.getFrom() == null || !row.getCreatedAt().isBefore(search.getFrom()))
+            && (search.getTo() == null || row.getCreatedAt().isBefore(search.getTo()));
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.isBlank() || Objects.equals(filter, value);
+    }
+
+    private static boolean isBefore(AuditLogResponse row, LocalDateTime createdAt, Long id) {
+        if (createdAt == null || id == null) {
+            return true;
+        }
+        int order = row.getCreatedAt().compareTo(createdAt);
+        return order < 0 || order == 0 && row.getId() < id;
+    }
+
+    /**
+     * Rows found by one search. {@code resumeBefore} is set when the search stopped at its block cap
+     * before it had {@code limit} rows: continuing strictly before it finds the rest.
+     */
+    public record Slice(List<AuditLogResponse> rows, Position resumeBefore) {
+    }
+
+    public record Position(LocalDateTime createdAt, Long id) {
+    }
+
+    private static void closeQuietly(AuditArchiveSegment segment) {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.debug("Failed to close audit archive segment {}", segment.month(), e);
+        }
+    }
+}
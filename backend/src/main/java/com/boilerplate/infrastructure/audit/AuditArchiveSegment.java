@@ -0,0 +1,211 @@
+package com.boilerplate.infrastructure.audit;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * One archived month of audit logs: an immutable data file plus a sparse index over it.
+ *
+ * The data file ({@code audit-logs-yyyy-MM.ndjson.gz}) holds the month's rows oldest first, in the
+ * NDJSON form of the export API, cut into blocks of a few thousand rows. Each block is a complete
+ * gzip member, so the whole file is itself a valid gzip stream and is downloaded as is.
+ *
+ * The index ({@code audit-logs-yyyy-MM.idx}) is memory-mapped and read in place. After a header it
+ * holds one fixed-size entry per block: offset, length, row count, first and last timestamp and a
+ * bloom filter over the block's user ids. A search only decompresses the blocks whose time range
+ * and user filter can match. The index is renamed into place last, so its presence marks a
+ * complete segment.
+ */
+final class AuditArchiveSegment implements Closeable {
+
+    static final int MAGIC = 0x41554458;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 48;
+    static final int ENTRY_BYTES = 32;
+    static final int BLOOM_HASHES = 4;
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    private final YearMonth month;
+    private final Path dataFile;
+    private final FileChannel data;
+    private final MappedByteBuffer index;
+    private final int blockCount;
+    private final int bloomBytes;
+
+    private AuditArchiveSegment(YearMonth month, Path dataFile, FileChannel data, MappedByteBuffer index) {
+        this.month = month;
+        this.dataFile = dataFile;
+        this.data = data;
+        this.index = index;
+        this.blockCount = index.getInt(8);
+        this.bloomBytes = index.getInt(12);
+    }
+
+    static AuditArchiveSegment open(Path directory, YearMonth month) throws IOException {
+        MappedByteBuffer index;
+        try (FileChannel channel = FileChannel.open(indexFile(directory, month), StandardOpenOption.READ)) {
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (index.capacity() < HEADER_BYTES || index.getInt(0) != MAGIC || index.getInt(4) != VERSION) {
+            throw new IOException("Not an audit archive index: " + indexFile(directory, month));
+        }
+        Path dataFile = dataFile(directory, month);
+        FileChannel data = FileChannel.open(dataFile, StandardOpenOption.READ);
+        if (data.size() != index.getLong(40)) {
+            data.close();
+            throw new IOException("Audit archive data does not match its index: " + dataFile);
+        }
+        return new AuditArchiveSegment(month, dataFile, data, index);
+    }
+
+    static Path dataFile(Path directory, YearMonth month) {
+        return directory.resolve("audit-logs-" + month.format(MONTH) + ".ndjson.gz");
+    }
+
+    static Path indexFile(Path directory, YearMonth month) {
+        return directory.resolve("audit-logs-" + month.format(MONTH) + ".idx");
+    }
+
+    /** Month of a segment file name, or null for any other file. */
+    static YearMonth monthOf(Path indexFile) {
+        String name = indexFile.getFileName().toString();
+        if (!name.startsWith("audit-logs-") || !name.endsWith(".idx")) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(name.substring("audit-logs-".length(), name.length() - ".idx".length()), MONTH);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    YearMonth month() {
+        return month;
+    }
+
+    Path dataFile() {
+        return dataFile;
+    }
+
+    long rowCount() {
+        return index.getLong(16);
+    }
+
+    LocalDateTime firstCreatedAt() {
+        return fromMicros(index.getLong(24));
+    }
+
+    LocalDateTime lastCreatedAt() {
+        return fromMicros(index.getLong(32));
+    }
+
+    long dataLength() {
+        return index.getLong(40);
+    }
+
+    int blockCount() {
+        return blockCount;
+    }
+
+    long blockFirstMicros(int block) {
+        return index.getLong(entry(block) + 16);
+    }
+
+    long blockLastMicros(int block) {
+        return index.getLong(entry(block) + 24);
+    }
+
+    boolean mightContainUser(int block, long userId) {
+        int bloom = entry(block) + ENTRY_BYTES;
+        for (long bit : bloomBits(userId, bloomBytes)) {
+            if ((index.get(bloom + (int) (bit >>> 3)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The block's NDJSON lines, decompressed. */
+    byte[] readBlock(int block) {
+        int entry = entry(block);
+        long offset = index.getLong(entry);
+        ByteBuffer compressed = ByteBuffer.allocate(index.getInt(entry + 8));
+        try {
+            while (compressed.hasRemaining()) {
+                if (data.read(compressed, offset + compressed.position()) < 0) {
+                    throw new IOException("Unexpected end of " + dataFile);
+                }
+            }
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.array()))) {
+                return in.readAllBytes();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copies the whole data file with {@link FileChannel#transferTo}, which hands the work to the
+     * kernel when the target is a file or socket channel. The stored bytes go out unchanged: no
+     * decompression and no re-encoding.
+     */
+    void transferTo(WritableByteChannel target) throws IOException {
+        long position = 0;
+        long length = dataLength();
+        while (position < length) {
+            position += data.transferTo(position, length - position, target);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        data.close();
+    }
+
+    private int entry(int block) {
+        return HEADER_BYTES + block * (ENTRY_BYTES + bloomBytes);
+    }
+
+    static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+            (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+
+    /** Positions of a user id in a bloom filter of the given size, by double hashing. */
+    static long[] bloomBits(long userId, int bloomBytes) {
+        long bits = bloomBytes * 8L;
+        long h1 = mix(userId);
+        long h2 = mix(h1) | 1;
+        long[] positions = new long[BLOOM_HASHES];
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            positions[i] = Math.floorMod(h1 + i * h2, bits);
+        }
+        return positions;
+    }
+
+    /** SplitMix64 finalizer, spreads sequential ids over the bloom filter. */
+    static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,234 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.config.AuditArchiveProperties;
+import com.boilerplate.infrastructure.config.AuditPartitionProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves months that have left the hot window out of {@code audit_logs} into {@link AuditArchive}
+ * segments, oldest first.
+ *
+ * A month is written to a segment, which only appears once complete, and then removed from the
+ * table: on PostgreSQL by dropping its partition, elsewhere with a DELETE. A run that stopped in
+ * between finds the segment on the next run and only does the delete, after checking that the
+ * segment holds as many rows as the table still does. A month that cannot be removed stops the
+ * run: scrolling only reaches the archive past the oldest row left in the table, so later months
+ * stay in the table, where they can still be found, until it is.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit.archive", name = "enabled", havingValue = "true")
+@Slf4j
+public class AuditArchiver {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final AuditArchiveProperties properties;
+    private final AuditPartitionProperties partitionProperties;
+    private final AuditArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate transaction;
+    private final JsonFactory jsonFactory;
+    private final AuditDictionary dictionary;
+    private final DatabaseDialect databaseDialect;
+
+    public AuditArchiver(
+        AuditArchiveProperties properties,
+        AuditPartitionProperties partitionProperties,
+        AuditArchive archive,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        AuditDictionary dictionary,
+        DatabaseDialect databaseDialect
+    ) {
+        this.properties = properties;
+        this.partitionProperties = partitionProperties;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.jsonFactory = objectMapper.getFactory();
+        this.dictionary = dictionary;
+        this.databaseDialect = databaseDialect;
+    }
+
+    /**
+     * Archives and expires months. Every instance may have archiving enabled; on PostgreSQL a
+     * session advisory lock lets one of them run at a time and the others skip the run.
+     */
+    @Scheduled(cron = "${audit.archive.cron:0 0 3 * * *}")
+    public void run() {
+        if (!databaseDialect.isPostgreSQL()) {
+            archiveAndExpire();
+            return;
+        }
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                    log.info("Audit log archiving skipped: another instance is running it");
+                    return null;
+                }
+                try {
+                    archiveAndExpire();
+                } finally {
+                    advisoryLock(connection, "pg_advisory_unlock");
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Audit log archiving failed: {}", e.getMessage());
+        }
+    }
+
+    private void archiveAndExpire() {
+        try {
+            // Segments another instance wrote or deleted since this one last looked
+            archive.refresh();
+            List<YearMonth> archived = archiveMonths(LocalDate.now());
+            List<YearMonth> expired = partitionProperties.getRetentionMonths() > 0
+                ? archive.deleteBefore(YearMonth.now().minusMonths(partitionProperties.getRetentionMonths()))
+                : List.of();
+            log.info("Audit logs archived: {} months {}, {} expired segments deleted {}",
+                archived.size(), archived, expired.size(), expired);
+        } catch (DataAccessException | UncheckedIOException e) {
+            log.warn("Audit log archiving failed: {}", e.getMessage());
+        }
+    }
+
+    // Held on its own connection for the whole run; the archiving itself uses other connections
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        String sql = "SELECT " + function + "(hashtext('audit_logs_archiver'))";
+        try (PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet result = statement.executeQuery()) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    /**
+     * Archives every month before the hot window that still has rows in the table, oldest first,
+     * up to the first one that cannot be removed.
+     */
+    List<YearMonth> archiveMonths(LocalDate today) {
+        YearMonth cutoff = YearMonth.from(today).minusMonths(properties.getHotMonths());
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(created_at) FROM audit_logs", LocalDateTime.class);
+        List<YearMonth> archived = new ArrayList<>();
+        if (oldest == null) {
+            return archived;
+        }
+        for (YearMonth month = YearMonth.from(oldest); month.isBefore(cutoff); month = month.plusMonths(1)) {
+            Timestamp from = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+            Timestamp to = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+            Boolean hasRows = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM audit_logs WHERE created_at >= ? AND created_at < ?)",
+                Boolean.class, from, to);
+            if (!Boolean.TRUE.equals(hasRows)) {
+                continue;
+            }
+            if (!archiveMonth(month, from, to)) {
+                break;
+            }
+            archived.add(month);
+        }
+        return archived;
+    }
+
+    /** Archives the month if it is not yet and removes it from the table; false if it could not be removed. */
+    private boolean archiveMonth(YearMonth month, Timestamp from, Timestamp to) {
+        AuditArchiveSegment segment = archive.get(month);
+        if (segment == null) {
+            segment = writeSegment(month, from, to);
+            archive.add(segment);
+        }
+        return removeFromTable(segment, from, to);
+    }
+
+    private AuditArchiveSegment writeSegment(YearMonth month, Timestamp from, Timestamp to) {
+        try (AuditArchiveSegmentWriter writer = new AuditArchiveSegmentWriter(
+            archive.getDirectory(), month, properties.getBlockRows(), jsonFactory, dictionary)) {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    AuditLogExporter.SELECT_SQL + "WHERE created_at >= ? AND created_at < ?\nORDER BY created_at, id",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.getFetchSize());
+                statement.setTimestamp(1, from);
+                statement.setTimestamp(2, to);
+                return statement;
+            }, (RowCallbackHandler) rows -> {
+                try {
+                    writer.add(rows);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            return writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive audit logs of " + month, e);
+        }
+    }
+
+    /**
+     * Removes the month from the table if it still holds exactly the rows in the segment. The rows are
+     * counted again in the removing transaction, with new rows kept out until it commits: the journal
+     * shipper replays events with their original time, so rows can still land in an archived month.
+     */
+    private boolean removeFromTable(AuditArchiveSegment segment, Timestamp from, Timestamp to) {
+        YearMonth month = segment.month();
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            // audit_logs is partitioned on PostgreSQL only (V23)
+            boolean partitioned = databaseDialect.isPostgreSQL();
+            if (partitioned) {
+                // The lock the V23 partition functions take, so this never races partition maintenance.
+                // audit_logs_drop_partitions_before is not used: it would also drop earlier months that
+                // were kept because they could not be archived.
+                jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('audit_logs_partitions'))");
+                // Blocks inserts into every partition, the default one included, until commit. Dropping
+                // the partition takes an exclusive lock on audit_logs anyway.
+                jdbcTemplate.execute("LOCK TABLE audit_logs IN SHARE MODE");
+            }
+            Long live = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM audit_logs WHERE created_at >= ? AND created_at < ?", Long.class, from, to);
+            if (live == null || live != segment.rowCount()) {
+                // Rows for this month arrived after it was archived; deleting them now would lose them
+                log.warn("Audit logs of {} not removed: archive holds {} rows, table holds {}",
+                    month, segment.rowCount(), live);
+                return false;
+            }
+            if (partitioned) {
+                // Partition name as created by audit_logs_create_partition (V23)
+                jdbcTemplate.execute("DROP TABLE IF EXISTS audit_logs_" + month.format(PARTITION_SUFFIX));
+            }
+            // Whatever is left, e.g. rows that landed in the default partition
+            jdbcTemplate.update("DELETE FROM audit_logs WHERE created_at >= ? AND created_at < ?", from, to);
+            return true;
+        }));
+    }
+}
@@ -0,0 +1,89 @@
+package com.boilerplate.infrastructure.audit;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The codes that {@code audit_logs} stores instead of action and resource names
+ * ({@code audit_dictionary}, V27), cached in memory in both directions.
+ *
+ * Entries are only ever added, so a cached entry never goes stale; a miss, e.g. a code another
+ * instance added, is looked up in the table. New names are inserted with ON CONFLICT DO NOTHING,
+ * which lets instances add the same name concurrently without failing the caller's transaction.
+ */
+@Component
+public class AuditDictionary {
+
+    /** No row has this code; filtering on it matches nothing. */
+    public static final short UNKNOWN = 0;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Short> codes = new ConcurrentHashMap<>();
+    private final Map<Short, String> names = new ConcurrentHashMap<>();
+
+    public AuditDictionary(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** The code for a name, adding the name first if it is new; null for null. */
+    public Short intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        Short code = lookup(name);
+        if (code == null) {
+            jdbcTemplate.update("INSERT INTO audit_dictionary (name) VALUES (?) ON CONFLICT DO NOTHING", name);
+            code = lookup(name);
+        }
+        return code;
+    }
+
+    /**
+     * The code of a name for filtering: {@link #UNKNOWN} if no row was ever written with it, so a
+     * search can never add entries.
+     */
+    public short codeOf(String name) {
+        Short code = lookup(name);
+        return code != null ? code : UNKNOWN;
+    }
+
+    public String nameOf(Short code) {
+        if (code == null) {
+            return null;
+        }
+        String name = names.get(code);
+        if (name == null) {
+            List<String> found = jdbcTemplate.queryForList(
+                "SELECT name FROM audit_dictionary WHERE code = ?", String.class, code);
+            if (found.isEmpty()) {
+                throw new IllegalStateException("Unknown audit dictionary code " + code);
+            }
+            name = found.getFirst();
+            cache(name, code);
+        }
+        return name;
+    }
+
+    private Short lookup(String name) {
+        Short code = codes.get(name);
+        if (code == null) {
+            List<Short> found = jdbcTemplate.queryForList(
+                "SELECT code FROM audit_dictionary WHERE name = ?", Short.class, name);
+            if (found.isEmpty()) {
+                return null;
+            }
+            code = found.getFirst();
+            cache(name, code);
+        }
+        return code;
+    }
+
+    private void cache(String name, Short code) {
+        codes.put(name, code);
+        names.put(code, name);
+    }
+}
@@ -0,0 +1,381 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.infrastructure.config.AuditJournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped write-ahead log of audit events.
+ *
+ * Publishing an event is an encode plus a copy into a mapped segment under a short lock, so request
+ * latency no longer depends on the database. {@link AuditJournalShipper} replays the journal into
+ * {@code audit_logs} and moves the checkpoint forward once a batch has committed, which gives
+ * at-least-once delivery across restarts: a crash between commit and checkpoint replays that batch.
+ *
+ * Layout: fixed-size segment files named after the global offset of their first byte, holding
+ * records framed as {@code [int length][int crc32][payload]}. A zero length marks the end of the
+ * written data. On startup the last segment is scanned and the first torn or corrupt record becomes
+ * the new end. Segments wholly before the checkpoint are deleted.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "true")
+@Slf4j
+public class AuditJournal implements AuditSink, DisposableBean {
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final long CHECKPOINT_MAGIC = 0x4155444954574C31L;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Timer appendTimer;
+    private final Counter droppedCounter;
+
+    private Segment active;
+    private volatile long writeOffset;
+    private volatile long checkpoint;
+    private volatile boolean closed;
+
+    public AuditJournal(AuditJournalProperties properties, MeterRegistry meterRegistry) {
+        this.directory = properties.getDirectory();
+        this.segmentSize = Math.toIntExact(properties.getSegmentSize().toBytes());
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit journal in " + directory.toAbsolutePath(), e);
+        }
+
+        this.appendTimer = Timer.builder("audit.journal.append.latency")
+            .description("Time taken to append one audit event to the journal")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+            .description("Audit events that could not be appended to the journal")
+            .register(meterRegistry);
+        Gauge.builder("audit.journal.lag", this, AuditJournal::getLag)
+            .description("Journal bytes not yet shipped to the database")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+        Gauge.builder("audit.journal.segments", segments, Map::size)
+            .description("Journal segment files on disk")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void accept(AuditEvent event) {
+        long start = System.nanoTime();
+        try {
+            append(AuditRecordCodec.encode(AuditRecord.now(event)));
+        } catch (RuntimeException e) {
+            droppedCounter.increment();
+            log.error("Failed to append audit event to journal, dropped: {}", event, e);
+        } finally {
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Appends one record and returns its offset. The length is written last, so a reader never sees
+     * a record that is only partly copied.
+     */
+    long append(byte[] payload) {
+        int recordSize = HEADER_BYTES + payload.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException(
+                "Audit record of " + payload.length + " bytes does not fit in a journal segment");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Audit journal is closed");
+            }
+            int position = (int) (writeOffset - active.base());
+            if (position + recordSize > active.capacity()) {
+                active = openSegment(active.base() + active.capacity(), segmentSize);
+                position = 0;
+            }
+            MappedByteBuffer buffer = active.buffer();
+            buffer.put(position + HEADER_BYTES, payload);
+            buffer.putInt(position + 4, (int) crc.getValue());
+            buffer.putInt(position, payload.length);
+            long offset = active.base() + position;
+            writeOffset = offset + recordSize;
+            return offset;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} complete records starting at {@code fromOffset}. Corrupt
+     * records are logged and the rest of their segment is skipped.
+     */
+    public List<JournalEntry> read(long fromOffset, int maxRecords) {
+        List<JournalEntry> entries = new ArrayList<>();
+        long end = writeOffset;
+        long offset = fromOffset;
+        while (offset < end && entries.size() < maxRecords) {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(offset);
+            if (floor == null) {
+                offset = segments.firstKey();
+                continue;
+            }
+            Segment segment = floor.getValue();
+            long position = offset - segment.base();
+            int length = position + HEADER_BYTES <= segment.capacity()
+                ? segment.buffer().getInt((int) position)
+                : 0;
+            if (length == 0) {
+                // Nothing more in this segment and the writer has moved on
+                offset = nextSegmentBase(segment, end);
+                continue;
+            }
+            AuditRecord record = readRecord(segment, (int) position, length);
+            if (record == null) {
+                log.error("Corrupt audit journal record at offset {}, skipping the rest of {}",
+                    offset, segment.path().getFileName());
+                offset = nextSegmentBase(segment, end);
+                continue;
+            }
+            offset += HEADER_BYTES + length;
+            entries.add(new JournalEntry(record, offset));
+        }
+        return entries;
+    }
+
+    /**
+     * Records that everything before {@code offset} is in the database and deletes segments that
+     * are no longer needed.
+     */
+    public void checkpoint(long offset) {
+        try {
+            Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+            ByteBuffer content = ByteBuffer.allocate(16).putLong(offset).putLong(offset ^ CHECKPOINT_MAGIC);
+            Files.write(temp, content.array());
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Not fatal: an older checkpoint only means more events are replayed after a restart
+            log.warn("Failed to persist audit journal checkpoint {}: {}", offset, e.getMessage());
+        }
+        checkpoint = offset;
+
+        Map.Entry<Long, Segment> first;
+        while ((first = segments.firstEntry()) != null
+            && first.getKey() < segments.lastKey()
+            && first.getKey() + first.getValue().capacity() <= offset) {
+            segments.remove(first.getKey());
+            deleteSegment(first.getValue());
+        }
+    }
+
+    /** Flushes appended records from the page cache to disk. */
+    public void force() {
+        for (Segment segment : segments.values()) {
+            segment.buffer().force();
+        }
+    }
+
+    public long getCheckpoint() {
+        return checkpoint;
+    }
+
+    public long getWriteOffset() {
+        return writeOffset;
+    }
+
+    public long getLag() {
+        return writeOffset - checkpoint;
+    }
+
+    @Override
+    public void destroy() {
+        appendLock.lock();
+        try {
+            closed = true;
+            force();
+            for (Segment segment : segments.values()) {
+                closeQuietly(segment);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        long savedCheckpoint = readCheckpoint();
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted()
+                .toList();
+        }
+        for (Path file : files) {
+            long base = parseBase(file);
+            long size = Files.size(file);
+            if (savedCheckpoint >= 0 && base + size <= savedCheckpoint && !file.equals(files.getLast())) {
+                Files.delete(file);
+                continue;
+            }
+            openSegment(base, Math.toIntExact(size));
+        }
+        if (segments.isEmpty()) {
+            openSegment(Math.max(savedCheckpoint, 0), segmentSize);
+        }
+
+        active = segments.lastEntry().getValue();
+        int end = scanEnd(active);
+        writeOffset = active.base() + end;
+
+        long firstBase = segments.firstKey();
+        if (savedCheckpoint < 0) {
+            checkpoint = firstBase;
+        } else if (savedCheckpoint > writeOffset) {
+            log.warn("Audit journal checkpoint {} is past the end of the journal {}, resetting",
+                savedCheckpoint, writeOffset);
+            checkpoint = writeOffset;
+        } else {
+            checkpoint = Math.max(savedCheckpoint, firstBase);
+        }
+        log.info("Audit journal opened in {}: {} segment(s), {} bytes to ship",
+            directory.toAbsolutePath(), segments.size(), writeOffset - checkpoint);
+    }
+
+    /**
+     * Finds the end of the valid records in a segment and clears anything after it, so a torn tail
+     * cannot be mistaken for records once new ones are written over it.
+     */
+    private int scanEnd(Segment segment) {
+        int position = 0;
+        while (position + HEADER_BYTES <= segment.capacity()) {
+            int length = segment.buffer().getInt(position);
+            if (length <= 0 || readRecord(segment, position, length) == null) {
+                break;
+            }
+            position += HEADER_BYTES + length;
+        }
+        MappedByteBuffer buffer = segment.buffer();
+        int tail = position;
+        for (; tail + Long.BYTES <= segment.capacity(); tail += Long.BYTES) {
+            if (buffer.getLong(tail) != 0) {
+                buffer.putLong(tail, 0);
+            }
+        }
+        for (; tail < segment.capacity(); tail++) {
+            buffer.put(tail, (byte) 0);
+        }
+        return position;
+    }
+
+    private AuditRecord readRecord(Segment segment, int position, int length) {
+        if (length < 0 || (long) position + HEADER_BYTES + length > segment.capacity()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        segment.buffer().get(position + HEADER_BYTES, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        if ((int) crc.getValue() != segment.buffer().getInt(position + 4)) {
+            return null;
+        }
+        try {
+            return AuditRecordCodec.decode(ByteBuffer.wrap(payload));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private long nextSegmentBase(Segment segment, long end) {
+        Long next = segments.higherKey(segment.base());
+        return next != null ? next : end;
+    }
+
+    private Segment openSegment(long base, int capacity) throws IOException {
+        Path path = directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        Segment segment = new Segment(base, capacity, path, channel, buffer);
+        segments.put(base, segment);
+        return segment;
+    }
+
+    private long readCheckpoint() throws IOException {
+        try {
+            ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(directory.resolve(CHECKPOINT_FILE)));
+            if (content.remaining() == 16) {
+                long offset = content.getLong();
+                if ((offset ^ CHECKPOINT_MAGIC) == content.getLong()) {
+                    return offset;
+                }
+            }
+            log.warn("Audit journal checkpoint is unreadable, replaying the journal from the start");
+        } catch (NoSuchFileException e) {
+            // First start
+        }
+        return -1;
+    }
+
+    private static long parseBase(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static void deleteSegment(Segment segment) {
+        closeQuietly(segment);
+        try {
+            Files.deleteIfExists(segment.path());
+        } catch (IOException e) {
+            log.warn("Failed to delete shipped audit journal segment {}: {}", segment.path(), e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.channel().close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit journal segment {}: {}", segment.path(), e.getMessage());
+        }
+    }
+
+    /** A record read from the journal and the offset right after it, to checkpoint once it is stored. */
+    public record JournalEntry(AuditRecord record, long nextOffset) {
+    }
+
+    private record Segment(long base, int capacity, Path path, FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
@@ -0,0 +1,184 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.infrastructure.audit.AuditJournal.JournalEntry;
+import com.boilerplate.infrastructure.config.AuditJournalProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Replays the {@link AuditJournal} into {@code audit_logs} in batches.
+ *
+ * The checkpoint only moves after a batch has committed. While the database is unavailable the
+ * shipper backs off and retries the same batch, so events wait in the journal instead of being
+ * dropped. A batch rejected for its content (a constraint violation) is retried row by row, with
+ * each row's request ID (kept in the journal) in the MDC, and the offending rows are counted and
+ * skipped, so one bad event cannot block the journal.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "true")
+@Slf4j
+public class AuditJournalShipper implements SmartLifecycle {
+
+    private final AuditJournalProperties properties;
+    private final AuditJournal journal;
+    private final AuditLogInserter inserter;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+
+    private volatile boolean running;
+    private Thread shipper;
+
+    public AuditJournalShipper(
+        AuditJournalProperties properties,
+        AuditJournal journal,
+        AuditLogInserter inserter,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.journal = journal;
+        this.inserter = inserter;
+
+        this.flushTimer = Timer.builder("audit.flush.latency")
+            .description("Time taken to write one batch of audit events")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written")
+            .description("Audit events written to the database")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed")
+            .description("Audit events that could not be written")
+            .register(meterRegistry);
+        this.retryCounter = Counter.builder("audit.journal.retries")
+            .description("Journal batches retried because the database was unavailable")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        shipper = new Thread(this::shipLoop, "audit-journal-shipper");
+        shipper.setDaemon(true);
+        shipper.start();
+    }
+
+    /**
+     * Keeps shipping until the journal is caught up or the shutdown timeout passes; anything left
+     * is shipped after the next start.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (shipper == null) {
+            return;
+        }
+        LockSupport.unpark(shipper);
+        try {
+            shipper.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (shipper.isAlive()) {
+            log.warn("Audit journal shipper did not catch up within {}, {} bytes left for the next start",
+                properties.getShutdownTimeout(), journal.getLag());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the web server (which stops at DEFAULT_PHASE - 1024 / - 2048)
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void shipLoop() {
+        long backoffNanos = 0;
+        long lastForce = System.nanoTime();
+        while (true) {
+            boolean stopping = !running;
+            int shipped;
+            try {
+                shipped = shipBatch();
+                backoffNanos = 0;
+            } catch (RuntimeException e) {
+                if (stopping) {
+                    log.warn("Audit journal shipping failed during shutdown, {} bytes left for the next start: {}",
+                        journal.getLag(), e.getMessage());
+                    break;
+                }
+                retryCounter.increment();
+                backoffNanos = backoffNanos == 0
+                    ? properties.getPollInterval().toNanos()
+                    : Math.min(backoffNanos * 2, properties.getMaxRetryBackoff().toNanos());
+                log.warn("Audit journal shipping failed, retrying in {} ms: {}",
+                    TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getMessage());
+                LockSupport.parkNanos(backoffNanos);
+                continue;
+            }
+
+            if (System.nanoTime() - lastForce >= properties.getForceInterval().toNanos()) {
+                journal.force();
+                lastForce = System.nanoTime();
+            }
+            if (shipped == 0) {
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(properties.getPollInterval().toNanos());
+            }
+        }
+        journal.force();
+    }
+
+    /**
+     * Ships the next batch and returns how many events it held. Throws when the database could not
+     * take the batch; the checkpoint is then left where it was.
+     */
+    int shipBatch() {
+        List<JournalEntry> entries = journal.read(journal.getCheckpoint(), properties.getBatchSize());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        List<AuditRecord> batch = entries.stream().map(JournalEntry::record).toList();
+        long start = System.nanoTime();
+        try {
+            inserter.insertBatch(batch);
+            writtenCounter.increment(batch.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Audit batch of {} rejected, retrying row by row: {}", batch.size(), e.getMessage());
+            writeOneByOne(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        journal.checkpoint(entries.getLast().nextOffset());
+        return entries.size();
+    }
+
+    private void writeOneByOne(List<AuditRecord> batch) {
+        for (AuditRecord record : batch) {
+            record.runWithRequestId(() -> {
+                try {
+                    inserter.insert(record);
+                    writtenCounter.increment();
+                } catch (DataIntegrityViolationException e) {
+                    failedCounter.increment();
+                    log.error("Failed to save audit log {}", record.event(), e);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.config.AuditExportProperties;
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams {@code audit_logs} rows oldest first from a forward-only JDBC cursor straight into the
+ * response, as NDJSON or CSV and optionally gzip-compressed.
+ *
+ * Nothing is collected: the driver holds one fetch of rows and the output goes through a fixed
+ * buffer, so memory use is the same for a thousand rows or a hundred million. Exports run on their
+ * own small connection pool; when it is exhausted further exports get a 503 instead of waiting.
+ * Action and resource codes are turned back into names from the {@link AuditDictionary} cache
+ * rather than by a join, which would let the planner sort the whole result before the first row.
+ */
+@Slf4j
+public class AuditLogExporter implements AutoCloseable {
+
+    static final String SELECT_SQL = """
+        SELECT id, user_id, username, action_code, resource_code, resource_id, metadata, ip_address, created_at,
+               event_count
+        FROM audit_logs
+        """;
+    private static final String[] COLUMNS = {
+        "id", "userId", "username", "action", "resource", "resourceId", "metadata", "ipAddress", "createdAt",
+        "eventCount"
+    };
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+    private final AuditExportProperties properties;
+    private final JsonFactory jsonFactory;
+    private final AuditDictionary dictionary;
+    private final DatabaseDialect databaseDialect;
+    private final Counter rowCounter;
+    private final Timer exportTimer;
+
+    public AuditLogExporter(
+        DataSource dataSource,
+        AuditExportProperties properties,
+        JsonFactory jsonFactory,
+        AuditDictionary dictionary,
+        DatabaseDialect databaseDialect,
+        MeterRegistry meterRegistry
+    ) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.jsonFactory = jsonFactory;
+        this.dictionary = dictionary;
+        this.databaseDialect = databaseDialect;
+
+        this.rowCounter = Counter.builder("audit.export.rows")
+            .description("Audit log rows written by exports")
+            .register(meterRegistry);
+        this.exportTimer = Timer.builder("audit.export.duration")
+            .description("Time taken to stream one audit log export")
+            .register(meterRegistry);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+    }
+
+    /**
+     * Takes an export connection and starts the query right away, so a busy pool or a failing query
+     * is reported as a regular error response; the returned body streams the rows and releases the
+     * connection when done, including when the client goes away halfway. Should the request end
+     * before the body ever runs (async timeout, rejected task, failed dispatch), the connection is
+     * released when the request completes instead.
+     */
+    public StreamingResponseBody export(AuditLogSearchRequest search, Format format, boolean gzip) {
+        Connection connection = connect();
+        PreparedStatement statement = null;
+        ResultSet rows;
+        try {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            List<Object> parameters = new ArrayList<>();
+            statement = connection.prepareStatement(
+                buildQuery(search, dictionary, databaseDialect.isPostgreSQL(), parameters),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(properties.getFetchSize());
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            rows = statement.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(statement);
+            closeQuietly(connection);
+            throw new UncategorizedSQLException("Audit log export", null, e);
+        }
+
+        Cursor cursor = new Cursor(connection, statement, rows);
+        releaseWhenRequestCompletes(cursor);
+        return out -> {
+            if (!cursor.claim()) {
+                throw new IOException("Audit log export was released before it started");
+            }
+            long start = System.nanoTime();
+            long written = 0;
+            try (cursor) {
+                OutputStream target = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : out;
+                written = format == Format.CSV ? writeCsv(rows, target) : writeNdjson(rows, target);
+                if (target instanceof GZIPOutputStream compressed) {
+                    compressed.finish();
+                }
+                out.flush();
+            } catch (SQLException e) {
+                throw new IOException("Audit log export failed after " + written + " rows", e);
+            } finally {
+                exportTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    /**
+     * Closes the cursor once the current async request has completed, timed out or failed, unless
+     * the body has claimed it by then. Outside a web request the body is the only owner.
+     */
+    private static void releaseWhenRequestCompletes(Cursor cursor) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet)) {
+            return;
+        }
+        WebAsyncUtils.getAsyncManager(servlet.getRequest()).registerCallableInterceptor(
+            AuditLogExporter.class.getName(),
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+                    cursor.release();
+                }
+            });
+    }
+
+    /** An open export query, owned either by the body that streams it or by the request cleanup. */
+    private record Cursor(Connection connection, PreparedStatement statement, ResultSet rows, AtomicBoolean claimed)
+        implements AutoCloseable {
+
+        Cursor(Connection connection, PreparedStatement statement, ResultSet rows) {
+            this(connection, statement, rows, new AtomicBoolean());
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        void release() {
+            if (claim()) {
+                close();
+            }
+        }
+
+        @Override
+        public void close() {
+            closeQuietly(rows);
+            closeQuietly(statement);
+            closeQuietly(connection);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private Connection connect() {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLTransientConnectionException e) {
+            throw new ServiceOverloadedException(
+                "Too many audit log exports in progress. Please try again later.",
+                properties.getRetryAfterSeconds());
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to obtain an export connection", e);
+        }
+    }
+
+    /**
+     * Same filters as the search API; every combination is backed by an index (see V25, and V28 for
+     * metadata, which only PostgreSQL's {@code @>} operator can use).
+     */
+    static String buildQuery(
+        AuditLogSearchRequest search,
+        AuditDictionary dictionary,
+        boolean postgresql,
+        List<Object> parameters
+    ) {
+        List<String> conditions = new ArrayList<>();
+        if (search != null) {
+            addEqualTo(conditions, parameters, "user_id = ?", search.getUserId());
+            addEqualTo(conditions, parameters, "action_code = ?", code(dictionary, search.getAction()));
+            addEqualTo(conditions, parameters, "resource_code = ?", code(dictionary, search.getResource()));
+            addEqualTo(conditions, parameters, "resource_id = ?", search.getResourceId());
+            addEqualTo(conditions, parameters, "ip_address = CAST(? AS INET)",
+                InetLiterals.normalize(search.getIpAddress()));
+            ObjectNode metadata = AuditMetadata.parseObject(search.getMetadata());
+            addEqualTo(conditions, parameters,
+                postgresql ? "metadata @> CAST(? AS JSONB)" : "jsonb_contains(metadata, ?)",
+                metadata != null ? metadata.toString() : null);
+            if (search.getFrom() != null) {
+                conditions.add("created_at >= ?");
+                parameters.add(Timestamp.valueOf(search.getFrom()));
+            }
+            if (search.getTo() != null) {
+                conditions.add("created_at < ?");
+                parameters.add(Timestamp.valueOf(search.getTo()));
+            }
+        }
+        String where = conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions) + "\n";
+        return SELECT_SQL + where + "ORDER BY created_at, id";
+    }
+
+    private static void addEqualTo(List<String> conditions, List<Object> parameters, String condition, Object value) {
+        if (value == null || value instanceof String text && text.isBlank()) {
+            return;
+        }
+        conditions.add(condition);
+        parameters.add(value);
+    }
+
+    private static Short code(AuditDictionary dictionary, String name) {
+        return name == null || name.isBlank() ? null : dictionary.codeOf(name);
+    }
+
+    private long writeNdjson(ResultSet rows, OutputStream out) throws IOException, SQLException {
+        long written = 0;
+        try (JsonGenerator json = jsonFactory.createGenerator(new BufferedOutputStream(out, BUFFER_SIZE))) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Rows are separated by the newline written below, not Jackson's default space
+            json.setRootValueSeparator(null);
+            while (rows.next()) {
+                writeJsonRow(json, rows, dictionary);
+                written++;
+                rowCounter.increment();
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Writes the current row of a {@link #SELECT_SQL} result as one NDJSON line with the field names
+     * of the search API. Archive segments store rows in the same form.
+     */
+    static void writeJsonRow(JsonGenerator json, ResultSet rows, AuditDictionary dictionary)
+        throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeNumberField(COLUMNS[0], rows.getLong(1));
+        long userId = rows.getLong(2);
+        if (rows.wasNull()) {
+            json.writeNullField(COLUMNS[1]);
+        } else {
+            json.writeNumberField(COLUMNS[1], userId);
+        }
+        for (int column = 3; column <= 8; column++) {
+            String value = text(rows, column, dictionary);
+            if (column == 7 && value != null) {
+                // Metadata is a JSON object already (jsonb, V28)
+                json.writeFieldName(COLUMNS[column - 1]);
+                json.writeRawValue(value);
+            } else {
+                json.writeStringField(COLUMNS[column - 1], value);
+            }
+        }
+        json.writeStringField(COLUMNS[8], timestamp(rows));
+        json.writeNumberField(COLUMNS[9], rows.getInt(10));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private long writeCsv(ResultSet rows, OutputStream out) throws IOException, SQLException {
+        long written = 0;
+        Writer csv = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        csv.write(String.join(",", COLUMNS));
+        csv.write("\r\n");
+        while (rows.next()) {
+            for (int column = 1; column <= 8; column++) {
+                writeCsvField(csv, text(rows, column, dictionary));
+                csv.write(',');
+            }
+            writeCsvField(csv, timestamp(rows));
+            csv.write(',');
+            csv.write(Integer.toString(rows.getInt(10)));
+            csv.write("\r\n");
+            written++;
+            rowCounter.increment();
+        }
+        csv.flush();
+        return written;
+    }
+
+    /** RFC 4180: fields holding a separator, quote or line break are quoted, quotes are doubled. */
+    static void writeCsvField(Writer csv, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            csv.write(value);
+            return;
+        }
+        csv.write('"');
+        csv.write(value.replace("\"", "\"\""));
+        csv.write('"');
+    }
+
+    /** A column of a {@link #SELECT_SQL} row as text, with action and resource codes decoded. */
+    private static String text(ResultSet rows, int column, AuditDictionary dictionary) throws SQLException {
+        if (column == 4 || column == 5) {
+            short code = rows.getShort(column);
+            return rows.wasNull() ? null : dictionary.nameOf(code);
+        }
+        return rows.getString(column);
+    }
+
+    private static String timestamp(ResultSet rows) throws SQLException {
+        LocalDateTime createdAt = rows.getObject(9, LocalDateTime.class);
+        return createdAt == null ? null : DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(createdAt);
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (Exception e) {
+            log.debug("Failed to close export resource", e);
+        }
+    }
+}
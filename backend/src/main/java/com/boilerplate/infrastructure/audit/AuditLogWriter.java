@@ -0,0 +1,205 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.infrastructure.config.AuditWriterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes audit events in batches from a bounded in-memory queue.
+ *
+ * Publishers only enqueue. A single flusher thread collects up to {@code flushSize} events, waiting
+ * at most {@code flushInterval} after the first one, and inserts them with one JDBC batch through
+ * {@link AuditLogInserter}.
+ *
+ * When the queue is full a publisher waits up to {@code enqueueTimeout}, then the event is dropped
+ * and counted. A failed batch is retried row by row so one bad row does not lose the others; each
+ * row is retried with its request ID in the MDC, so a failure can be tied to the request.
+ * On shutdown the writer stops after the web server, so in-flight requests can still enqueue,
+ * and drains the queue before the connection pool closes.
+ *
+ * Events still queued when the process dies are lost; {@link AuditJournal} is the durable
+ * alternative.
+ */
+@Component
+@ConditionalOnProperty(prefix = "audit.journal", name = "enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class AuditLogWriter implements AuditSink, SmartLifecycle {
+
+    private final AuditWriterProperties properties;
+    private final AuditLogInserter inserter;
+    private final BlockingQueue<AuditRecord> queue;
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditLogWriter(
+        AuditWriterProperties properties,
+        AuditLogInserter inserter,
+        MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.inserter = inserter;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("audit.flush.latency")
+            .description("Time taken to write one batch of audit events")
+            .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written")
+            .description("Audit events written to the database")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+            .description("Audit events dropped because the queue stayed full")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed")
+            .description("Audit events that could not be written")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Queues an event for the next batch. Once the writer has stopped the event is written directly.
+     */
+    @Override
+    public void accept(AuditEvent event) {
+        AuditRecord pending = AuditRecord.now(event);
+        if (!running) {
+            write(List.of(pending));
+            return;
+        }
+        try {
+            if (!queue.offer(pending, properties.getEnqueueTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                droppedCounter.increment();
+                log.error("Audit queue full, dropped event: {}", event);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+            log.error("Interrupted while queueing audit event, dropped: {}", event);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        flusher = new Thread(this::flushLoop, "audit-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher == null) {
+            return;
+        }
+        try {
+            flusher.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            log.warn("Audit writer did not drain within {}, {} events still queued",
+                properties.getShutdownTimeout(), queue.size());
+            return;
+        }
+        // Events that slipped in while the flusher was finishing
+        drain(new ArrayList<>(properties.getFlushSize()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Start before and stop after the web server (which stops at DEFAULT_PHASE - 1024 / - 2048)
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void flushLoop() {
+        List<AuditRecord> batch = new ArrayList<>(properties.getFlushSize());
+        while (running) {
+            try {
+                AuditRecord first = queue.poll(properties.getFlushInterval().toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+                while (batch.size() < properties.getFlushSize()) {
+                    long remaining = deadline - System.nanoTime();
+                    AuditRecord next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, properties.getFlushSize() - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // Nothing interrupts this thread except JVM teardown; write what we have and stop
+                log.warn("Audit writer interrupted, writing what is queued and exiting");
+                running = false;
+            }
+            write(batch);
+            batch.clear();
+        }
+        drain(batch);
+    }
+
+    private void drain(List<AuditRecord> batch) {
+        while (queue.drainTo(batch, properties.getFlushSize()) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    void write(List<AuditRecord> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            inserter.insertBatch(batch);
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Audit batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            writeOneByOne(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void writeOneByOne(List<AuditRecord> batch) {
+        for (AuditRecord pending : batch) {
+            pending.runWithRequestId(() -> {
+                try {
+                    inserter.insert(pending);
+                    writtenCounter.increment();
+                } catch (RuntimeException e) {
+                    failedCounter.increment();
+                    log.error("Failed to save audit log {}", pending.event(), e);
+                }
+            });
+        }
+    }
+}
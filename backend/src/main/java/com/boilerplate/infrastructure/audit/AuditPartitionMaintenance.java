@@ -0,0 +1,80 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.config.AuditPartitionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code audit_logs} ahead of time and drops expired ones.
+ *
+ * The work is done by the SQL functions created in V23 (PostgreSQL), which serialise themselves
+ * with an advisory lock, so every instance can run this job. On other databases the table is not
+ * partitioned and the job does nothing.
+ */
+@Component
+@Slf4j
+public class AuditPartitionMaintenance {
+
+    private final AuditPartitionProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    public AuditPartitionMaintenance(
+        AuditPartitionProperties properties,
+        JdbcTemplate jdbcTemplate,
+        DatabaseDialect databaseDialect
+    ) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${audit.partitions.cron:0 30 2 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled() || !databaseDialect.isPostgreSQL()) {
+            return;
+        }
+        try {
+            int created = createUpcomingPartitions(LocalDate.now());
+            List<String> dropped = properties.getRetentionMonths() > 0
+                ? dropExpiredPartitions(LocalDate.now())
+                : List.of();
+            log.info("Audit log partitions maintained: {} created, {} dropped {}", created, dropped.size(), dropped);
+        } catch (DataAccessException e) {
+            log.warn("Audit log partition maintenance failed: {}", e.getMessage());
+        }
+    }
+
+    int createUpcomingPartitions(LocalDate today) {
+        LocalDate month = today.withDayOfMonth(1);
+        int created = 0;
+        for (int i = 0; i <= properties.getMonthsAhead(); i++) {
+            Boolean isNew = jdbcTemplate.queryForObject(
+                "SELECT audit_logs_create_partition(?)", Boolean.class, month.plusMonths(i));
+            if (Boolean.TRUE.equals(isNew)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /** Drops the partitions of months that ended before the retention window. */
+    List<String> dropExpiredPartitions(LocalDate today) {
+        LocalDate cutoff = today.withDayOfMonth(1).minusMonths(properties.getRetentionMonths());
+        return jdbcTemplate.queryForList("SELECT audit_logs_drop_partitions_before(?)", String.class, cutoff);
+    }
+}
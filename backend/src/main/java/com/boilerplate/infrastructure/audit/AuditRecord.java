@@ -0,0 +1,44 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.infrastructure.config.RequestTraceFilter;
+import org.slf4j.MDC;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit event together with the time it was published, which becomes its {@code created_at},
+ * and the ID of the request that published it, if any.
+ */
+public record AuditRecord(AuditEvent event, LocalDateTime occurredAt, String requestId) {
+
+    public AuditRecord(AuditEvent event, LocalDateTime occurredAt) {
+        this(event, occurredAt, null);
+    }
+
+    public static AuditRecord now(AuditEvent event) {
+        return new AuditRecord(event, LocalDateTime.now(), MDC.get(RequestTraceFilter.MDC_REQUEST_ID));
+    }
+
+    /**
+     * Runs {@code action} with the publishing request's ID in the MDC, so log lines written on the
+     * writer and shipper threads can be tied back to the request.
+     */
+    void runWithRequestId(Runnable action) {
+        String previous = MDC.get(RequestTraceFilter.MDC_REQUEST_ID);
+        setRequestId(requestId);
+        try {
+            action.run();
+        } finally {
+            setRequestId(previous);
+        }
+    }
+
+    private static void setRequestId(String requestId) {
+        if (requestId == null) {
+            MDC.remove(RequestTraceFilter.MDC_REQUEST_ID);
+        } else {
+            MDC.put(RequestTraceFilter.MDC_REQUEST_ID, requestId);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary form of an {@link AuditRecord} for the journal. Strings are length-prefixed UTF-8
+ * with -1 for null; the leading version byte leaves room for format changes. Version 2 appended the
+ * event count and version 3 the request ID; older records, from journals written before, decode
+ * with a count of 1 and no request ID.
+ */
+final class AuditRecordCodec {
+
+    private static final byte VERSION = 3;
+    private static final byte VERSION_WITHOUT_REQUEST_ID = 2;
+    private static final byte VERSION_WITHOUT_COUNT = 1;
+
+    private AuditRecordCodec() {
+    }
+
+    static byte[] encode(AuditRecord record) {
+        AuditEvent event = record.event();
+        byte[][] strings = {
+            utf8(event.username()),
+            utf8(event.action()),
+            utf8(event.resource()),
+            utf8(event.resourceId()),
+            utf8(event.metadata()),
+            utf8(event.ipAddress())
+        };
+        byte[] requestId = utf8(record.requestId());
+        int size = 1 + 12 + 1 + 8 + 4 + 4 + (requestId == null ? 0 : requestId.length);
+        for (byte[] string : strings) {
+            size += 4 + (string == null ? 0 : string.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(VERSION);
+        buffer.putLong(record.occurredAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(record.occurredAt().getNano());
+        buffer.put((byte) (event.userId() == null ? 0 : 1));
+        buffer.putLong(event.userId() == null ? 0 : event.userId());
+        for (byte[] string : strings) {
+            putString(buffer, string);
+        }
+        buffer.putInt(event.count());
+        putString(buffer, requestId);
+        return buffer.array();
+    }
+
+    static AuditRecord decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION && version != VERSION_WITHOUT_REQUEST_ID && version != VERSION_WITHOUT_COUNT) {
+            throw new IllegalArgumentException("Unsupported audit record version " + version);
+        }
+        LocalDateTime occurredAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        boolean hasUserId = buffer.get() == 1;
+        long userId = buffer.getLong();
+        AuditEvent event = new AuditEvent(
+            hasUserId ? userId : null,
+            string(buffer),
+            string(buffer),
+            string(buffer),
+            string(buffer),
+            string(buffer),
+            string(buffer),
+            version == VERSION_WITHOUT_COUNT ? 1 : buffer.getInt()
+        );
+        return new AuditRecord(event, occurredAt, version == VERSION ? string(buffer) : null);
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] string) {
+        if (string == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(string.length);
+            buffer.put(string);
+        }
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
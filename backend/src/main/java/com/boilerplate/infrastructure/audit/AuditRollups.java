@@ -0,0 +1,165 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditActivityRequest;
+import com.boilerplate.application.dto.request.AuditActivityRequest.Dimension;
+import com.boilerplate.application.dto.request.AuditActivityRequest.Granularity;
+import com.boilerplate.application.dto.response.AuditActivityResponse;
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Hourly audit event counts per action, resource and user ({@code audit_log_rollups}, V26).
+ *
+ * {@link AuditLogInserter} adds every batch it writes within the same transaction, so the counts
+ * match the rows that were committed; a coalesced row counts as the events it stands for. Each
+ * batch is first summed up in memory, which turns a burst of logins into one upsert per distinct
+ * key instead of one per event; keys are upserted in a fixed order so concurrent batches touching
+ * the same keys cannot deadlock.
+ */
+@Component
+public class AuditRollups {
+
+    private static final String UPSERT_POSTGRESQL = """
+        INSERT INTO audit_log_rollups (bucket_start, action, resource, user_id, event_count)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT (bucket_start, action, resource, user_id)
+        DO UPDATE SET event_count = audit_log_rollups.event_count + EXCLUDED.event_count
+        """;
+
+    /** Elsewhere (H2) there is no ON CONFLICT ... DO UPDATE; single-writer use makes MERGE enough. */
+    private static final String UPSERT_MERGE = """
+        MERGE INTO audit_log_rollups r
+        USING (VALUES (CAST(? AS TIMESTAMP), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)),
+                       CAST(? AS BIGINT), CAST(? AS BIGINT)))
+            AS s (bucket_start, action, resource, user_id, event_count)
+        ON r.bucket_start = s.bucket_start AND r.action = s.action AND r.resource = s.resource
+            AND r.user_id IS NOT DISTINCT FROM s.user_id
+        WHEN MATCHED THEN UPDATE SET event_count = r.event_count + s.event_count
+        WHEN NOT MATCHED THEN INSERT (bucket_start, action, resource, user_id, event_count)
+            VALUES (s.bucket_start, s.action, s.resource, s.user_id, s.event_count)
+        """;
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::bucket)
+        .thenComparing(Key::action)
+        .thenComparing(Key::resource)
+        .thenComparing(Key::userId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseDialect databaseDialect;
+
+    public AuditRollups(JdbcTemplate jdbcTemplate, DatabaseDialect databaseDialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databaseDialect = databaseDialect;
+    }
+
+    /** Counts the records into their hourly buckets; call within the transaction that inserts them. */
+    void add(List<AuditRecord> records) {
+        Map<Key, Long> counts = new TreeMap<>(KEY_ORDER);
+        for (AuditRecord record : records) {
+            AuditEvent event = record.event();
+            Key key = new Key(record.occurredAt().truncatedTo(ChronoUnit.HOURS),
+                event.action(), event.resource(), event.userId());
+            counts.merge(key, (long) event.count(), Long::sum);
+        }
+        List<Map.Entry<Key, Long>> entries = List.copyOf(counts.entrySet());
+        jdbcTemplate.batchUpdate(upsertSql(), entries, entries.size(), (ps, entry) -> {
+            Key key = entry.getKey();
+            ps.setTimestamp(1, Timestamp.valueOf(key.bucket()));
+            ps.setString(2, key.action());
+            ps.setString(3, key.resource());
+            if (key.userId() != null) {
+                ps.setLong(4, key.userId());
+            } else {
+                ps.setNull(4, Types.BIGINT);
+            }
+            ps.setLong(5, entry.getValue());
+        });
+    }
+
+    /**
+     * Event counts per bucket between {@code from} (rounded down to the bucket) and {@code to},
+     * oldest first, split by the requested dimensions. Empty buckets are left out.
+     */
+    public List<AuditActivityResponse> query(AuditActivityRequest request, LocalDateTime from, LocalDateTime to) {
+        Granularity granularity = request.getGranularity() != null ? request.getGranularity() : Granularity.HOUR;
+        Set<Dimension> groupBy = request.getGroupBy() != null ? request.getGroupBy() : Set.of();
+        boolean byAction = groupBy.contains(Dimension.ACTION);
+        boolean byResource = groupBy.contains(Dimension.RESOURCE);
+        boolean byUser = groupBy.contains(Dimension.USER);
+
+        String bucket = granularity == Granularity.DAY ? "DATE_TRUNC('day', bucket_start)" : "bucket_start";
+        StringBuilder columns = new StringBuilder(bucket);
+        if (byAction) {
+            columns.append(", action");
+        }
+        if (byResource) {
+            columns.append(", resource");
+        }
+        if (byUser) {
+            columns.append(", user_id");
+        }
+
+        List<Object> params = new ArrayList<>();
+        StringBuilder where = new StringBuilder("bucket_start >= ? AND bucket_start < ?");
+        params.add(Timestamp.valueOf(truncate(from, granularity)));
+        params.add(Timestamp.valueOf(to));
+        if (request.getUserId() != null) {
+            where.append(" AND user_id = ?");
+            params.add(request.getUserId());
+        }
+        if (request.getAction() != null && !request.getAction().isBlank()) {
+            where.append(" AND action = ?");
+            params.add(request.getAction());
+        }
+        if (request.getResource() != null && !request.getResource().isBlank()) {
+            where.append(" AND resource = ?");
+            params.add(request.getResource());
+        }
+
+        String sql = "SELECT " + columns + ", SUM(event_count) AS event_count\n"
+            + "FROM audit_log_rollups\n"
+            + "WHERE " + where + "\n"
+            + "GROUP BY " + columns + "\n"
+            + "ORDER BY " + columns;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            int column = 2;
+            AuditActivityResponse.AuditActivityResponseBuilder point = AuditActivityResponse.builder()
+                .bucket(rs.getTimestamp(1).toLocalDateTime());
+            if (byAction) {
+                point.action(rs.getString(column++));
+            }
+            if (byResource) {
+                point.resource(rs.getString(column++));
+            }
+            if (byUser) {
+                long userId = rs.getLong(column++);
+                point.userId(rs.wasNull() ? null : userId);
+            }
+            return point.count(rs.getLong(column)).build();
+        }, params.toArray());
+    }
+
+    static LocalDateTime truncate(LocalDateTime time, Granularity granularity) {
+        return granularity == Granularity.DAY ? time.truncatedTo(ChronoUnit.DAYS) : time.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    private String upsertSql() {
+        return databaseDialect.isPostgreSQL() ? UPSERT_POSTGRESQL : UPSERT_MERGE;
+    }
+
+    private record Key(LocalDateTime bucket, String action, String resource, Long userId) {
+    }
+}
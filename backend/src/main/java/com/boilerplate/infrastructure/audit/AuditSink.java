@@ -0,0 +1,13 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+
+/**
+ * Where published audit events go on their way to {@code audit_logs}. Exactly one implementation is
+ * active: {@link AuditLogWriter} (in-memory queue) or {@link AuditJournal} (local write-ahead log),
+ * selected by {@code audit.journal.enabled}.
+ */
+public interface AuditSink {
+
+    void accept(AuditEvent event);
+}
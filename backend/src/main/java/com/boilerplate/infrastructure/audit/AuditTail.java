@@ -0,0 +1,320 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.infrastructure.config.AuditTailProperties;
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+
+/**
+ * Live audit events for Server-Sent Events subscribers, served from memory.
+ *
+ * Every published event is appended to a fixed-size ring as it happens, including events the
+ * stored log samples or coalesces. Each subscriber reads the ring from its own position on a
+ * virtual thread, so a slow client only holds up itself; one that falls more than
+ * {@code maxLag} events behind is sent a {@code dropped} event with the id to resume from and
+ * disconnected. A client reconnecting with {@code Last-Event-ID} continues after that id; if the
+ * events since have already left the ring, or the id is from before a restart, it is sent a
+ * {@code gap} event first and should fill the gap from the stored log.
+ *
+ * Nothing here touches the database, however many subscribers there are, and publishing takes no
+ * lock: an event claims its sequence number, is written to its slot and one notifier thread is
+ * poked, which wakes the subscribers waiting for events. A burst of events costs the publishers one
+ * wake-up between them, and subscribers read the ring without blocking publishers.
+ */
+@Component
+@Slf4j
+public class AuditTail implements SmartLifecycle {
+
+    static final String AUDIT_EVENT = "audit";
+    static final String GAP_EVENT = "gap";
+    static final String DROPPED_EVENT = "dropped";
+
+    private static final int READ_BATCH = 256;
+
+    private final AuditTailProperties properties;
+    private final AtomicReferenceArray<Entry> ring;
+    /** Sequence number the next event gets; the ring holds the {@code capacity} before it. */
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private final Set<Thread> waiting = ConcurrentHashMap.newKeySet();
+    /** Distinguishes ids from before a restart, whose sequence numbers mean nothing now. */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Counter droppedCounter;
+    private final Counter gapCounter;
+
+    private volatile boolean running;
+    private volatile Thread notifier;
+
+    public AuditTail(AuditTailProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new AtomicReferenceArray<>(properties.getCapacity());
+        Gauge.builder("audit.tail.subscribers", subscribers, Set::size)
+            .description("Clients following the live audit tail")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.tail.dropped")
+            .description("Tail subscribers disconnected for falling too far behind")
+            .register(meterRegistry);
+        this.gapCounter = Counter.builder("audit.tail.gaps")
+            .description("Tail subscribers that resumed after events had left the buffer")
+            .register(meterRegistry);
+    }
+
+    public void append(AuditEvent event) {
+        long sequence = head.getAndIncrement();
+        ring.set(index(sequence), new Entry(sequence, toResponse(event, LocalDateTime.now())));
+        if (wakeUpPending.compareAndSet(false, true)) {
+            LockSupport.unpark(notifier);
+        }
+    }
+
+    /**
+     * Streams the events that pass {@code filter}, starting after {@code lastEventId} if given and
+     * otherwise with the next event published.
+     */
+    public SseEmitter subscribe(String lastEventId, Predicate<AuditLogResponse> filter) {
+        if (!running) {
+            throw new ServiceOverloadedException("The audit tail is shutting down.", properties.getRetryAfterSeconds());
+        }
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceOverloadedException(
+                "Too many audit tail subscribers. Please try again later.", properties.getRetryAfterSeconds());
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.thread = Thread.ofVirtual()
+            .name("audit-tail-" + subscriberIds.incrementAndGet())
+            .start(() -> subscriber.run(resumePosition(lastEventId)));
+        return emitter;
+    }
+
+    /** The sequence to continue from: after the id if it is from this run, otherwise the next event. */
+    long resumePosition(String lastEventId) {
+        long current = head.get();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return current;
+        }
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            long sequence = Long.parseLong(lastEventId.substring(separator + 1));
+            return sequence < 0 || sequence >= current ? -1 : sequence + 1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    String id(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * Waits up to {@code timeoutNanos} for events from {@code from} on and returns the ones still
+     * in the ring, oldest first; an empty list means none arrived in time.
+     */
+    List<Entry> read(long from, long timeoutNanos) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutNanos;
+        List<Entry> entries = published(from);
+        Thread current = Thread.currentThread();
+        while (entries.isEmpty()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return entries;
+            }
+            waiting.add(current);
+            try {
+                // Looked at again once registered, so an event written in between is not slept through
+                entries = published(from);
+                if (entries.isEmpty()) {
+                    LockSupport.parkNanos(this, remaining);
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    entries = published(from);
+                }
+            } finally {
+                waiting.remove(current);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Up to {@link #READ_BATCH} consecutive events from {@code from}, or from the oldest one left if
+     * it has been overwritten, stopping at the first sequence number whose event is not written yet.
+     */
+    private List<Entry> published(long from) {
+        List<Entry> entries = new ArrayList<>();
+        long sequence = Math.max(from, oldest());
+        while (entries.size() < READ_BATCH) {
+            Entry entry = ring.get(index(sequence));
+            if (entry == null || entry.sequence() < sequence) {
+                break;
+            }
+            if (entry.sequence() > sequence) {
+                // Overwritten while reading: what was read is still in order, otherwise start again
+                if (!entries.isEmpty()) {
+                    break;
+                }
+                sequence = Math.max(from, oldest());
+                continue;
+            }
+            entries.add(entry);
+            sequence++;
+        }
+        return entries;
+    }
+
+    private long oldest() {
+        return Math.max(0, head.get() - ring.length());
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % ring.length());
+    }
+
+    /** Wakes every waiting subscriber once per burst of appended events. */
+    private void notifyLoop() {
+        while (running) {
+            if (!wakeUpPending.getAndSet(false)) {
+                LockSupport.park(this);
+                continue;
+            }
+            waiting.forEach(LockSupport::unpark);
+        }
+    }
+
+    /** The event as the stored row will read, apart from the id it does not have yet. */
+    private static AuditLogResponse toResponse(AuditEvent event, LocalDateTime at) {
+        return AuditLogResponse.builder()
+            .userId(event.userId())
+            .username(event.username())
+            .action(event.action())
+            .resource(event.resource())
+            .resourceId(event.resourceId())
+            .metadata(AuditMetadata.read(event.metadata()))
+            .ipAddress(InetLiterals.normalize(event.ipAddress()))
+            .eventCount(event.count())
+            .createdAt(at)
+            .build();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        notifier = Thread.ofVirtual().name("audit-tail-notifier").start(this::notifyLoop);
+    }
+
+    /** Ends every stream before the web server shuts down; clients reconnect elsewhere with their last id. */
+    @Override
+    public void stop() {
+        running = false;
+        LockSupport.unpark(notifier);
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    record Entry(long sequence, AuditLogResponse row) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Predicate<AuditLogResponse> filter;
+        private volatile boolean closed;
+        private volatile Thread thread;
+
+        private Subscriber(SseEmitter emitter, Predicate<AuditLogResponse> filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        private void run(long position) {
+            long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+            try {
+                long next = position;
+                if (next < 0 || next < oldest()) {
+                    gapCounter.increment();
+                    emitter.send(SseEmitter.event().name(GAP_EVENT)
+                        .data(Map.of("message", "Events were missed; fetch them from the stored audit log")));
+                    next = Math.max(next, oldest());
+                }
+                while (!closed) {
+                    List<Entry> entries = read(next, heartbeatNanos);
+                    if (entries.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment(""));
+                        continue;
+                    }
+                    if (head.get() - next > properties.getMaxLag() || entries.getFirst().sequence() > next) {
+                        droppedCounter.increment();
+                        emitter.send(SseEmitter.event().name(DROPPED_EVENT)
+                            .data(Map.of("lastEventId", id(next - 1))));
+                        emitter.complete();
+                        return;
+                    }
+                    for (Entry entry : entries) {
+                        if (filter.test(entry.row())) {
+                            emitter.send(SseEmitter.event()
+                                .id(id(entry.sequence()))
+                                .name(AUDIT_EVENT)
+                                .data(entry.row(), MediaType.APPLICATION_JSON));
+                        }
+                        next = entry.sequence() + 1;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the stream already ended
+                log.debug("Audit tail subscriber closed: {}", e.getMessage());
+            } finally {
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            subscribers.remove(this);
+            Thread current = thread;
+            if (current != null && current != Thread.currentThread()) {
+                current.interrupt();
+            }
+        }
+    }
+}
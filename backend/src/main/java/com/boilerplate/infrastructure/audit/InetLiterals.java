@@ -0,0 +1,95 @@
+package com.boilerplate.infrastructure.audit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.regex.Pattern;
+
+/**
+ * Checks IP address literals for the {@code inet} column without ever resolving a host name.
+ *
+ * IPv6 literals come back in PostgreSQL's text form, so the tail and the archive, which compare
+ * addresses as strings, match {@code 2001:0db8::1} against the {@code 2001:db8::1} the database returns.
+ */
+public final class InetLiterals {
+
+    private static final Pattern IPV4 = Pattern.compile(
+        "((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)");
+    private static final Pattern IPV6_CHARACTERS = Pattern.compile("[0-9A-Fa-f:][0-9A-Fa-f:.]{1,44}");
+
+    private InetLiterals() {
+    }
+
+    /** The trimmed IPv4 or canonical IPv6 address if the value is such a literal, otherwise null. */
+    public static String normalize(String value) {
+        if (value == null) {
+            return null;
+        }
+        String address = value.trim();
+        if (IPV4.matcher(address).matches()) {
+            return address;
+        }
+        // With a colon InetAddress parses the value as an IPv6 literal instead of looking it up
+        if (address.indexOf(':') < 0 || !IPV6_CHARACTERS.matcher(address).matches()) {
+            return null;
+        }
+        try {
+            return canonicalIpv6(InetAddress.getByName(address));
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lower-case hex groups without leading zeros, the first longest run of two or more zero groups
+     * written as ::, and the last 32 bits dotted for IPv4-compatible and IPv4-mapped addresses.
+     */
+    private static String canonicalIpv6(InetAddress address) {
+        if (address.getAddress().length == 4) {
+            // InetAddress unwraps an IPv4-mapped literal to the IPv4 address
+            return "::ffff:" + address.getHostAddress();
+        }
+        byte[] bytes = address.getAddress();
+        int[] groups = new int[8];
+        for (int i = 0; i < groups.length; i++) {
+            groups[i] = (bytes[2 * i] & 0xff) << 8 | bytes[2 * i + 1] & 0xff;
+        }
+
+        int zerosStart = -1;
+        int zerosLength = 1;
+        for (int i = 0; i < groups.length; i++) {
+            int end = i;
+            while (end < groups.length && groups[end] == 0) {
+                end++;
+            }
+            if (end - i > zerosLength) {
+                zerosStart = i;
+                zerosLength = end - i;
+            }
+            i = end;
+        }
+        boolean embeddedIpv4 = zerosStart == 0
+            && (zerosLength == 6 || zerosLength == 5 && groups[5] == 0xffff);
+
+        StringBuilder text = new StringBuilder();
+        int hexGroups = embeddedIpv4 ? 6 : 8;
+        for (int i = 0; i < hexGroups; i++) {
+            if (i == zerosStart) {
+                text.append("::");
+                i += zerosLength - 1;
+                continue;
+            }
+            if (!text.isEmpty() && text.charAt(text.length() - 1) != ':') {
+                text.append(':');
+            }
+            text.append(Integer.toHexString(groups[i]));
+        }
+        if (embeddedIpv4) {
+            if (text.charAt(text.length() - 1) != ':') {
+                text.append(':');
+            }
+            text.append(bytes[12] & 0xff).append('.').append(bytes[13] & 0xff).append('.')
+                .append(bytes[14] & 0xff).append('.').append(bytes[15] & 0xff);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,29 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "access-log")
+@Getter
+@Setter
+public class AccessLogProperties {
+
+    /** Fraction of requests (0-1) whose bodies are logged; 0 disables body capture. */
+    private double bodySampleRate = 0;
+
+    /** Bytes of each body kept for the log; the rest streams through without being copied. */
+    private int maxBodyBytes = 2048;
+
+    /** Never captured, whatever the sample rate. */
+    private List<String> bodyExcludedPaths = new ArrayList<>(List.of("/api/auth/**"));
+
+    /** JSON string fields whose values are masked in captured bodies. */
+    private List<String> redactedFields = new ArrayList<>(
+        List.of("password", "accessToken", "refreshToken"));
+}
@@ -0,0 +1,202 @@
+package com.boilerplate.infrastructure.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests in flight at a limit that follows observed latency.
+ *
+ * Each completed request compares its latency with a slow-moving baseline. While latency stays within
+ * {@code latencyTolerance} of the baseline the limit grows by roughly its square root; once requests
+ * start queueing (for example for a database connection) latency rises and the limit shrinks in
+ * proportion, down to {@code minLimit}. Requests beyond the limit are rejected immediately instead of
+ * waiting for a pool timeout.
+ *
+ * Lower priorities may only use part of the limit, so batch work is shed first, then interactive
+ * requests, and authentication keeps the remaining headroom. Only interactive requests feed the
+ * latency estimate: login time is dominated by BCrypt and batch time by batch size, so neither says
+ * much about queueing.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        AUTH,
+        INTERACTIVE,
+        BATCH
+    }
+
+    private final ConcurrencyLimitProperties properties;
+    private final List<PathPattern> excludedPaths;
+    private final List<PathPattern> authPaths;
+    private final List<PathPattern> batchPaths;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Priority, Counter> droppedCounters = new EnumMap<>(Priority.class);
+
+    private volatile double limit;
+    private double baselineRttNanos;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.excludedPaths = parse(properties.getExcludedPaths());
+        this.authPaths = parse(properties.getAuthPaths());
+        this.batchPaths = parse(properties.getBatchPaths());
+        this.limit = properties.getInitialLimit();
+
+        Gauge.builder("concurrency.limit", this, l -> l.limit)
+            .description("Current adaptive concurrency limit")
+            .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inFlight, AtomicInteger::get)
+            .description("Requests currently holding a concurrency permit")
+            .register(meterRegistry);
+        for (Priority priority : Priority.values()) {
+            droppedCounters.put(priority, Counter.builder("concurrency.dropped")
+                .description("Requests rejected with 503 because the concurrency limit was reached")
+                .tag("priority", priority.name().toLowerCase())
+                .register(meterRegistry));
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return the request's priority, or empty if it is not subject to the limit
+     */
+    public Optional<Priority> classify(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(
+            request.getRequestURI().substring(request.getContextPath().length()));
+        if (matchesAny(excludedPaths, path)) {
+            return Optional.empty();
+        }
+        if (matchesAny(authPaths, path)) {
+            return Optional.of(Priority.AUTH);
+        }
+        if (matchesAny(batchPaths, path)) {
+            return Optional.of(Priority.BATCH);
+        }
+        return Optional.of(Priority.INTERACTIVE);
+    }
+
+    /**
+     * @return a permit to release when the request completes, or empty if the request should be shed
+     */
+    public Optional<Permit> tryAcquire(Priority priority) {
+        int allowed = Math.max(1, (int) (limit * share(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                droppedCounters.get(priority).increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return Optional.of(new Permit(priority, current + 1));
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getRetryAfterSeconds() {
+        return properties.getRetryAfterSeconds();
+    }
+
+    synchronized void recordSample(long rttNanos, int inFlightAtStart) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rttNanos;
+            return;
+        }
+        baselineRttNanos += (rttNanos - baselineRttNanos) / properties.getBaselineWindow();
+
+        // After a long slowdown the baseline itself has crept up; let it recover so the limit can grow back
+        if (baselineRttNanos > 2 * rttNanos) {
+            baselineRttNanos *= 0.95;
+        }
+
+        // Only adjust while the limit is actually being exercised
+        double current = limit;
+        if (inFlightAtStart < current / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5,
+            Math.min(1.0, properties.getLatencyTolerance() * baselineRttNanos / rttNanos));
+        double estimate = current * gradient + Math.sqrt(current);
+        double smoothed = current * (1 - properties.getSmoothing()) + estimate * properties.getSmoothing();
+        limit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), smoothed));
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case AUTH -> 1.0;
+            case INTERACTIVE -> properties.getInteractiveShare();
+            case BATCH -> properties.getBatchShare();
+        };
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(List<String> patterns) {
+        return patterns.stream().map(PathPatternParser.defaultInstance::parse).toList();
+    }
+
+    public final class Permit {
+
+        private final long startNanos = System.nanoTime();
+        private final Priority priority;
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(Priority priority, int inFlightAtStart) {
+            this.priority = priority;
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        /** Releases the permit and feeds the request latency into the limit. Later calls do nothing. */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+                if (priority == Priority.INTERACTIVE) {
+                    recordSample(System.nanoTime() - startNanos, inFlightAtStart);
+                }
+            }
+        }
+
+        /**
+         * Releases the permit without a latency sample, e.g. for async requests, whose duration says
+         * more about the client than the server. Later calls do nothing.
+         */
+        public void releaseWithoutSample() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.archive")
+@Getter
+@Setter
+public class AuditArchiveProperties {
+
+    /** Move old months out of audit_logs into compressed segment files. */
+    private boolean enabled = false;
+
+    /**
+     * Where segments are written and read from. Every instance serving audit searches must see the
+     * same directory, so use shared storage when running more than one.
+     */
+    private Path directory = Path.of("data/audit-archive");
+
+    /** Full months kept in the database before the current one; older months are archived. */
+    private int hotMonths = 12;
+
+    /**
+     * Rows per compressed block. A search decompresses whole blocks, so smaller blocks mean less
+     * work per lookup and a larger index.
+     */
+    private int blockRows = 4096;
+
+    /**
+     * Most blocks one archive search decompresses. A scroll that reaches it returns the rows found
+     * so far with a cursor to continue from, so no request has to read the whole archive.
+     */
+    private int maxBlocksPerSearch = 64;
+
+    /** Rows fetched per round trip while a month is read for archiving. */
+    private int fetchSize = 1000;
+
+    /** When archiving runs. */
+    private String cron = "0 0 3 * * *";
+}
@@ -0,0 +1,40 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.audit.AuditDictionary;
+import com.boilerplate.infrastructure.audit.AuditLogExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AuditExportConfig {
+
+    /**
+     * Exports hold a connection for as long as the client keeps reading, so they get their own pool
+     * on the application database. It keeps no idle connections and its size caps concurrent exports.
+     */
+    @Bean(destroyMethod = "close")
+    public AuditLogExporter auditLogExporter(
+        DataSourceProperties dataSourceProperties,
+        AuditExportProperties exportProperties,
+        ObjectMapper objectMapper,
+        AuditDictionary auditDictionary,
+        DatabaseDialect databaseDialect,
+        MeterRegistry meterRegistry
+    ) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("audit-export");
+        dataSource.setMaximumPoolSize(exportProperties.getPoolSize());
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(exportProperties.getConnectionTimeout().toMillis());
+
+        return new AuditLogExporter(dataSource, exportProperties, objectMapper.getFactory(), auditDictionary,
+            databaseDialect, meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.export")
+@Getter
+@Setter
+public class AuditExportProperties {
+
+    /**
+     * Connections in the dedicated export pool, i.e. how many exports may run at once. Kept apart
+     * from the application pool so long-running exports cannot starve regular requests.
+     */
+    private int poolSize = 2;
+
+    /** How long an export waits for a free connection before it is rejected with a 503. */
+    private Duration connectionTimeout = Duration.ofSeconds(2);
+
+    /** Rows the driver fetches per round trip; this, not the export size, bounds memory use. */
+    private int fetchSize = 1000;
+
+    /** Value of the Retry-After header sent when every export connection is busy. */
+    private int retryAfterSeconds = 30;
+}
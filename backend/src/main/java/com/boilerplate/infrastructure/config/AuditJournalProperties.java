@@ -0,0 +1,41 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.journal")
+@Getter
+@Setter
+public class AuditJournalProperties {
+
+    /** Route audit events through the local write-ahead journal instead of the in-memory queue. */
+    private boolean enabled = false;
+
+    /** Directory holding journal segments and the shipper checkpoint; must survive restarts. */
+    private Path directory = Path.of("data", "audit-journal");
+
+    /** Size of each memory-mapped segment file; a new one is started when the current one is full. */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /** Maximum events per INSERT batch when shipping the journal to the database. */
+    private int batchSize = 500;
+
+    /** How long the shipper sleeps when it has caught up with the journal. */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** How often appended records are forced to disk; page cache already survives a process crash. */
+    private Duration forceInterval = Duration.ofSeconds(1);
+
+    /** Upper bound for the retry backoff while the database is unavailable. */
+    private Duration maxRetryBackoff = Duration.ofSeconds(30);
+
+    /** How long shutdown keeps shipping; whatever is left is shipped after the next start. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
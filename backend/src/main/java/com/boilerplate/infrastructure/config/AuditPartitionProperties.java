@@ -0,0 +1,27 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.partitions")
+@Getter
+@Setter
+public class AuditPartitionProperties {
+
+    /** Create upcoming monthly partitions and apply retention (PostgreSQL only). */
+    private boolean enabled = true;
+
+    /** Months after the current one whose partitions are created ahead of time. */
+    private int monthsAhead = 3;
+
+    /**
+     * Full months kept before the current one; older partitions are dropped. 0 keeps everything.
+     */
+    private int retentionMonths = 0;
+
+    /** When maintenance runs, in addition to once at startup. */
+    private String cron = "0 30 2 * * *";
+}
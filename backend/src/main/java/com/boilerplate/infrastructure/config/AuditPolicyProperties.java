@@ -0,0 +1,51 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.policy")
+@Getter
+@Setter
+public class AuditPolicyProperties {
+
+    /** Policies by action name; actions not listed are always recorded. */
+    private Map<String, ActionPolicy> actions = new HashMap<>();
+
+    /** How often coalescing windows that have ended are written out. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** Open coalescing windows kept at most; beyond that, events are recorded one by one. */
+    private int maxPendingKeys = 10_000;
+
+    public enum Mode {
+        /** Every event becomes a row. */
+        ALWAYS,
+        /** A random sample-percent of the events becomes a row. */
+        SAMPLE,
+        /**
+         * Identical (user, action, resource) events within a window: the first becomes a row at once,
+         * the rest one row with their count when the window ends.
+         */
+        COALESCE
+    }
+
+    @Getter
+    @Setter
+    public static class ActionPolicy {
+
+        private Mode mode = Mode.ALWAYS;
+
+        /** Share of events recorded in SAMPLE mode, 0-100; each recorded row counts 100 / sample-percent events. */
+        private int samplePercent = 100;
+
+        /** In COALESCE mode, how long after its first event the row of the rest is written. */
+        private Duration window = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,36 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.tail")
+@Getter
+@Setter
+public class AuditTailProperties {
+
+    /** Most recent events kept in memory; a reconnecting subscriber can resume within them. */
+    private int capacity = 4096;
+
+    /**
+     * Events a subscriber may fall behind before it is dropped. Kept below the capacity so the
+     * resume token it is dropped with still points into the buffer for a while.
+     */
+    private int maxLag = 1024;
+
+    /** Subscribers connected at once; further ones are rejected with a 503. */
+    private int maxSubscribers = 500;
+
+    /** How long one stream lasts; clients reconnect with Last-Event-ID and permissions are checked again. */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /** Comment sent to an idle stream so proxies keep it open and closed clients are noticed. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** Value of the Retry-After header sent when the subscriber limit is reached. */
+    private int retryAfterSeconds = 30;
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "audit.writer")
+@Getter
+@Setter
+public class AuditWriterProperties {
+
+    /** Events buffered in memory before publishers have to wait. */
+    private int queueCapacity = 10_000;
+
+    /** Maximum rows per INSERT batch. */
+    private int flushSize = 500;
+
+    /** Longest an event waits for its batch to fill before being written anyway. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** How long a publisher waits for room in a full queue before the event is dropped and counted. */
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+
+    /** How long shutdown waits for the queue to drain. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,121 @@
+package com.boilerplate.infrastructure.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Passes the response body straight through while keeping a copy of its first {@code maxBytes} bytes.
+ * Unlike {@link org.springframework.web.util.ContentCachingResponseWrapper} nothing is held back, so
+ * memory use does not grow with the size of the response.
+ */
+class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+    private final ByteArrayOutputStream capture;
+    private final int maxBytes;
+    private long totalBytes;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    BodyCaptureResponseWrapper(HttpServletResponse response, int maxBytes) {
+        super(response);
+        this.maxBytes = maxBytes;
+        this.capture = new ByteArrayOutputStream(Math.min(maxBytes, 256));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(
+                new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /** Pushes anything still buffered in the writer through to the client. */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    byte[] getCapturedBody() {
+        return capture.toByteArray();
+    }
+
+    boolean isTruncated() {
+        return totalBytes > maxBytes;
+    }
+
+    private void record(byte[] bytes, int offset, int length) {
+        int room = (int) Math.max(0, maxBytes - totalBytes);
+        if (room > 0) {
+            capture.write(bytes, offset, Math.min(room, length));
+        }
+        totalBytes += length;
+    }
+
+    private class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            record(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            delegate.write(bytes, offset, length);
+            record(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "bulk-jobs")
+@Getter
+@Setter
+public class BulkJobProperties {
+
+    /** Jobs run at once on this instance; further ones wait in the queue. */
+    private int workers = 2;
+
+    /** Users per chunk; each chunk is one short transaction, so this bounds how long locks are held. */
+    private int chunkSize = 1000;
+
+    /** Most users in one job. */
+    private int maxUsers = 100_000;
+
+    /**
+     * How long a running job stays with this instance without progress. Renewed with every chunk;
+     * once it runs out, e.g. after a crash, any instance may pick the job up where it stopped.
+     */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /** How often the queue is checked for jobs that are waiting or whose lease ran out. */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /** How often a progress stream reads the job. */
+    private Duration progressInterval = Duration.ofSeconds(1);
+
+    /** Progress streams open at once on this instance; each one polls the database. */
+    private int maxStreams = 200;
+
+    /** How long one progress stream lasts before the client has to reconnect. */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /** How long shutdown waits for running chunks to commit before the jobs are handed back. */
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
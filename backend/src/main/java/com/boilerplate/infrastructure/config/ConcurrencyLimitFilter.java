@@ -0,0 +1,91 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Sheds load with 503 + Retry-After once {@link AdaptiveConcurrencyLimiter} is at its limit.
+ *
+ * Runs ahead of the security filter chain so a rejected request costs no token parsing or user
+ * lookup. CORS headers are added to the rejection here because the chain that normally adds them
+ * is skipped. An async request (streamed export, Server-Sent Events) gives its permit back when
+ * the first dispatch returns: a stream can stay open for its whole timeout, and the services behind
+ * those endpoints cap how many run at once themselves.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 10)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CorsConfigurationSource corsConfigurationSource;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    public ConcurrencyLimitFilter(
+        AdaptiveConcurrencyLimiter limiter,
+        CorsConfigurationSource corsConfigurationSource,
+        @Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver
+    ) {
+        this.limiter = limiter;
+        this.corsConfigurationSource = corsConfigurationSource;
+        this.handlerExceptionResolver = handlerExceptionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        Optional<AdaptiveConcurrencyLimiter.Priority> priority = limiter.isEnabled()
+            ? limiter.classify(request)
+            : Optional.empty();
+        if (priority.isEmpty()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Optional<AdaptiveConcurrencyLimiter.Permit> permit = limiter.tryAcquire(priority.get());
+        if (permit.isEmpty()) {
+            reject(request, response);
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                permit.get().releaseWithoutSample();
+            } else {
+                permit.get().release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!corsProcessor.processRequest(corsConfigurationSource.getCorsConfiguration(request), request, response)) {
+            return;
+        }
+        handlerExceptionResolver.resolveException(request, response, null, new ServiceOverloadedException(
+            "Server is busy. Please try again shortly.",
+            limiter.getRetryAfterSeconds()
+        ));
+    }
+}
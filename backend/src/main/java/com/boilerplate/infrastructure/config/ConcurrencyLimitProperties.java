@@ -0,0 +1,55 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "concurrency-limit")
+@Getter
+@Setter
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private int initialLimit = 20;
+
+    private int minLimit = 4;
+
+    private int maxLimit = 200;
+
+    /** How far the limit moves towards each new estimate (0-1). */
+    private double smoothing = 0.2;
+
+    /** Latency may grow to this multiple of the long-term average before the limit starts shrinking. */
+    private double latencyTolerance = 1.5;
+
+    /** Number of samples averaged into the long-term latency baseline. */
+    private int baselineWindow = 600;
+
+    /** Fraction of the limit that interactive requests may occupy; the rest is held back for auth. */
+    private double interactiveShare = 0.9;
+
+    /** Fraction of the limit that batch requests may occupy, so they are shed first. */
+    private double batchShare = 0.5;
+
+    /** Value of the Retry-After header sent with a 503. */
+    private int retryAfterSeconds = 1;
+
+    /** Login, refresh and registration: never shed while any capacity remains. */
+    private List<String> authPaths = new ArrayList<>(List.of("/api/auth/**"));
+
+    /**
+     * Bulk and export operations, and the live audit tail. Streams only hold their permit until the
+     * first dispatch returns; how many stay open is capped by the tail and bulk job services.
+     */
+    private List<String> batchPaths = new ArrayList<>(List.of(
+        "/api/users/bulk/**", "/api/audit-logs/export", "/api/audit-logs/archive/**", "/api/audit-logs/tail"));
+
+    /** Not limited at all, e.g. load balancer health checks. */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**"));
+}
@@ -0,0 +1,203 @@
+package com.boilerplate.infrastructure.config;
+
+import io.github.bucket4j.BucketExceptions;
+import io.github.bucket4j.distributed.ExpirationAfterWriteStrategy;
+import io.github.bucket4j.distributed.proxy.ClientSideConfig;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.AbstractSelectForUpdateBasedProxyManager;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.LockAndGetResult;
+import io.github.bucket4j.distributed.proxy.generic.select_for_update.SelectForUpdateBasedTransaction;
+import io.github.bucket4j.distributed.remote.RemoteBucketState;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores bucket state in the rate_limit_buckets table so every replica draws from the same buckets.
+ *
+ * Same row-locking protocol as Bucket4j's PostgreSQL select-for-update manager, plus an expires_at
+ * column set to the moment the bucket would be full again. Rows past that point carry no information
+ * and are removed by {@link #removeExpired()}.
+ *
+ * JDBC query timeouts are whole seconds, so a 250ms request timeout would wait a full second on a
+ * row another replica holds. Each transaction therefore also sets a lock timeout in milliseconds;
+ * the query timeout stays as the backstop for statements that are slow for other reasons.
+ */
+public class JdbcBucketProxyManager extends AbstractSelectForUpdateBasedProxyManager<String>
+    implements AutoCloseable {
+
+    private static final String SELECT_SQL = "SELECT state FROM rate_limit_buckets WHERE bucket_key = ? FOR UPDATE";
+    private static final String INSERT_SQL = "INSERT INTO rate_limit_buckets (bucket_key, state, expires_at)"
+        + " VALUES (?, NULL, ?) ON CONFLICT DO NOTHING";
+    private static final String UPDATE_SQL =
+        "UPDATE rate_limit_buckets SET state = ?, expires_at = ? WHERE bucket_key = ?";
+    private static final String DELETE_SQL = "DELETE FROM rate_limit_buckets WHERE bucket_key = ?";
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM rate_limit_buckets WHERE expires_at < ?";
+
+    private final DataSource dataSource;
+    private final ExpirationAfterWriteStrategy expiration =
+        ExpirationAfterWriteStrategy.basedOnTimeForRefillingBucketUpToMax(Duration.ZERO);
+    private volatile Boolean postgresql;
+
+    public JdbcBucketProxyManager(DataSource dataSource, Duration requestTimeout) {
+        super(ClientSideConfig.getDefault().withRequestTimeout(requestTimeout));
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    protected SelectForUpdateBasedTransaction allocateTransaction(String key, Optional<Long> requestTimeoutNanos) {
+        Connection connection;
+        try {
+            connection = dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+        return new RowLockTransaction(connection, key);
+    }
+
+    @Override
+    public void removeProxy(String key) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_SQL)) {
+            statement.setString(1, key);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+
+    /**
+     * Deletes buckets that have been idle long enough to refill completely.
+     *
+     * @return number of rows removed
+     */
+    public int removeExpired() {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_EXPIRED_SQL)) {
+            statement.setLong(1, System.currentTimeMillis());
+            return statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new BucketExceptions.BucketExecutionException(e);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (dataSource instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /** PostgreSQL scopes the setting to the transaction; H2 (dev profile and unit tests) to the session. */
+    private void applyLockTimeout(Connection connection, Optional<Long> requestTimeoutNanos) throws SQLException {
+        if (requestTimeoutNanos.isEmpty()) {
+            return;
+        }
+        // zero would disable the timeout on PostgreSQL
+        long timeoutMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(requestTimeoutNanos.get()));
+        if (postgresql == null) {
+            postgresql = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(postgresql
+                ? "SET LOCAL lock_timeout = " + timeoutMillis
+                : "SET LOCK_TIMEOUT " + timeoutMillis);
+        }
+    }
+
+    private class RowLockTransaction implements SelectForUpdateBasedTransaction {
+
+        private final Connection connection;
+        private final String key;
+
+        RowLockTransaction(Connection connection, String key) {
+            this.connection = connection;
+            this.key = key;
+        }
+
+        @Override
+        public void begin(Optional<Long> requestTimeoutNanos) {
+            try {
+                connection.setAutoCommit(false);
+                applyLockTimeout(connection, requestTimeoutNanos);
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public LockAndGetResult tryLockAndGet(Optional<Long> requestTimeoutNanos) {
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_SQL)) {
+                applyTimeout(statement, requestTimeoutNanos);
+                statement.setString(1, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next()
+                        ? LockAndGetResult.locked(resultSet.getBytes("state"))
+                        : LockAndGetResult.notLocked();
+                }
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public boolean tryInsertEmptyData(Optional<Long> requestTimeoutNanos) {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+                applyTimeout(statement, requestTimeoutNanos);
+                statement.setString(1, key);
+                statement.setLong(2, System.currentTimeMillis());
+                return statement.executeUpdate() > 0;
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void update(byte[] data, RemoteBucketState newState, Optional<Long> requestTimeoutNanos) {
+            long nowMillis = System.currentTimeMillis();
+            long ttlMillis = expiration.calculateTimeToLiveMillis(newState, nowMillis * 1_000_000L);
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_SQL)) {
+                applyTimeout(statement, requestTimeoutNanos);
+                statement.setBytes(1, data);
+                statement.setLong(2, nowMillis + ttlMillis);
+                statement.setString(3, key);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void commit(Optional<Long> requestTimeoutNanos) {
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void rollback() {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+
+        @Override
+        public void release() {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                throw new BucketExceptions.BucketExecutionException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.boilerplate.infrastructure.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Adds {@code jsonb_contains(document, fragment)} to queries, e.g. for
+ * {@code AuditLogSpecification.metadataContains}.
+ *
+ * On PostgreSQL it is rendered as the {@code @>} operator, because only the operator can use a GIN
+ * index; calling the function of the same name would scan every row. Elsewhere (H2) it calls the
+ * {@code jsonb_contains} alias created by V28. Registered in META-INF/services.
+ */
+public class JsonbFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+            ? "(?1 @> CAST(?2 AS jsonb))"
+            : "jsonb_contains(?1, ?2)";
+        functionContributions.getFunctionRegistry()
+            .patternDescriptorBuilder("jsonb_contains", pattern)
+            .setExactArgumentCount(2)
+            .setInvariantType(functionContributions.getTypeConfiguration()
+                .getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN))
+            .register();
+    }
+}
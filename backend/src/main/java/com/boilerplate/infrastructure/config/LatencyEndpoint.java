@@ -0,0 +1,102 @@
+package com.boilerplate.infrastructure.config;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/latency}: percentiles and max for every timer that publishes percentiles
+ * (see {@code management.metrics.distribution.percentiles}), slowest first.
+ *
+ * Percentiles and max cover the sliding window set by {@code management.metrics.distribution.expiry};
+ * count is cumulative since startup.
+ */
+@Component
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public Map<String, List<TimerLatency>> latency() {
+        Map<String, List<TimerLatency>> result = new TreeMap<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            if (!(meter instanceof Timer timer)) {
+                continue;
+            }
+            summarize(timer).ifPresent(summary ->
+                result.computeIfAbsent(timer.getId().getName(), name -> new ArrayList<>()).add(summary));
+        }
+        result.values().forEach(LatencyEndpoint::sortSlowestFirst);
+        return result;
+    }
+
+    @ReadOperation
+    public List<TimerLatency> latencyFor(@Selector String name) {
+        List<TimerLatency> result = new ArrayList<>();
+        for (Timer timer : meterRegistry.find(name).timers()) {
+            summarize(timer).ifPresent(result::add);
+        }
+        sortSlowestFirst(result);
+        return result;
+    }
+
+    private static Optional<TimerLatency> summarize(Timer timer) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        ValueAtPercentile[] percentiles = snapshot.percentileValues();
+        if (percentiles.length == 0) {
+            return Optional.empty();
+        }
+
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (Tag tag : timer.getId().getTags()) {
+            tags.put(tag.getKey(), tag.getValue());
+        }
+        Map<String, Double> percentilesMs = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : percentiles) {
+            percentilesMs.put(label(percentile.percentile()), round(percentile.value(TimeUnit.MILLISECONDS)));
+        }
+        return Optional.of(new TimerLatency(
+            tags, snapshot.count(), percentilesMs, round(snapshot.max(TimeUnit.MILLISECONDS))));
+    }
+
+    private static void sortSlowestFirst(List<TimerLatency> timers) {
+        timers.sort(Comparator.comparingDouble(TimerLatency::slowest).reversed());
+    }
+
+    // 0.5 -> p50, 0.99 -> p99, 0.999 -> p999
+    private static String label(double percentile) {
+        String digits = BigDecimal.valueOf(percentile).movePointRight(2).stripTrailingZeros().toPlainString();
+        return "p" + digits.replace(".", "");
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1000) / 1000.0;
+    }
+
+    public record TimerLatency(Map<String, String> tags, long count, Map<String, Double> percentilesMs, double maxMs) {
+
+        private double slowest() {
+            return percentilesMs.values().stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        }
+    }
+}
@@ -5,20 +5,52 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static net.logstash.logback.argument.StructuredArguments.v;
+
+/**
+ * Logs one line per request without buffering the request or response.
+ *
+ * Bodies are only captured for the sampled fraction of requests configured in {@link AccessLogProperties},
+ * and then only their first {@code maxBodyBytes}; everything else streams through untouched.
+ */
 @Component
 @Slf4j
 public class LoggingFilter extends OncePerRequestFilter {
 
+    private static final String REDACTED = "\"$1\":\"***\"";
+
+    private final AccessLogProperties properties;
+    private final List<PathPattern> bodyExcludedPaths;
+    private final Pattern redactedFields;
+
+    public LoggingFilter(AccessLogProperties properties) {
+        this.properties = properties;
+        this.bodyExcludedPaths = properties.getBodyExcludedPaths().stream()
+            .map(PathPatternParser.defaultInstance::parse)
+            .toList();
+        this.redactedFields = properties.getRedactedFields().isEmpty() ? null : Pattern.compile(
+            properties.getRedactedFields().stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|", "\"(", ")\"\\s*:\\s*\"(?:[^\"\\\\]|\\\\.)*(?:\"|$)")));
+    }
+
     @Override
     protected void doFilterInternal(
         @NonNull HttpServletRequest request,
@@ -26,31 +58,55 @@ public class LoggingFilter extends OncePerRequestFilter {
         @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        long startNanos = System.nanoTime();
 
-        long startTime = System.currentTimeMillis();
+        if (!shouldCaptureBody(request)) {
+            filterChain.doFilter(request, response);
+            logRequest(request, response.getStatus(), startNanos);
+            return;
+        }
 
-        filterChain.doFilter(requestWrapper, responseWrapper);
+        ContentCachingRequestWrapper requestWrapper =
+            new ContentCachingRequestWrapper(request, properties.getMaxBodyBytes());
+        BodyCaptureResponseWrapper responseWrapper =
+            new BodyCaptureResponseWrapper(response, properties.getMaxBodyBytes());
 
-        long duration = System.currentTimeMillis() - startTime;
+        filterChain.doFilter(requestWrapper, responseWrapper);
+        responseWrapper.flushWriter();
 
-        logRequestResponse(requestWrapper, responseWrapper, duration);
+        logRequest(request, responseWrapper.getStatus(), startNanos);
+        logBodies(requestWrapper, responseWrapper);
+    }
 
-        responseWrapper.copyBodyToResponse();
+    private boolean shouldCaptureBody(HttpServletRequest request) {
+        double sampleRate = properties.getBodySampleRate();
+        if (sampleRate <= 0 || properties.getMaxBodyBytes() <= 0 || !log.isInfoEnabled()) {
+            return false;
+        }
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        PathContainer path = PathContainer.parsePath(
+            request.getRequestURI().substring(request.getContextPath().length()));
+        for (PathPattern pattern : bodyExcludedPaths) {
+            if (pattern.matches(path)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private void logRequestResponse(
-        ContentCachingRequestWrapper request,
-        ContentCachingResponseWrapper response,
-        long duration
-    ) {
-        String method = request.getMethod();
-        String uri = request.getRequestURI();
-        int status = response.getStatus();
+    private void logRequest(HttpServletRequest request, int status, long startNanos) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
 
         log.info("HTTP {} {} - Status: {} - Duration: {}ms",
-            method, uri, status, duration);
+            v("method", request.getMethod()),
+            v("uri", request.getRequestURI()),
+            v("status", status),
+            v("durationMs", duration));
 
         if (log.isDebugEnabled()) {
             String headers = Collections.list(request.getHeaderNames()).stream()
@@ -60,4 +116,21 @@ public class LoggingFilter extends OncePerRequestFilter {
             log.debug("Request Headers: {}", headers);
         }
     }
+
+    private void logBodies(ContentCachingRequestWrapper request, BodyCaptureResponseWrapper response) {
+        log.info("HTTP {} {} - Request body: {} - Response body: {}",
+            v("method", request.getMethod()),
+            v("uri", request.getRequestURI()),
+            v("requestBody", describe(request.getContentAsByteArray(),
+                request.getContentLength() > properties.getMaxBodyBytes())),
+            v("responseBody", describe(response.getCapturedBody(), response.isTruncated())));
+    }
+
+    private String describe(byte[] body, boolean truncated) {
+        String text = new String(body, StandardCharsets.UTF_8);
+        if (redactedFields != null) {
+            text = redactedFields.matcher(text).replaceAll(REDACTED);
+        }
+        return truncated ? text + "...(truncated)" : text;
+    }
 }
@@ -0,0 +1,35 @@
+package com.boilerplate.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitBackendConfig {
+
+    /**
+     * Shared bucket store for multi-replica deployments. Uses its own small pool on the application
+     * database with a short connection timeout, so a saturated or unavailable database delays
+     * requests by at most that timeout instead of queueing them behind the application pool.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "rate-limit", name = "backend", havingValue = "jdbc")
+    public JdbcBucketProxyManager jdbcBucketProxyManager(
+        DataSourceProperties dataSourceProperties,
+        RateLimitProperties rateLimitProperties
+    ) {
+        RateLimitProperties.Jdbc jdbc = rateLimitProperties.getJdbc();
+
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("rate-limit");
+        dataSource.setMaximumPoolSize(jdbc.getPoolSize());
+        dataSource.setMinimumIdle(1);
+        dataSource.setConnectionTimeout(jdbc.getRequestTimeout().toMillis());
+
+        return new JdbcBucketProxyManager(dataSource, jdbc.getRequestTimeout());
+    }
+}
@@ -0,0 +1,272 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.infrastructure.security.UserPrincipal;
+import com.boilerplate.presentation.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.BucketExceptions;
+import io.github.bucket4j.ConfigurationBuilder;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.RemoteBucketBuilder;
+import io.github.bucket4j.distributed.proxy.optimization.DelayParameters;
+import io.github.bucket4j.distributed.proxy.optimization.Optimizations;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Token buckets for the rules in {@link RateLimitProperties}.
+ *
+ * Each rule keeps its buckets in a size-bounded cache that drops a bucket once it has been idle for
+ * the rule's longest period. By then it would have refilled completely, so recreating it later does
+ * not hand out extra tokens, and keys that stop sending requests (scanners, rotating IPv6 addresses)
+ * do not accumulate.
+ *
+ * With the JDBC backend the cached objects are proxies to rows shared by all replicas. Each proxy
+ * consumes a few tokens locally before writing back, so most requests never touch the database.
+ * If the database cannot be reached in time the request is let through rather than failed.
+ */
+@Component
+@Slf4j
+public class RateLimitBucketStore {
+
+    private static final int MAX_STORAGE_KEY_LENGTH = 255;
+
+    private final List<CompiledRule> rules;
+    private final JdbcBucketProxyManager jdbcProxyManager;
+    private final Counter backendErrors;
+
+    public RateLimitBucketStore(
+        RateLimitProperties properties,
+        MeterRegistry meterRegistry,
+        ObjectProvider<JdbcBucketProxyManager> jdbcProxyManager
+    ) {
+        this.jdbcProxyManager = jdbcProxyManager.getIfAvailable();
+        this.rules = properties.isEnabled()
+            ? properties.getRules().stream()
+                .map(rule -> compile(rule, properties, meterRegistry))
+                .toList()
+            : List.of();
+        this.backendErrors = Counter.builder("rate.limit.backend.errors")
+            .description("Requests let through because the shared bucket store could not be reached")
+            .register(meterRegistry);
+        log.info("Rate limiting {} with {} rule(s) on the {} backend",
+            properties.isEnabled() ? "enabled" : "disabled", rules.size(),
+            this.jdbcProxyManager != null ? "JDBC" : "LOCAL");
+    }
+
+    /**
+     * Consumes a token from the bucket of the first rule matching the request.
+     *
+     * @throws RateLimitExceededException if that bucket is empty
+     */
+    public void checkLimit(HttpServletRequest request) {
+        if (rules.isEmpty()) {
+            return;
+        }
+
+        PathContainer path = PathContainer.parsePath(
+            request.getRequestURI().substring(request.getContextPath().length()));
+        for (CompiledRule rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                consume(rule, request);
+                return;
+            }
+        }
+    }
+
+    private void consume(CompiledRule rule, HttpServletRequest request) {
+        Bucket bucket = rule.buckets().get(clientKey(rule.key(), request), rule.bucketFactory());
+        ConsumptionProbe probe;
+        try {
+            probe = bucket.tryConsumeAndReturnRemaining(1);
+        } catch (BucketExceptions.BucketExecutionException e) {
+            backendErrors.increment();
+            log.warn("Rate limit backend unavailable, allowing request: {}", e.getMessage());
+            return;
+        }
+        if (!probe.isConsumed()) {
+            rule.throttled().increment();
+            throw new RateLimitExceededException(rule.message(), retryAfterSeconds(probe));
+        }
+    }
+
+    private static long retryAfterSeconds(ConsumptionProbe probe) {
+        long waitNanos = probe.getNanosToWaitForRefill();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.jdbc.cleanup-interval:10m}")
+    public void removeExpiredBuckets() {
+        if (jdbcProxyManager == null) {
+            return;
+        }
+        try {
+            int removed = jdbcProxyManager.removeExpired();
+            log.debug("Removed {} expired rate limit buckets", removed);
+        } catch (BucketExceptions.BucketExecutionException e) {
+            log.warn("Failed to remove expired rate limit buckets: {}", e.getMessage());
+        }
+    }
+
+    private String clientKey(RateLimitProperties.KeyType keyType, HttpServletRequest request) {
+        return switch (keyType) {
+            case IP -> "ip:" + getClientIp(request);
+            case USER -> {
+                Long userId = currentUserId();
+                yield userId != null ? "user:" + userId : "ip:" + getClientIp(request);
+            }
+            case IP_AND_USER -> "ip:" + getClientIp(request) + "|user:" + currentUserId();
+        };
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getUser().getId();
+        }
+        return null;
+    }
+
+    private String getClientIp(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
+            return xForwardedFor.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+
+    private CompiledRule compile(
+        RateLimitProperties.Rule rule,
+        RateLimitProperties properties,
+        MeterRegistry meterRegistry
+    ) {
+        if (!StringUtils.hasText(rule.getName()) || !StringUtils.hasText(rule.getPath())
+                || rule.getLimits().isEmpty()) {
+            throw new IllegalStateException(
+                "Rate limit rule '" + rule.getName() + "' needs a name, a path and at least one limit");
+        }
+
+        ConfigurationBuilder configurationBuilder = BucketConfiguration.builder();
+        rule.getLimits().forEach(limit -> configurationBuilder.addLimit(Bandwidth.builder()
+            .capacity(limit.getCapacity())
+            .refillIntervally(limit.getCapacity(), limit.getPeriod())
+            .build()));
+        BucketConfiguration configuration = configurationBuilder.build();
+        Duration idleExpiry = rule.getLimits().stream()
+            .map(RateLimitProperties.Limit::getPeriod)
+            .max(Comparator.naturalOrder())
+            .orElseThrow();
+
+        Cache<String, Bucket> buckets = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxBucketsPerRule())
+            .expireAfterAccess(idleExpiry)
+            .build();
+
+        Gauge.builder("rate.limit.buckets", buckets, Cache::estimatedSize)
+            .description("Token buckets currently held in memory")
+            .tag("rule", rule.getName())
+            .register(meterRegistry);
+        Counter throttled = Counter.builder("rate.limit.throttled")
+            .description("Requests rejected with 429")
+            .tag("rule", rule.getName())
+            .register(meterRegistry);
+
+        return new CompiledRule(
+            StringUtils.hasText(rule.getMethod()) ? rule.getMethod() : null,
+            PathPatternParser.defaultInstance.parse(rule.getPath()),
+            rule.getKey(),
+            rule.getMessage(),
+            bucketFactory(rule, configuration, properties.getJdbc()),
+            buckets,
+            throttled
+        );
+    }
+
+    private Function<String, Bucket> bucketFactory(
+        RateLimitProperties.Rule rule,
+        BucketConfiguration configuration,
+        RateLimitProperties.Jdbc jdbc
+    ) {
+        if (jdbcProxyManager == null) {
+            return key -> {
+                LocalBucketBuilder builder = Bucket.builder();
+                for (Bandwidth bandwidth : configuration.getBandwidths()) {
+                    builder.addLimit(bandwidth);
+                }
+                return builder.build();
+            };
+        }
+
+        long smallestCapacity = rule.getLimits().stream()
+            .mapToLong(RateLimitProperties.Limit::getCapacity)
+            .min()
+            .orElseThrow();
+        long unsynchronizedTokens = Math.min(jdbc.getMaxUnsynchronizedTokens(), smallestCapacity / 10);
+
+        return key -> {
+            RemoteBucketBuilder<String> builder = jdbcProxyManager.builder();
+            if (unsynchronizedTokens > 0) {
+                builder = builder.withOptimization(Optimizations.delaying(
+                    new DelayParameters(unsynchronizedTokens, jdbc.getMaxUnsynchronizedTimeout())));
+            }
+            return builder.build(storageKey(rule.getName(), key), () -> configuration);
+        };
+    }
+
+    /**
+     * Client keys come partly from request headers, so long ones are hashed to fit the key column.
+     */
+    private static String storageKey(String ruleName, String clientKey) {
+        String key = ruleName + ":" + clientKey;
+        if (key.length() <= MAX_STORAGE_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ruleName + ":sha256:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record CompiledRule(
+        String method,
+        PathPattern pathPattern,
+        RateLimitProperties.KeyType key,
+        String message,
+        Function<String, Bucket> bucketFactory,
+        Cache<String, Bucket> buckets,
+        Counter throttled
+    ) {
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(requestMethod)) && pathPattern.matches(path);
+        }
+    }
+}
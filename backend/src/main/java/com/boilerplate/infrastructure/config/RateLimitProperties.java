@@ -0,0 +1,97 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** Where bucket state lives: LOCAL keeps it per replica, JDBC shares it through the database. */
+    private Backend backend = Backend.LOCAL;
+
+    private Jdbc jdbc = new Jdbc();
+
+    /** Upper bound on buckets kept per rule; the least recently used are evicted first. */
+    private long maxBucketsPerRule = 100_000;
+
+    /** Rules are matched in order and the first one that matches a request applies. */
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum Backend {
+        LOCAL,
+        JDBC
+    }
+
+    public enum KeyType {
+        /** Client IP address. */
+        IP,
+        /** Authenticated user id, falling back to the client IP for anonymous requests. */
+        USER,
+        /** Client IP and user id together. */
+        IP_AND_USER
+    }
+
+    @Getter
+    @Setter
+    public static class Rule {
+
+        private String name;
+
+        /** HTTP method to match; any method when empty. */
+        private String method;
+
+        /** Path pattern, e.g. /api/users/bulk/** */
+        private String path;
+
+        private KeyType key = KeyType.IP;
+
+        private String message = "Too many requests. Please try again later.";
+
+        /** All limits must have a token left for a request to pass. */
+        private List<Limit> limits = new ArrayList<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Limit {
+
+        /** Requests allowed per period; the bucket is refilled in full at the end of each period. */
+        private long capacity;
+
+        private Duration period;
+    }
+
+    @Getter
+    @Setter
+    public static class Jdbc {
+
+        /**
+         * Tokens a replica may consume locally before writing back to the database. Capped per rule at a
+         * tenth of its smallest capacity, so low limits such as registration are synchronized on every request.
+         */
+        private long maxUnsynchronizedTokens = 20;
+
+        /** Upper bound on how long locally consumed tokens stay unsynchronized. */
+        private Duration maxUnsynchronizedTimeout = Duration.ofSeconds(1);
+
+        /** Connections in the dedicated pool; kept apart from the application pool so limiting cannot starve it. */
+        private int poolSize = 2;
+
+        /** How long to wait for a connection or statement before letting the request through unthrottled. */
+        private Duration requestTimeout = Duration.ofMillis(250);
+
+        /** How often buckets that have refilled completely are deleted. */
+        private Duration cleanupInterval = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,69 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.infrastructure.tracing.RequestTrace;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Outermost filter: assigns the request ID (echoed as {@code X-Request-Id} and put in the MDC as
+ * {@code requestId}) and opens the {@link RequestTrace} that downstream code adds spans to.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final Pattern VALID_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    private final SlowRequestRecorder recorder;
+
+    @Override
+    protected void doFilterInternal(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String requestId = requestId(request);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        MDC.put(MDC_REQUEST_ID, requestId);
+
+        RequestTrace trace = recorder.isEnabled()
+            ? RequestTrace.begin(requestId, request.getMethod(), request.getRequestURI(), recorder.getMaxSpans())
+            : null;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_REQUEST_ID);
+            if (trace != null) {
+                recorder.offer(trace.end(response.getStatus()));
+            }
+        }
+    }
+
+    // Accept a caller-supplied ID (e.g. from a gateway) only if it is safe to log
+    private static String requestId(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_ID_HEADER);
+        if (header != null && VALID_REQUEST_ID.matcher(header).matches()) {
+            return header;
+        }
+        return UUID.randomUUID().toString();
+    }
+}
@@ -0,0 +1,86 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.infrastructure.tracing.RequestTrace;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Splits a traced request into {@code filters} (everything before the handler, including
+ * authentication), {@code handler} and {@code serialization} spans.
+ */
+@ControllerAdvice
+public class RequestTraceInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object>, WebMvcConfigurer {
+
+    private static final String HANDLER_START = RequestTraceInterceptor.class.getName() + ".handlerStart";
+    private static final String SERIALIZATION_START = RequestTraceInterceptor.class.getName() + ".serializationStart";
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public boolean preHandle(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler
+    ) {
+        RequestTrace.recordSinceStart("filters");
+        request.setAttribute(HANDLER_START, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public boolean supports(
+        @NonNull MethodParameter returnType,
+        @NonNull Class<? extends HttpMessageConverter<?>> converterType
+    ) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+        Object body,
+        @NonNull MethodParameter returnType,
+        @NonNull MediaType selectedContentType,
+        @NonNull Class<? extends HttpMessageConverter<?>> selectedConverterType,
+        @NonNull ServerHttpRequest request,
+        @NonNull ServerHttpResponse response
+    ) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest servlet = servletRequest.getServletRequest();
+            if (servlet.getAttribute(HANDLER_START) instanceof Long handlerStart
+                && servlet.getAttribute(SERIALIZATION_START) == null) {
+                RequestTrace.record("handler", handlerStart);
+                servlet.setAttribute(SERIALIZATION_START, System.nanoTime());
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public void afterCompletion(
+        @NonNull HttpServletRequest request,
+        @NonNull HttpServletResponse response,
+        @NonNull Object handler,
+        Exception ex
+    ) {
+        if (request.getAttribute(SERIALIZATION_START) instanceof Long serializationStart) {
+            RequestTrace.record("serialization", serializationStart);
+        } else if (request.getAttribute(HANDLER_START) instanceof Long handlerStart) {
+            RequestTrace.record("handler", handlerStart);
+        }
+    }
+}
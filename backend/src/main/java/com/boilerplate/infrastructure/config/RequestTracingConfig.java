@@ -0,0 +1,59 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.infrastructure.tracing.TracingSessionEventListener;
+import com.boilerplate.infrastructure.tracing.TracingStatementInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+
+@Configuration
+public class RequestTracingConfig {
+
+    /**
+     * Times every JDBC statement and connection checkout into the current request trace.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer requestTraceHibernateCustomizer(SlowRequestProperties properties) {
+        return hibernateProperties -> {
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new TracingStatementInspector());
+                hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    TracingSessionEventListener.class.getName());
+            }
+        };
+    }
+
+    /**
+     * Carries the caller's MDC (request ID) onto tasks run by the auto-configured application task
+     * executor, such as the bodies of streamed exports. Audit writes do not run there; their request
+     * ID travels with each {@code AuditRecord} instead.
+     */
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return runnable -> {
+            Map<String, String> callerContext = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                setContext(callerContext);
+                try {
+                    runnable.run();
+                } finally {
+                    setContext(previous);
+                }
+            };
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
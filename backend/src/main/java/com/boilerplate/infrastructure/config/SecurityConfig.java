@@ -1,9 +1,19 @@
 package com.boilerplate.infrastructure.config;
 
+import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
+import com.boilerplate.infrastructure.security.BCryptStrengthCalibrator;
 import com.boilerplate.infrastructure.security.JwtAuthenticationFilter;
+import com.boilerplate.infrastructure.security.OffloadingPasswordEncoder;
+import com.boilerplate.infrastructure.security.PasswordHashingExecutor;
+import com.boilerplate.infrastructure.security.PasswordHashingProperties;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -13,6 +23,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,7 +41,11 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final UserDetailsPasswordService userDetailsPasswordService;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordHashingProperties passwordHashingProperties;
+    private final AbacPolicyEvaluator abacEvaluator;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -38,6 +53,9 @@ public class SecurityConfig {
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource))
             .authorizeHttpRequests(auth -> auth
+                // Streamed responses (e.g. audit log exports) finish on an async dispatch of a
+                // request that was already authorized; the JWT filter does not run again for it
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/**",
                     "/actuator/health",
@@ -47,6 +65,10 @@ public class SecurityConfig {
                     "/swagger-ui.html",
                     "/h2-console/**"
                 ).permitAll()
+                // Every other actuator endpoint (metrics, latency, slow request traces) is for admins only
+                .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class, InfoEndpoint.class))
+                .access((authentication, context) -> new AuthorizationDecision(
+                    abacEvaluator.hasPermission(authentication.get(), "SYSTEM", "MANAGE")))
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session
@@ -69,6 +91,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes stored passwords whose BCrypt cost is below the current one after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -79,7 +103,13 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = passwordHashingProperties.isCalibrate()
+            ? BCryptStrengthCalibrator.calibrate(
+                passwordHashingProperties.getMinStrength(),
+                passwordHashingProperties.getMaxStrength(),
+                passwordHashingProperties.getTargetLatencyMs())
+            : passwordHashingProperties.getStrength();
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(strength), passwordHashingExecutor);
     }
 
 }
@@ -0,0 +1,27 @@
+package com.boilerplate.infrastructure.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "slow-requests")
+@Getter
+@Setter
+public class SlowRequestProperties {
+
+    /** Trace requests and keep the slowest ones; when off only the request ID is propagated. */
+    private boolean enabled = true;
+
+    /** How many of the slowest requests to keep. */
+    private int capacity = 50;
+
+    /** Faster requests are never kept. */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /** Spans recorded per request before further spans are only counted. */
+    private int maxSpans = 256;
+}
@@ -0,0 +1,60 @@
+package com.boilerplate.infrastructure.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Publishes queue depth and drop counts for every {@link DroppingAsyncAppender} in the logback
+ * configuration, so a log pipeline that cannot keep up is visible on the metrics endpoint.
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+
+        Set<DroppingAsyncAppender> appenders = new LinkedHashSet<>();
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+            while (it.hasNext()) {
+                if (it.next() instanceof DroppingAsyncAppender appender) {
+                    appenders.add(appender);
+                }
+            }
+        }
+
+        for (DroppingAsyncAppender appender : appenders) {
+            String name = appender.getName();
+            Gauge.builder("logging.queue.depth", appender, DroppingAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting to be written by the async appender")
+                .tag("appender", name)
+                .register(registry);
+            FunctionCounter.builder("logging.events.dropped", appender, DroppingAsyncAppender::getDiscardedCount)
+                .description("Log events dropped by the async appender")
+                .tag("appender", name)
+                .tag("reason", "discarded")
+                .register(registry);
+            FunctionCounter.builder("logging.events.dropped", appender, DroppingAsyncAppender::getRejectedCount)
+                .description("Log events dropped by the async appender")
+                .tag("appender", name)
+                .tag("reason", "queue_full")
+                .register(registry);
+        }
+    }
+}
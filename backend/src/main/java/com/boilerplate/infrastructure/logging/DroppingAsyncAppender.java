@@ -0,0 +1,68 @@
+package com.boilerplate.infrastructure.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that never blocks the logging thread and counts what it drops.
+ *
+ * Events go into logback's bounded queue and are encoded and written by a single worker thread. Once
+ * fewer than {@code discardingThreshold} slots are free, events at or below {@code discardLevel} are
+ * dropped; when the queue is completely full every event is dropped rather than making a request
+ * thread wait for stdout. Both cases are counted so they show up in metrics instead of disappearing
+ * silently.
+ *
+ * The full-queue count is taken just before the event is offered, so an event racing another thread
+ * for the last free slot may be dropped without being counted.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private Level discardLevel = Level.INFO;
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+    }
+
+    /** Highest level dropped once the queue passes the discarding threshold. */
+    public void setDiscardLevel(String discardLevel) {
+        this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+    }
+
+    public String getDiscardLevel() {
+        return discardLevel.toString();
+    }
+
+    /** Events dropped by level because the queue was nearly full. */
+    public long getDiscardedCount() {
+        return discarded.sum();
+    }
+
+    /** Events of any level dropped because the queue was full. */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= discardLevel.toInt();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isQueueBelowDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            rejected.increment();
+            return;
+        }
+        super.append(event);
+    }
+}
@@ -1,5 +1,6 @@
 package com.boilerplate.infrastructure.security;
 
+import com.boilerplate.domain.model.Group;
 import com.boilerplate.domain.model.Policy;
 import com.boilerplate.domain.model.Policy.PolicyAction;
 import com.boilerplate.domain.model.Policy.PolicyEffect;
@@ -7,16 +8,21 @@ import com.boilerplate.domain.model.Policy.PolicyResource;
 import com.boilerplate.domain.model.PolicyCondition;
 import com.boilerplate.domain.model.PolicyCondition.ConditionOperator;
 import com.boilerplate.domain.model.PolicyCondition.ConditionSubject;
+import com.boilerplate.domain.model.User;
 import com.boilerplate.domain.model.UserAttribute;
 import com.boilerplate.domain.repository.GroupRepository;
 import com.boilerplate.domain.repository.PolicyRepository;
 import com.boilerplate.domain.repository.UserAttributeRepository;
+import com.boilerplate.infrastructure.tracing.RequestTrace;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -41,15 +47,31 @@ public class AbacPolicyEvaluator {
     private final PolicyRepository policyRepository;
     private final UserAttributeRepository userAttributeRepository;
     private final GroupRepository groupRepository;
+    private final MeterRegistry meterRegistry;
 
     @Transactional(readOnly = true)
     public boolean hasPermission(Authentication authentication, String resource, String action) {
-        return evaluate(authentication, resource, action);
+        return timedEvaluate(authentication, resource, action);
     }
 
     @Transactional(readOnly = true)
     public boolean hasPermission(Authentication authentication, String resource, String action, Object resourceId) {
-        return evaluate(authentication, resource, action);
+        return timedEvaluate(authentication, resource, action);
+    }
+
+    private boolean timedEvaluate(Authentication authentication, String resource, String action) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean permitted;
+        try (RequestTrace.Span span = RequestTrace.span("abac")) {
+            permitted = evaluate(authentication, resource, action);
+        }
+        sample.stop(Timer.builder("abac.evaluation")
+            .description("Time spent evaluating ABAC policies for one access decision")
+            .tag("resource", resource.toUpperCase(Locale.ROOT))
+            .tag("action", action.toUpperCase(Locale.ROOT))
+            .tag("decision", permitted ? "permit" : "deny")
+            .register(meterRegistry));
+        return permitted;
     }
 
     private boolean evaluate(Authentication authentication, String resource, String action) {
@@ -72,24 +94,9 @@ public class AbacPolicyEvaluator {
         Map<String, String> userAttrs = loadUserAttributes(userId);
 
         // Derive implicit group-membership attributes via repository (avoids lazy-loading the User entity)
-        groupRepository.findGroupNamesByUserId(userId)
-            .forEach(name -> userAttrs.putIfAbsent("group:" + name.toLowerCase(Locale.ROOT), "true"));
-
-        List<Policy> candidates = policyRepository.findEnabledByResourceAndAction(policyResource, policyAction);
+        addGroupAttributes(userAttrs, groupRepository.findGroupNamesByUserId(userId));
 
-        // DENY wins if any deny policy fully matches
-        boolean denied = candidates.stream()
-            .filter(p -> p.getEffect() == PolicyEffect.DENY)
-            .anyMatch(p -> allConditionsMatch(p, userAttrs));
-
-        if (denied) {
-            return false;
-        }
-
-        // PERMIT if any permit policy fully matches
-        return candidates.stream()
-            .filter(p -> p.getEffect() == PolicyEffect.PERMIT)
-            .anyMatch(p -> allConditionsMatch(p, userAttrs));
+        return isPermitted(policyRepository.findEnabledByResourceAndAction(policyResource, policyAction), userAttrs);
     }
 
     private boolean allConditionsMatch(Policy policy, Map<String, String> userAttrs) {
@@ -127,34 +134,58 @@ public class AbacPolicyEvaluator {
     @Transactional(readOnly = true)
     public Set<String> computeEffectivePermissions(Long userId) {
         Map<String, String> userAttrs = loadUserAttributes(userId);
-        groupRepository.findGroupNamesByUserId(userId)
-            .forEach(name -> userAttrs.putIfAbsent("group:" + name.toLowerCase(Locale.ROOT), "true"));
+        addGroupAttributes(userAttrs, groupRepository.findGroupNamesByUserId(userId));
+        return computeEffectivePermissions(userAttrs);
+    }
+
+    /**
+     * Variant for callers that already hold the user with its groups fetched (e.g. the login principal),
+     * so only the attributes and the enabled policy set are read.
+     */
+    @Transactional(readOnly = true)
+    public Set<String> computeEffectivePermissions(User user) {
+        Map<String, String> userAttrs = loadUserAttributes(user.getId());
+        addGroupAttributes(userAttrs, user.getGroups().stream().map(Group::getName).toList());
+        return computeEffectivePermissions(userAttrs);
+    }
+
+    private Set<String> computeEffectivePermissions(Map<String, String> userAttrs) {
+        // One query for every enabled policy instead of one per resource/action pair
+        Map<PolicyResource, Map<PolicyAction, List<Policy>>> policiesByTarget = policyRepository.findAllEnabled()
+            .stream()
+            .collect(Collectors.groupingBy(
+                Policy::getResource,
+                () -> new EnumMap<>(PolicyResource.class),
+                Collectors.groupingBy(Policy::getAction, () -> new EnumMap<>(PolicyAction.class), Collectors.toList())
+            ));
 
         Set<String> effective = new HashSet<>();
-        for (PolicyResource resource : PolicyResource.values()) {
-            for (PolicyAction action : PolicyAction.values()) {
-                if (isPermitted(resource, action, userAttrs)) {
-                    effective.add(resource.name() + ":" + action.name());
-                }
+        policiesByTarget.forEach((resource, byAction) -> byAction.forEach((action, candidates) -> {
+            if (isPermitted(candidates, userAttrs)) {
+                effective.add(resource.name() + ":" + action.name());
             }
-        }
+        }));
         return effective;
     }
 
-    private boolean isPermitted(PolicyResource resource, PolicyAction action,
-        Map<String, String> userAttrs) {
-        List<Policy> candidates = policyRepository.findEnabledByResourceAndAction(resource, action);
+    private boolean isPermitted(List<Policy> candidates, Map<String, String> userAttrs) {
+        // DENY wins if any deny policy fully matches
         boolean denied = candidates.stream()
             .filter(p -> p.getEffect() == PolicyEffect.DENY)
             .anyMatch(p -> allConditionsMatch(p, userAttrs));
         if (denied) {
             return false;
         }
+        // PERMIT if any permit policy fully matches
         return candidates.stream()
             .filter(p -> p.getEffect() == PolicyEffect.PERMIT)
             .anyMatch(p -> allConditionsMatch(p, userAttrs));
     }
 
+    private void addGroupAttributes(Map<String, String> userAttrs, List<String> groupNames) {
+        groupNames.forEach(name -> userAttrs.putIfAbsent("group:" + name.toLowerCase(Locale.ROOT), "true"));
+    }
+
     private Map<String, String> loadUserAttributes(Long userId) {
         return userAttributeRepository.findAllByUserId(userId).stream()
             .collect(Collectors.toMap(
@@ -0,0 +1,44 @@
+package com.boilerplate.infrastructure.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks a BCrypt cost for the current hardware.
+ *
+ * Each cost step doubles the work, so one measurement at the minimum cost is enough to
+ * extrapolate the rest. Hashes stored with a lower cost are upgraded on the next successful login.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(int minStrength, int maxStrength, long targetLatencyMs) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD); // warm-up
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        long targetNanos = targetLatencyMs * 1_000_000L;
+        int strength = minStrength;
+        long estimate = best;
+        while (strength < maxStrength && estimate * 2 <= targetNanos) {
+            estimate *= 2;
+            strength++;
+        }
+
+        log.info("BCrypt calibrated to cost {} (~{} ms per hash, target {} ms)",
+            strength, estimate / 1_000_000L, targetLatencyMs);
+        return strength;
+    }
+}
@@ -2,15 +2,19 @@ package com.boilerplate.infrastructure.security;
 
 import com.boilerplate.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
@@ -21,4 +25,16 @@ public class CustomUserDetailsService implements UserDetailsService {
             .map(UserPrincipal::new)
             .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
+
+    /**
+     * Called by DaoAuthenticationProvider when the stored hash uses an outdated cost.
+     * Runs in its own transaction because login itself is read-only.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        log.info("Upgraded password hash for user: {}", user.getUsername());
+        return user;
+    }
 }
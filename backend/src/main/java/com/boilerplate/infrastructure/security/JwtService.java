@@ -1,8 +1,12 @@
 package com.boilerplate.infrastructure.security;
 
+import com.boilerplate.domain.model.User;
+import com.boilerplate.infrastructure.tracing.RequestTrace;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,6 +17,7 @@ import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -22,34 +27,98 @@ import java.util.stream.Collectors;
 @Slf4j
 public class JwtService {
 
+    // Security stamp carried by refresh tokens, checked by the lightweight refresh path
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String CLAIM_ATTRIBUTES_VERSION = "av";
+    public static final String CLAIM_POLICY_SET_VERSION = "pv";
+
+    private static final String CLAIM_AUTHORITIES = "authorities";
+
     private final JwtProperties jwtProperties;
+    private final MeterRegistry meterRegistry;
 
     public String generateAccessToken(UserDetails userDetails) {
-        return generateToken(userDetails, jwtProperties.getAccessTokenExpiration());
+        return generateToken(userDetails.getUsername(), authoritiesOf(userDetails), Map.of(),
+            expiresIn(jwtProperties.getAccessTokenExpiration()));
+    }
+
+    /**
+     * Mints an access token for the subject of an already verified refresh token, without loading the user.
+     */
+    public String generateAccessToken(Claims refreshClaims) {
+        List<?> authorities = refreshClaims.get(CLAIM_AUTHORITIES, List.class);
+        return generateToken(
+            refreshClaims.getSubject(),
+            authorities == null ? List.of() : authorities.stream().map(String::valueOf).toList(),
+            Map.of(),
+            expiresIn(jwtProperties.getAccessTokenExpiration())
+        );
     }
 
     public String generateRefreshToken(UserDetails userDetails, boolean rememberMe) {
         long expiration = rememberMe
             ? jwtProperties.getRememberMeExpiration()
             : jwtProperties.getRefreshTokenExpiration();
-        return generateToken(userDetails, expiration);
+        return generateRefreshToken(userDetails, expiresIn(expiration));
     }
 
-    private String generateToken(UserDetails userDetails, long expiration) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("authorities", userDetails.getAuthorities().stream()
-            .map(GrantedAuthority::getAuthority)
-            .collect(Collectors.toList()));
+    /**
+     * Re-stamps a refresh token without extending its lifetime.
+     */
+    public String generateRefreshToken(UserDetails userDetails, Date expiresAt) {
+        return generateToken(userDetails.getUsername(), authoritiesOf(userDetails), securityStamp(userDetails),
+            expiresAt);
+    }
+
+    private String generateToken(String subject, List<String> authorities, Map<String, Object> extraClaims,
+        Date expiresAt) {
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        claims.put(CLAIM_AUTHORITIES, authorities);
 
         return Jwts.builder()
             .claims(claims)
-            .subject(userDetails.getUsername())
+            .subject(subject)
             .issuedAt(new Date(System.currentTimeMillis()))
-            .expiration(new Date(System.currentTimeMillis() + expiration))
+            .expiration(expiresAt)
             .signWith(getSigningKey(), Jwts.SIG.HS256)
             .compact();
     }
 
+    private Map<String, Object> securityStamp(UserDetails userDetails) {
+        if (!(userDetails instanceof UserPrincipal principal)) {
+            return Map.of();
+        }
+        User user = principal.getUser();
+        Map<String, Object> stamp = new HashMap<>();
+        stamp.put(CLAIM_USER_ID, user.getId());
+        stamp.put(CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        stamp.put(CLAIM_ATTRIBUTES_VERSION, user.getAttributesVersion());
+        if (user.getPolicySetVersion() != null) {
+            stamp.put(CLAIM_POLICY_SET_VERSION, user.getPolicySetVersion());
+        }
+        return stamp;
+    }
+
+    private List<String> authoritiesOf(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.toList());
+    }
+
+    private Date expiresIn(long expiration) {
+        return new Date(System.currentTimeMillis() + expiration);
+    }
+
+    /**
+     * Verifies signature and expiry once and returns the claims.
+     *
+     * @throws JwtException if the token is malformed, tampered with or expired
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -78,11 +147,25 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSigningKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "invalid";
+        try (RequestTrace.Span span = RequestTrace.span("jwt.verify")) {
+            Claims claims = Jwts.parser()
+                .verifyWith(getSigningKey())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+            outcome = "valid";
+            return claims;
+        } catch (ExpiredJwtException e) {
+            outcome = "expired";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("jwt.verification")
+                .description("Time spent verifying a JWT signature and parsing its claims")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        }
     }
 
     private SecretKey getSigningKey() {
@@ -0,0 +1,125 @@
+package com.boilerplate.infrastructure.security;
+
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing on a CPU-sized pool with a bounded queue.
+ *
+ * Request threads still wait for the result, but at most threads + queue-capacity of them can be
+ * tied up in BCrypt at once. Anything beyond that is rejected immediately with
+ * {@link ServiceOverloadedException} (503 + Retry-After) so a login storm cannot starve cheap endpoints.
+ */
+@Component
+@Slf4j
+public class PasswordHashingExecutor implements DisposableBean {
+
+    private final ThreadPoolExecutor executor;
+    private final int retryAfterSeconds;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        int threads = properties.getThreads() > 0
+            ? properties.getThreads()
+            : Runtime.getRuntime().availableProcessors();
+
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            namedDaemonThreads(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.retryAfterSeconds = properties.getRetryAfterSeconds();
+
+        this.encodeTimer = hashTimer(meterRegistry, "encode");
+        this.matchesTimer = hashTimer(meterRegistry, "matches");
+        this.rejectedCounter = Counter.builder("password.hashing.rejected")
+            .description("Hash requests rejected because the queue was full")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.queue.depth", executor, e -> e.getQueue().size())
+            .description("Hash requests waiting for a worker")
+            .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Workers currently hashing")
+            .register(meterRegistry);
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}",
+            threads, properties.getQueueCapacity());
+    }
+
+    public String encode(Supplier<String> task) {
+        return run(encodeTimer, task);
+    }
+
+    public boolean matches(Supplier<Boolean> task) {
+        return run(matchesTimer, task);
+    }
+
+    private <T> T run(Timer timer, Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.record(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceOverloadedException(
+                "Authentication service is busy. Please try again later.",
+                retryAfterSeconds
+            );
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private static Timer hashTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("password.hashing.latency")
+            .description("Time spent hashing or verifying a password, excluding queue wait")
+            .tag("operation", operation)
+            .register(meterRegistry);
+    }
+
+    private static ThreadFactory namedDaemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.boilerplate.infrastructure.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /** Worker threads; 0 means one per available processor. */
+    private int threads = 0;
+
+    /** Hash requests allowed to wait for a worker before new ones are rejected with 503. */
+    private int queueCapacity = 64;
+
+    /** Value of the Retry-After header sent when the queue is full. */
+    private int retryAfterSeconds = 2;
+
+    /** Measure BCrypt at startup and pick the strongest cost that stays under the target latency. */
+    private boolean calibrate = true;
+
+    private long targetLatencyMs = 250;
+
+    private int minStrength = 10;
+
+    private int maxStrength = 14;
+
+    /** Cost used when calibration is disabled. */
+    private int strength = 10;
+}
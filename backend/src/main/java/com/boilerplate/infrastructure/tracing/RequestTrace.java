@@ -0,0 +1,126 @@
+package com.boilerplate.infrastructure.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Span breakdown of the request running on the current thread.
+ *
+ * Deliberately minimal: a span is a name, an optional detail (e.g. the SQL text) and two nanosecond
+ * readings, appended to a per-request list that is capped at {@code maxSpans}. All static methods
+ * are no-ops when no trace is active, so instrumented code does not need to know whether it runs
+ * inside a request.
+ */
+public final class RequestTrace {
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final Span NOOP = () -> { };
+
+    private final String requestId;
+    private final String method;
+    private final String uri;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final int maxSpans;
+    private final List<SpanRecord> spans = new ArrayList<>();
+    private int droppedSpans;
+    private String pendingSql;
+
+    private RequestTrace(String requestId, String method, String uri, int maxSpans) {
+        this.requestId = requestId;
+        this.method = method;
+        this.uri = uri;
+        this.maxSpans = maxSpans;
+    }
+
+    /** Starts a trace on the current thread; {@link #end(int)} must be called from the same thread. */
+    public static RequestTrace begin(String requestId, String method, String uri, int maxSpans) {
+        RequestTrace trace = new RequestTrace(requestId, method, uri, maxSpans);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /** Opens a span that ends when the returned handle is closed. */
+    public static Span span(String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) {
+            return NOOP;
+        }
+        long start = System.nanoTime();
+        return () -> trace.add(name, null, start, System.nanoTime());
+    }
+
+    /** Records a span that started at {@code startNanos} and ends now. */
+    public static void record(String name, long startNanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(name, null, startNanos, System.nanoTime());
+        }
+    }
+
+    /** Records a span from the start of the request until now. */
+    public static void recordSinceStart(String name) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add(name, null, trace.startNanos, System.nanoTime());
+        }
+    }
+
+    /** Remembers the SQL about to be executed so the next {@link #recordSql} can name it. */
+    static void prepareSql(String sql) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.pendingSql = sql;
+        }
+    }
+
+    static void recordSql(long startNanos) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.add("sql", trace.pendingSql, startNanos, System.nanoTime());
+        }
+    }
+
+    /** Detaches the trace from the thread and freezes it. */
+    public CompletedRequest end(int status) {
+        CURRENT.remove();
+        long durationNanos = System.nanoTime() - startNanos;
+        return new CompletedRequest(requestId, method, uri, status, startedAt, millis(durationNanos),
+            List.copyOf(spans), droppedSpans);
+    }
+
+    private void add(String name, String detail, long start, long end) {
+        if (spans.size() >= maxSpans) {
+            droppedSpans++;
+            return;
+        }
+        spans.add(new SpanRecord(name, detail, millis(start - startNanos), millis(end - start)));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+
+    @FunctionalInterface
+    public interface Span extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    public record SpanRecord(String name, String detail, double startMs, double durationMs) {
+    }
+
+    public record CompletedRequest(
+        String requestId,
+        String method,
+        String uri,
+        int status,
+        Instant startedAt,
+        double durationMs,
+        List<SpanRecord> spans,
+        int droppedSpans
+    ) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.boilerplate.infrastructure.tracing;
+
+import com.boilerplate.infrastructure.config.SlowRequestProperties;
+import com.boilerplate.infrastructure.tracing.RequestTrace.CompletedRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the slowest {@code capacity} requests seen since startup (or the last {@link #clear()}).
+ *
+ * Lock-free: a slot array is scanned for the fastest entry, which is replaced by compare-and-set
+ * only if the new request is slower; a lost race simply rescans. Requests under the threshold
+ * return after a single comparison, so the common path costs nothing beyond building the trace.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private final SlowRequestProperties properties;
+    private final AtomicReferenceArray<CompletedRequest> slots;
+    private final double thresholdMs;
+
+    public SlowRequestRecorder(SlowRequestProperties properties) {
+        this.properties = properties;
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+        this.thresholdMs = properties.getThreshold().toNanos() / 1_000_000.0;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getMaxSpans() {
+        return properties.getMaxSpans();
+    }
+
+    public void offer(CompletedRequest request) {
+        if (request.durationMs() < thresholdMs) {
+            return;
+        }
+        while (true) {
+            int fastestSlot = -1;
+            CompletedRequest fastest = null;
+            for (int i = 0; i < slots.length(); i++) {
+                CompletedRequest current = slots.get(i);
+                if (current == null) {
+                    fastestSlot = i;
+                    fastest = null;
+                    break;
+                }
+                if (fastest == null || current.durationMs() < fastest.durationMs()) {
+                    fastestSlot = i;
+                    fastest = current;
+                }
+            }
+            if (fastest != null && fastest.durationMs() >= request.durationMs()) {
+                return;
+            }
+            if (slots.compareAndSet(fastestSlot, fastest, request)) {
+                return;
+            }
+        }
+    }
+
+    /** @return the kept requests, slowest first */
+    public List<CompletedRequest> snapshot() {
+        List<CompletedRequest> result = new ArrayList<>(slots.length());
+        for (int i = 0; i < slots.length(); i++) {
+            CompletedRequest request = slots.get(i);
+            if (request != null) {
+                result.add(request);
+            }
+        }
+        result.sort(Comparator.comparingDouble(CompletedRequest::durationMs).reversed());
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
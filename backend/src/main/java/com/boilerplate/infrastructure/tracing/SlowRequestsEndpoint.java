@@ -0,0 +1,50 @@
+package com.boilerplate.infrastructure.tracing;
+
+import com.boilerplate.infrastructure.tracing.RequestTrace.CompletedRequest;
+import com.boilerplate.infrastructure.tracing.RequestTrace.SpanRecord;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@code /actuator/slowrequests}: span breakdown of the slowest requests, slowest first.
+ * {@code DELETE} starts a fresh recording, e.g. after a deploy. Like every actuator endpoint but
+ * health and info, both need SYSTEM:MANAGE (see {@code SecurityConfig}).
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SlowRequestRecorder recorder;
+
+    @ReadOperation
+    public List<CompletedRequest> slowRequests() {
+        return recorder.snapshot().stream()
+            .map(SlowRequestsEndpoint::withCompactSql)
+            .toList();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        recorder.clear();
+    }
+
+    // SQL is kept as Hibernate's (formatted) string and only compacted when read
+    private static CompletedRequest withCompactSql(CompletedRequest request) {
+        List<SpanRecord> spans = request.spans().stream()
+            .map(span -> span.detail() == null ? span : new SpanRecord(
+                span.name(), WHITESPACE.matcher(span.detail()).replaceAll(" ").trim(),
+                span.startMs(), span.durationMs()))
+            .toList();
+        return new CompletedRequest(request.requestId(), request.method(), request.uri(), request.status(),
+            request.startedAt(), request.durationMs(), spans, request.droppedSpans());
+    }
+}
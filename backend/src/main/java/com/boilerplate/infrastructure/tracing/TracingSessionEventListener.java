@@ -0,0 +1,44 @@
+package com.boilerplate.infrastructure.tracing;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC work done by a Hibernate session and records it on the current {@link RequestTrace}.
+ * Hibernate creates one instance per session, and a session is used by one thread at a time.
+ */
+public class TracingSessionEventListener implements SessionEventListener {
+
+    private long connectionStart;
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        RequestTrace.record("db.connection", connectionStart);
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        RequestTrace.recordSql(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        RequestTrace.recordSql(batchStart);
+    }
+}
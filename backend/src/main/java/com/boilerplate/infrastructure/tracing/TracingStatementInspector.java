@@ -0,0 +1,16 @@
+package com.boilerplate.infrastructure.tracing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hands each SQL string Hibernate is about to prepare to the current {@link RequestTrace}, so the
+ * execution timed by {@link TracingSessionEventListener} can be attributed to a statement.
+ */
+public class TracingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTrace.prepareSql(sql);
+        return sql;
+    }
+}
@@ -1,19 +1,40 @@
 package com.boilerplate.presentation.controller;
 
+import com.boilerplate.application.dto.request.AuditActivityRequest;
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.dto.response.AuditActivityResponse;
+import com.boilerplate.application.dto.response.AuditArchiveSegmentResponse;
 import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.dto.response.CursorPage;
 import com.boilerplate.application.service.AuditLogService;
+import com.boilerplate.infrastructure.audit.AuditLogExporter;
+import com.boilerplate.infrastructure.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/audit-logs")
@@ -26,10 +47,97 @@ public class AuditLogController {
 
     @GetMapping
     @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
-    @Operation(summary = "Get all audit logs")
+    @Operation(
+        summary = "Search audit logs",
+        description = "Filter by user, action, resource, IP and time range with pagination; "
+            + "archived months are only reached by scrolling")
     public Page<AuditLogResponse> getAllAuditLogs(
+        @ParameterObject AuditLogSearchRequest search,
         @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
     ) {
-        return auditLogService.getAllAuditLogs(pageable);
+        return auditLogService.getAllAuditLogs(search, pageable);
+    }
+
+    @GetMapping("/scroll")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "Scroll audit logs",
+        description = "Newest first, keyset-paginated without a total count, continuing into archived months")
+    public CursorPage<AuditLogResponse> scrollAuditLogs(
+        @ParameterObject AuditLogSearchRequest search,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return auditLogService.scrollAuditLogs(search, cursor, size);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "Export audit logs",
+        description = "Streams all matching logs oldest first as NDJSON or CSV, optionally gzip-compressed")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+        @ParameterObject AuditLogSearchRequest search,
+        @RequestParam(defaultValue = "NDJSON") AuditLogExporter.Format format,
+        @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        StreamingResponseBody body = auditLogService.exportAuditLogs(search, format, gzip);
+        String filename = "audit-logs." + format.getExtension() + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+            ? MediaType.parseMediaType("application/gzip")
+            : MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8");
+        return ResponseEntity.ok()
+            .contentType(contentType)
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .body(body);
+    }
+
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "Follow audit logs live",
+        description = "Server-Sent Events of new audit events from memory, filtered like a search "
+            + "without the time range; reconnect with Last-Event-ID to resume")
+    public SseEmitter tailAuditLogs(
+        @ParameterObject AuditLogSearchRequest search,
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+        @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        return auditLogService.tailAuditLogs(search, lastEventId, currentUser.getUser().getId());
+    }
+
+    @GetMapping("/activity")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "Audit activity over time",
+        description = "Event counts per hour or day from pre-aggregated rollups, "
+            + "optionally split by action, resource and user")
+    public List<AuditActivityResponse> getActivity(@ParameterObject AuditActivityRequest request) {
+        return auditLogService.getActivity(request);
+    }
+
+    @GetMapping("/archive")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "List archived months",
+        description = "Months moved out of the database into compressed archive segments")
+    public List<AuditArchiveSegmentResponse> getArchivedMonths() {
+        return auditLogService.getArchivedMonths();
+    }
+
+    @GetMapping("/archive/{month}")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'AUDIT_LOG', 'READ')")
+    @Operation(
+        summary = "Download an archived month",
+        description = "The month's segment as stored: gzip-compressed NDJSON, oldest first")
+    public ResponseEntity<StreamingResponseBody> downloadArchivedMonth(@PathVariable YearMonth month) {
+        StreamingResponseBody body = auditLogService.downloadArchivedMonth(month);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/gzip"))
+            .contentLength(auditLogService.getArchivedMonthSize(month))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("audit-logs-" + month + ".ndjson.gz").build().toString())
+            .body(body);
     }
 }
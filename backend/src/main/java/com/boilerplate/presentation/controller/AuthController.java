@@ -27,10 +27,16 @@ public class AuthController {
     }
 
     @PostMapping("/refresh")
-    @Operation(summary = "Refresh access token", description = "Generate new access token using refresh token")
-    public ResponseEntity<AuthResponse> refreshToken(@RequestHeader("Authorization") String authHeader) {
+    @Operation(summary = "Refresh access token", description = "Generate new access token using refresh token. "
+        + "In lightweight mode the user is only returned when permissions changed since the token was issued")
+    public ResponseEntity<AuthResponse> refreshToken(
+        @RequestHeader("Authorization") String authHeader,
+        @RequestParam(defaultValue = "false") boolean lightweight
+    ) {
         String refreshToken = authHeader.substring(7); // Remove "Bearer " prefix
-        return ResponseEntity.ok(authService.refreshToken(refreshToken));
+        return ResponseEntity.ok(lightweight
+            ? authService.refreshAccessToken(refreshToken)
+            : authService.refreshToken(refreshToken));
     }
 
     @PostMapping("/register")
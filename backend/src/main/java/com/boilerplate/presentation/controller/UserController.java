@@ -6,8 +6,11 @@ import com.boilerplate.application.dto.request.CreateUserRequest;
 import com.boilerplate.application.dto.request.UpdateUserRequest;
 import com.boilerplate.application.dto.request.UserSearchRequest;
 import com.boilerplate.application.dto.response.BulkActionResponse;
+import com.boilerplate.application.dto.response.BulkJobResponse;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.application.service.BulkJobService;
 import com.boilerplate.application.service.UserService;
+import com.boilerplate.infrastructure.security.UserPrincipal;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,10 +19,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
 
 @RestController
@@ -30,6 +37,7 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final BulkJobService bulkJobService;
 
     @GetMapping
     @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'USER', 'READ')")
@@ -125,4 +133,53 @@ public class UserController {
             .message(affected + " users updated")
             .build());
     }
+
+    @PostMapping("/bulk/delete/jobs")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'USER', 'DELETE')")
+    @Operation(
+        summary = "Submit bulk delete job",
+        description = "Soft-delete multiple users in the background; poll or stream the returned job")
+    public ResponseEntity<BulkJobResponse> submitBulkDeleteJob(
+        @Valid @RequestBody BulkActionRequest request,
+        @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        return accepted(bulkJobService.submitDelete(request.getUserIds(), currentUser.getUser().getId()));
+    }
+
+    @PostMapping("/bulk/status/jobs")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'USER', 'UPDATE')")
+    @Operation(
+        summary = "Submit bulk status job",
+        description = "Enable or disable multiple users in the background; poll or stream the returned job")
+    public ResponseEntity<BulkJobResponse> submitBulkStatusJob(
+        @Valid @RequestBody BulkStatusRequest request,
+        @AuthenticationPrincipal UserPrincipal currentUser
+    ) {
+        return accepted(bulkJobService.submitStatusUpdate(
+            request.getUserIds(), request.getEnabled(), currentUser.getUser().getId()));
+    }
+
+    @GetMapping("/bulk/jobs/{id}")
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'USER', 'READ')")
+    @Operation(summary = "Get bulk job", description = "Status and progress of a bulk job")
+    public ResponseEntity<BulkJobResponse> getBulkJob(@PathVariable Long id) {
+        return ResponseEntity.ok(bulkJobService.getJob(id));
+    }
+
+    @GetMapping(value = "/bulk/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("@abacEvaluator.hasPermission(authentication, 'USER', 'READ')")
+    @Operation(
+        summary = "Stream bulk job progress",
+        description = "Server-Sent Events: a 'progress' event whenever the job moves on; "
+            + "the stream ends when the job has finished"
+    )
+    public SseEmitter streamBulkJob(@PathVariable Long id) {
+        return bulkJobService.streamJob(id);
+    }
+
+    private static ResponseEntity<BulkJobResponse> accepted(BulkJobResponse job) {
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/users/bulk/jobs/" + job.getId()))
+            .body(job);
+    }
 }
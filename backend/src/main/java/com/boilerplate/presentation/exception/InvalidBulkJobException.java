@@ -0,0 +1,7 @@
+package com.boilerplate.presentation.exception;
+
+public class InvalidBulkJobException extends RuntimeException {
+    public InvalidBulkJobException(String message) {
+        super(message);
+    }
+}
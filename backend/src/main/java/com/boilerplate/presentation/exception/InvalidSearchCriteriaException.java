@@ -0,0 +1,7 @@
+package com.boilerplate.presentation.exception;
+
+public class InvalidSearchCriteriaException extends RuntimeException {
+    public InvalidSearchCriteriaException(String message) {
+        super(message);
+    }
+}
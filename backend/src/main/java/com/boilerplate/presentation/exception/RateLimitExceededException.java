@@ -1,8 +1,18 @@
 package com.boilerplate.presentation.exception;
 
+import lombok.Getter;
+
+@Getter
 public class RateLimitExceededException extends RuntimeException {
 
+    private final long retryAfterSeconds;
+
     public RateLimitExceededException(String message) {
+        this(message, 0);
+    }
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
     }
 }
@@ -0,0 +1,13 @@
+-- Per-user counters embedded in refresh tokens.
+-- security_version: bumped when credentials or account status change; a mismatch revokes the token.
+-- attributes_version: bumped when attributes or group memberships change; a mismatch reloads permissions.
+ALTER TABLE users ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN attributes_version BIGINT NOT NULL DEFAULT 0;
+
+-- Global counters; POLICY_SET is bumped on every policy change
+CREATE TABLE security_versions (
+    scope VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL
+);
+
+INSERT INTO security_versions (scope, version) VALUES ('POLICY_SET', 0);
@@ -0,0 +1,10 @@
+-- Shared token buckets for rate-limit.backend=jdbc.
+-- state is Bucket4j's serialized bucket; expires_at (epoch millis) is when the bucket would be full
+-- again, after which the row carries no information and is deleted by the cleanup job.
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(255) PRIMARY KEY,
+    state BYTEA,
+    expires_at BIGINT NOT NULL
+);
+
+CREATE INDEX idx_rate_limit_buckets_expires_at ON rate_limit_buckets(expires_at);
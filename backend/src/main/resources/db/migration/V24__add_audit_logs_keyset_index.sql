@@ -0,0 +1,4 @@
+-- Keyset pagination walks audit_logs newest first by (created_at, id); the composite index serves
+-- both the ordering and the "after this cursor" predicate and makes the created_at index redundant.
+CREATE INDEX idx_audit_logs_created_at_id ON audit_logs(created_at, id);
+DROP INDEX idx_audit_logs_created_at;
@@ -0,0 +1,11 @@
+-- One index per search filter, each ending in (created_at, id) so a filtered listing is read
+-- newest first straight from the index (backward scan) and keyset cursors seek within it.
+-- They replace the single-column user_id and action indexes. A resource filter without resource_id
+-- uses the leading column of the resource index; resource_id is only searchable within a resource.
+CREATE INDEX idx_audit_logs_user_id_created_at ON audit_logs(user_id, created_at, id);
+CREATE INDEX idx_audit_logs_action_created_at ON audit_logs(action, created_at, id);
+CREATE INDEX idx_audit_logs_resource_created_at ON audit_logs(resource, resource_id, created_at, id);
+CREATE INDEX idx_audit_logs_ip_address_created_at ON audit_logs(ip_address, created_at, id);
+
+DROP INDEX idx_audit_logs_user_id;
+DROP INDEX idx_audit_logs_action;
@@ -0,0 +1,3 @@
+-- Coalesced audit rows stand for several identical events (audit.policy, COALESCE mode). With a
+-- constant default, PostgreSQL adds the column without rewriting the table.
+ALTER TABLE audit_logs ADD COLUMN event_count INTEGER NOT NULL DEFAULT 1;
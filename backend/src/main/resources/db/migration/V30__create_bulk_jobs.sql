@@ -0,0 +1,23 @@
+-- Bulk user operations run in the background (see BulkJobRunner). user_ids is the whole request;
+-- processed says how far into it the committed chunks got, so a job resumes there after a restart.
+-- A RUNNING job belongs to whoever holds it until lease_until; an expired lease is claimed again.
+CREATE TABLE bulk_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    user_ids BIGINT ARRAY NOT NULL,
+    enabled BOOLEAN,
+    total INTEGER NOT NULL,
+    processed INTEGER NOT NULL DEFAULT 0,
+    affected INTEGER NOT NULL DEFAULT 0,
+    error VARCHAR(1000),
+    created_by BIGINT,
+    lease_until TIMESTAMP,
+    started_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+CREATE INDEX idx_bulk_jobs_status ON bulk_jobs(status, id);
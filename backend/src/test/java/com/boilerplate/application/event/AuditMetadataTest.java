@@ -0,0 +1,42 @@
+package com.boilerplate.application.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditMetadataTest {
+
+    @Test
+    void toJson_WritesIdsAsASortedArrayWithoutDuplicates() {
+        String json = AuditMetadata.message("Bulk deleted users")
+            .with(AuditMetadata.COUNT, 3)
+            .ids(AuditMetadata.USER_IDS, Arrays.asList(9L, 2L, null, 9L, 5L))
+            .toJson();
+
+        assertThat(json).isEqualTo("{\"message\":\"Bulk deleted users\",\"count\":3,\"userIds\":[2,5,9]}");
+    }
+
+    @Test
+    void contains_MatchesLikeJsonbContainment() {
+        String document = AuditMetadata.message("x").with("enabled", false).ids(AuditMetadata.USER_IDS, List.of(1L, 2L, 3L)).toJson();
+
+        assertThat(AuditMetadata.jsonbContains(document, "{\"userIds\": [3, 1]}")).isTrue();
+        assertThat(AuditMetadata.jsonbContains(document, "{\"enabled\": false, \"userIds\": [2.0]}")).isTrue();
+        assertThat(AuditMetadata.jsonbContains(document, "{}")).isTrue();
+        assertThat(AuditMetadata.jsonbContains(document, "{\"userIds\": [4]}")).isFalse();
+        assertThat(AuditMetadata.jsonbContains(document, "{\"userIds\": 1}")).isFalse();
+        assertThat(AuditMetadata.jsonbContains(document, "{\"count\": null}")).isFalse();
+        assertThat(AuditMetadata.jsonbContains(null, "{}")).isNull();
+    }
+
+    @Test
+    void parseObject_AcceptsOnlyJsonObjects() {
+        assertThat(AuditMetadata.parseObject("{\"a\": [1]}")).isNotNull();
+        assertThat(AuditMetadata.parseObject("[1]")).isNull();
+        assertThat(AuditMetadata.parseObject("free text")).isNull();
+        assertThat(AuditMetadata.parseObject(" ")).isNull();
+    }
+}
@@ -0,0 +1,156 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties.ActionPolicy;
+import com.boilerplate.infrastructure.config.AuditPolicyProperties.Mode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditEventPolicyTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final List<Object> published = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditPolicyProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditPolicyProperties();
+    }
+
+    @Test
+    void publish_RecordsActionsWithoutAPolicyAsTheyCome() {
+        AuditEventPolicy policy = policy();
+
+        policy.publish(event(1L, "LOGIN_SUCCESS"));
+
+        assertThat(published).containsExactly(event(1L, "LOGIN_SUCCESS"));
+    }
+
+    @Test
+    void publish_SampleKeepsAllOrNothingAtTheBounds() {
+        properties.getActions().put("LOGIN_SUCCESS", sample(100));
+        properties.getActions().put("PROFILE_VIEW", sample(0));
+        AuditEventPolicy policy = policy();
+
+        for (int i = 0; i < 20; i++) {
+            policy.publish(event(1L, "LOGIN_SUCCESS"));
+            policy.publish(event(1L, "PROFILE_VIEW"));
+        }
+
+        assertThat(published).hasSize(20).allMatch(event -> ((AuditEvent) event).action().equals("LOGIN_SUCCESS"));
+        assertThat(AuditMetadata.parseObject(((AuditEvent) published.getFirst()).metadata()).get("samplePercent").asInt())
+            .isEqualTo(100);
+        assertThat(meterRegistry.get("audit.events.sampled_out").counter().count()).isEqualTo(20);
+    }
+
+    @Test
+    void publish_SampledRowsCountTheEventsTheyStandFor() {
+        properties.getActions().put("LOGIN_SUCCESS", sample(30));
+        AuditEventPolicy policy = policy();
+
+        for (int i = 0; i < 200; i++) {
+            policy.publish(event(1L, "LOGIN_SUCCESS"));
+        }
+
+        assertThat(published).isNotEmpty().allMatch(event -> ((AuditEvent) event).count() == 3);
+    }
+
+    @Test
+    void coalesce_RecordsTheFirstEventAtOnceAndTheRestWhenTheWindowEnds() {
+        ActionPolicy coalesce = coalesce(Duration.ofMinutes(1));
+        AuditEventPolicy policy = started();
+
+        policy.coalesce(event(1L, "LOGIN_SUCCESS"), coalesce, NOW);
+        policy.coalesce(event(1L, "LOGIN_SUCCESS"), coalesce, NOW.plusSeconds(10));
+        policy.coalesce(event(1L, "LOGIN_SUCCESS"), coalesce, NOW.plusSeconds(40));
+        policy.coalesce(event(2L, "LOGIN_SUCCESS"), coalesce, NOW.plusSeconds(30));
+        policy.flushEndedBefore(NOW.plusSeconds(59));
+        assertThat(published).containsExactly(event(1L, "LOGIN_SUCCESS"), event(2L, "LOGIN_SUCCESS"));
+
+        policy.flushEndedBefore(NOW.plusMinutes(1));
+
+        assertThat(published).hasSize(3);
+        AuditEvent row = (AuditEvent) published.getLast();
+        assertThat(row.userId()).isEqualTo(1L);
+        assertThat(row.count()).isEqualTo(2);
+        assertThat(AuditMetadata.parseObject(row.metadata()).get("firstAt").asText()).isEqualTo("2026-03-02T09:00:10");
+        assertThat(AuditMetadata.parseObject(row.metadata()).get("lastAt").asText()).isEqualTo("2026-03-02T09:00:40");
+        assertThat(meterRegistry.get("audit.events.coalesced").counter().count()).isEqualTo(2);
+
+        // Nothing was folded into the second user's window, so there is nothing more to record
+        policy.stop();
+
+        assertThat(published).hasSize(3);
+    }
+
+    @Test
+    void coalesce_RecordsEventsOneByOneBeyondMaxPendingKeys() {
+        properties.setMaxPendingKeys(1);
+        ActionPolicy coalesce = coalesce(Duration.ofMinutes(1));
+        AuditEventPolicy policy = started();
+
+        policy.coalesce(event(1L, "LOGIN_SUCCESS"), coalesce, NOW);
+        policy.coalesce(event(2L, "LOGIN_SUCCESS"), coalesce, NOW);
+        policy.coalesce(event(1L, "LOGIN_SUCCESS"), coalesce, NOW);
+
+        assertThat(published).containsExactly(event(1L, "LOGIN_SUCCESS"), event(2L, "LOGIN_SUCCESS"));
+    }
+
+    @Test
+    void securityCriticalActionsCannotBeSampledOrCoalesced() {
+        properties.getActions().put("USER_DELETE", sample(50));
+
+        assertThatThrownBy(this::policy)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("USER_DELETE");
+    }
+
+    @Test
+    void invalidSamplePercentIsRejected() {
+        properties.getActions().put("LOGIN_SUCCESS", sample(101));
+
+        assertThatThrownBy(this::policy).isInstanceOf(IllegalStateException.class);
+    }
+
+    private AuditEventPolicy policy() {
+        return new AuditEventPolicy(properties, published::add, meterRegistry);
+    }
+
+    private AuditEventPolicy started() {
+        AuditEventPolicy policy = policy();
+        policy.start();
+        return policy;
+    }
+
+    private static ActionPolicy sample(int percent) {
+        ActionPolicy policy = new ActionPolicy();
+        policy.setMode(Mode.SAMPLE);
+        policy.setSamplePercent(percent);
+        return policy;
+    }
+
+    private static ActionPolicy coalesce(Duration window) {
+        ActionPolicy policy = new ActionPolicy();
+        policy.setMode(Mode.COALESCE);
+        policy.setWindow(window);
+        return policy;
+    }
+
+    private static AuditEvent event(Long userId, String action) {
+        return new AuditEvent(userId, "user" + userId, action, "USER", String.valueOf(userId),
+            "{\"message\":\"Logged in\"}", "127.0.0.1");
+    }
+}
@@ -1,12 +1,25 @@
 package com.boilerplate.application.service;
 
+import com.boilerplate.application.dto.request.AuditActivityRequest;
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
 import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.dto.response.CursorPage;
 import com.boilerplate.application.mapper.AuditLogMapper;
 import com.boilerplate.domain.model.AuditLog;
 import com.boilerplate.domain.repository.AuditLogRepository;
+import com.boilerplate.infrastructure.audit.AuditArchive;
+import com.boilerplate.infrastructure.audit.AuditDictionary;
+import com.boilerplate.infrastructure.audit.AuditLogExporter;
+import com.boilerplate.infrastructure.audit.AuditRollups;
+import com.boilerplate.infrastructure.audit.AuditTail;
+import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
+import com.boilerplate.presentation.exception.InvalidCursorException;
+import com.boilerplate.presentation.exception.InvalidSearchCriteriaException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,9 +27,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +47,24 @@ class AuditLogServiceTest {
     @Mock
     private AuditLogMapper auditLogMapper;
 
+    @Mock
+    private AuditLogExporter auditLogExporter;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @Mock
+    private AuditRollups auditRollups;
+
+    @Mock
+    private AuditDictionary auditDictionary;
+
+    @Mock
+    private AuditTail auditTail;
+
+    @Mock
+    private AbacPolicyEvaluator abacEvaluator;
+
     @InjectMocks
     private AuditLogService auditLogService;
 
@@ -41,8 +75,8 @@ class AuditLogServiceTest {
     @BeforeEach
     void setUp() {
         testLog = AuditLog.builder()
-            .action("USER_LOGIN")
-            .resource("User")
+            .actionCode((short) 1)
+            .resourceCode((short) 2)
             .username("admin")
             .build();
 
@@ -59,37 +93,214 @@ class AuditLogServiceTest {
     @Test
     void getAllAuditLogs_ReturnsPaginatedResults() {
         Page<AuditLog> page = new PageImpl<>(List.of(testLog), pageable, 1);
-        when(auditLogRepository.findAll(pageable)).thenReturn(page);
+        when(auditLogRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(page);
         when(auditLogMapper.toResponse(testLog)).thenReturn(testLogResponse);
 
-        Page<AuditLogResponse> result = auditLogService.getAllAuditLogs(pageable);
+        Page<AuditLogResponse> result = auditLogService.getAllAuditLogs(new AuditLogSearchRequest(), pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
         assertThat(result.getContent().get(0).getAction()).isEqualTo("USER_LOGIN");
-        verify(auditLogRepository).findAll(pageable);
+        verify(auditLogRepository).findAll(any(Specification.class), eq(pageable));
     }
 
     @Test
     void getAllAuditLogs_EmptyRepository_ReturnsEmptyPage() {
         Page<AuditLog> emptyPage = new PageImpl<>(List.of(), pageable, 0);
-        when(auditLogRepository.findAll(pageable)).thenReturn(emptyPage);
+        when(auditLogRepository.findAll(any(Specification.class), eq(pageable))).thenReturn(emptyPage);
 
-        Page<AuditLogResponse> result = auditLogService.getAllAuditLogs(pageable);
+        Page<AuditLogResponse> result = auditLogService.getAllAuditLogs(new AuditLogSearchRequest(), pageable);
 
         assertThat(result.getContent()).isEmpty();
         assertThat(result.getTotalElements()).isZero();
         verify(auditLogMapper, never()).toResponse(any());
     }
 
+    @Test
+    void getAllAuditLogs_IpAddressThatIsNotAnAddress_ThrowsInvalidSearchCriteriaException() {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().ipAddress("UNKNOWN").build();
+
+        assertThatThrownBy(() -> auditLogService.getAllAuditLogs(search, pageable))
+            .isInstanceOf(InvalidSearchCriteriaException.class);
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void getAllAuditLogs_MetadataThatIsNotAJsonObject_ThrowsInvalidSearchCriteriaException() {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().metadata("[42]").build();
+
+        assertThatThrownBy(() -> auditLogService.getAllAuditLogs(search, pageable))
+            .isInstanceOf(InvalidSearchCriteriaException.class)
+            .hasMessage("metadata must be a JSON object");
+        verifyNoInteractions(auditLogRepository);
+    }
+
     @Test
     void getAllAuditLogs_RespectsPageable() {
         Pageable customPageable = PageRequest.of(2, 5);
         Page<AuditLog> page = new PageImpl<>(List.of(), customPageable, 0);
-        when(auditLogRepository.findAll(customPageable)).thenReturn(page);
+        when(auditLogRepository.findAll(any(Specification.class), eq(customPageable))).thenReturn(page);
+
+        auditLogService.getAllAuditLogs(new AuditLogSearchRequest(), customPageable);
+
+        verify(auditLogRepository).findAll(any(Specification.class), eq(customPageable));
+    }
+
+    @Test
+    void scrollAuditLogs_ReadsOneExtraRowToDetectTheNextSlice() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 12, 0, 0, 123_456_000);
+        List<AuditLog> rows = List.of(log(3L, now), log(2L, now), log(1L, now.minusSeconds(1)));
+        when(auditLogRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+        when(auditLogMapper.toResponse(any())).thenReturn(testLogResponse);
+
+        CursorPage<AuditLogResponse> result = auditLogService.scrollAuditLogs(null, null, 2);
+
+        assertThat(result.getContent()).hasSize(2);
+        assertThat(result.isHasNext()).isTrue();
+        AuditLogService.Cursor next = AuditLogService.decodeCursor(result.getNextCursor());
+        assertThat(next.createdAt()).isEqualTo(now);
+        assertThat(next.id()).isEqualTo(2L);
+    }
+
+    @Test
+    void scrollAuditLogs_LastSlice_HasNoCursor() {
+        when(auditLogRepository.findBy(any(Specification.class), any()))
+            .thenReturn(List.of(log(1L, LocalDateTime.now())));
+        when(auditLogMapper.toResponse(any())).thenReturn(testLogResponse);
+        when(auditArchive.search(any(), any(), any(), anyInt())).thenReturn(new AuditArchive.Slice(List.of(), null));
+
+        CursorPage<AuditLogResponse> result = auditLogService.scrollAuditLogs(null,
+            AuditLogService.encodeCursor(log(5L, LocalDateTime.now())), 20);
+
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.isHasNext()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+    }
+
+    @Test
+    void scrollAuditLogs_ArchiveSearchHitsItsBlockCap_ReturnsAShortSliceWithTheResumeCursor() {
+        LocalDateTime resumeAt = LocalDateTime.of(2025, 1, 3, 8, 0);
+        when(auditLogRepository.findBy(any(Specification.class), any())).thenReturn(List.of());
+        when(auditArchive.search(null, null, null, 21)).thenReturn(new AuditArchive.Slice(List.of(),
+            new AuditArchive.Position(resumeAt, 77L)));
+
+        CursorPage<AuditLogResponse> result = auditLogService.scrollAuditLogs(null, null, 20);
 
-        auditLogService.getAllAuditLogs(customPageable);
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(AuditLogService.decodeCursor(result.getNextCursor()))
+            .isEqualTo(new AuditLogService.Cursor(resumeAt, 77L));
+    }
+
+    @Test
+    void scrollAuditLogs_TableRunsOut_ContinuesIntoTheArchiveAfterTheLastRow() {
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 12, 0);
+        LocalDateTime archivedAt = LocalDateTime.of(2025, 1, 31, 23, 0);
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().action("USER_LOGIN").build();
+        when(auditLogRepository.findBy(any(Specification.class), any())).thenReturn(List.of(log(9L, now)));
+        when(auditLogMapper.toResponse(any())).thenReturn(testLogResponse);
+        when(auditArchive.search(search, now, 9L, 3)).thenReturn(new AuditArchive.Slice(List.of(
+            AuditLogResponse.builder().id(4L).createdAt(archivedAt).build(),
+            AuditLogResponse.builder().id(3L).createdAt(archivedAt.minusHours(1)).build(),
+            AuditLogResponse.builder().id(2L).createdAt(archivedAt.minusHours(2)).build()
+        ), null));
+
+        CursorPage<AuditLogResponse> result = auditLogService.scrollAuditLogs(search, null, 3);
+
+        assertThat(result.getContent()).extracting(AuditLogResponse::getId).containsExactly(1L, 4L, 3L);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(AuditLogService.decodeCursor(result.getNextCursor()))
+            .isEqualTo(new AuditLogService.Cursor(archivedAt.minusHours(1), 3L));
+    }
+
+    @Test
+    void scrollAuditLogs_TamperedCursor_ThrowsInvalidCursorException() {
+        assertThatThrownBy(() -> auditLogService.scrollAuditLogs(null, "not-a-cursor", 20))
+            .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void getAllAuditLogs_ResourceIdWithoutResource_ThrowsInvalidSearchCriteriaException() {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().resourceId("42").build();
+
+        assertThatThrownBy(() -> auditLogService.getAllAuditLogs(search, pageable))
+            .isInstanceOf(InvalidSearchCriteriaException.class);
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void exportAuditLogs_ResourceIdWithoutResource_ThrowsBeforeTakingAConnection() {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().resourceId("42").build();
+
+        assertThatThrownBy(() -> auditLogService.exportAuditLogs(search, AuditLogExporter.Format.CSV, false))
+            .isInstanceOf(InvalidSearchCriteriaException.class);
+        verifyNoInteractions(auditLogExporter);
+    }
+
+    @Test
+    void getActivity_DefaultsToTheLast24Hours() {
+        auditLogService.getActivity(new AuditActivityRequest());
 
-        verify(auditLogRepository).findAll(customPageable);
+        verify(auditRollups).query(any(), argThat(from -> from.isAfter(LocalDateTime.now().minusHours(25))),
+            argThat(to -> !to.isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void getActivity_RejectsRangesTooLongForTheGranularity() {
+        LocalDateTime to = LocalDateTime.of(2026, 10, 1, 0, 0);
+        AuditActivityRequest hourly = AuditActivityRequest.builder().from(to.minusDays(60)).to(to).build();
+        AuditActivityRequest daily = AuditActivityRequest.builder()
+            .granularity(AuditActivityRequest.Granularity.DAY).from(to.minusDays(60)).to(to).build();
+        AuditActivityRequest reversed = AuditActivityRequest.builder().from(to).to(to.minusHours(1)).build();
+
+        assertThatThrownBy(() -> auditLogService.getActivity(hourly)).isInstanceOf(InvalidSearchCriteriaException.class);
+        assertThatThrownBy(() -> auditLogService.getActivity(reversed)).isInstanceOf(InvalidSearchCriteriaException.class);
+        auditLogService.getActivity(daily);
+        verify(auditRollups).query(daily, to.minusDays(60), to);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tailAuditLogs_SendsOnlyMatchingEventsAboutResourcesTheSubscriberMayRead() throws Exception {
+        when(abacEvaluator.computeEffectivePermissions(7L)).thenReturn(Set.of("AUDIT_LOG:READ", "GROUP:MANAGE"));
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().userId(1L).metadata("{\"k\": 1}").build();
+
+        auditLogService.tailAuditLogs(search, "abc-3", 7L);
+
+        ArgumentCaptor<Predicate<AuditLogResponse>> filter = ArgumentCaptor.forClass(Predicate.class);
+        verify(auditTail).subscribe(eq("abc-3"), filter.capture());
+        assertThat(filter.getValue().test(row(1L, "AUTH", "{\"k\": 1}"))).isTrue();
+        assertThat(filter.getValue().test(row(1L, "GROUP", "{\"k\": 1, \"x\": 2}"))).isTrue();
+        assertThat(filter.getValue().test(row(1L, "USER", "{\"k\": 1}"))).isFalse();
+        assertThat(filter.getValue().test(row(2L, "AUTH", "{\"k\": 1}"))).isFalse();
+        assertThat(filter.getValue().test(row(1L, "AUTH", "{\"k\": 2}"))).isFalse();
+    }
+
+    @Test
+    void tailAuditLogs_InvalidFilter_ThrowsBeforeSubscribing() {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().ipAddress("UNKNOWN").build();
+
+        assertThatThrownBy(() -> auditLogService.tailAuditLogs(search, null, 7L))
+            .isInstanceOf(InvalidSearchCriteriaException.class);
+        verifyNoInteractions(auditTail);
+    }
+
+    private static AuditLogResponse row(Long userId, String resource, String metadata) throws Exception {
+        return AuditLogResponse.builder()
+            .userId(userId)
+            .action("SOMETHING")
+            .resource(resource)
+            .metadata(new ObjectMapper().readTree(metadata))
+            .build();
+    }
+
+    private static AuditLog log(Long id, LocalDateTime createdAt) {
+        return AuditLog.builder()
+            .id(id)
+            .createdAt(createdAt)
+            .actionCode((short) 1)
+            .resourceCode((short) 2)
+            .build();
     }
 }
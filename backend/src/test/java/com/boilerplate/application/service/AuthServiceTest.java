@@ -1,29 +1,41 @@
 package com.boilerplate.application.service;
 
+import com.boilerplate.application.dto.request.LoginRequest;
 import com.boilerplate.application.dto.request.RegisterRequest;
 import com.boilerplate.application.dto.response.AuthResponse;
+import com.boilerplate.application.dto.response.GroupResponse;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.application.event.AuditMetadata;
 import com.boilerplate.application.mapper.UserMapper;
 import com.boilerplate.domain.model.Group;
 import com.boilerplate.domain.model.User;
 import com.boilerplate.domain.repository.GroupRepository;
+import com.boilerplate.domain.repository.GroupUserCount;
 import com.boilerplate.domain.repository.UserRepository;
+import com.boilerplate.domain.repository.UserSecurityStamp;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.security.UserPrincipal;
 import com.boilerplate.presentation.exception.DuplicateResourceException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.quality.Strictness;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.CredentialsExpiredException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -108,16 +120,15 @@ class AuthServiceTest {
         when(userRepository.save(any(User.class))).thenReturn(savedUser);
 
         Authentication authentication = mock(Authentication.class);
-        UserDetails userDetails = mock(UserDetails.class);
+        UserPrincipal principal = new UserPrincipal(savedUser);
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
             .thenReturn(authentication);
-        when(authentication.getPrincipal()).thenReturn(userDetails);
+        when(authentication.getPrincipal()).thenReturn(principal);
 
-        when(jwtService.generateAccessToken(userDetails)).thenReturn("access-token");
-        when(jwtService.generateRefreshToken(userDetails, false)).thenReturn("refresh-token");
-        when(userRepository.findByUsernameWithGroups("newuser")).thenReturn(Optional.of(savedUser));
-        when(userMapper.toResponse(savedUser)).thenReturn(userResponse);
-        when(abacPolicyEvaluator.computeEffectivePermissions(2L)).thenReturn(Set.of());
+        when(jwtService.generateAccessToken(principal)).thenReturn("access-token");
+        when(jwtService.generateRefreshToken(principal, false)).thenReturn("refresh-token");
+        when(userMapper.toAuthResponse(savedUser)).thenReturn(userResponse);
+        when(abacPolicyEvaluator.computeEffectivePermissions(savedUser)).thenReturn(Set.of());
 
         AuthResponse result = authService.register(registerRequest);
 
@@ -131,6 +142,98 @@ class AuthServiceTest {
         verify(userRepository, times(2)).save(any(User.class));
     }
 
+    @Test
+    void login_ReusesAuthenticatedPrincipalInsteadOfReloadingUser() {
+        LoginRequest loginRequest = LoginRequest.builder()
+            .username("newuser")
+            .password("password123")
+            .rememberMe(true)
+            .build();
+
+        Authentication authentication = mock(Authentication.class);
+        UserPrincipal principal = new UserPrincipal(savedUser);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
+            .thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(principal);
+        when(jwtService.generateAccessToken(principal)).thenReturn("access-token");
+        when(jwtService.generateRefreshToken(principal, true)).thenReturn("refresh-token");
+        userResponse.setGroups(Set.of(new GroupResponse(1L, "Default Users", null, Set.of(), null, null, null)));
+        GroupUserCount memberCount = mock(GroupUserCount.class);
+        when(memberCount.getGroupId()).thenReturn(1L);
+        when(memberCount.getUserCount()).thenReturn(42L);
+        when(userMapper.toAuthResponse(savedUser)).thenReturn(userResponse);
+        when(groupRepository.countUsersByGroupIds(List.of(1L))).thenReturn(List.of(memberCount));
+        when(abacPolicyEvaluator.computeEffectivePermissions(savedUser)).thenReturn(Set.of("USER:READ"));
+
+        AuthResponse result = authService.login(loginRequest);
+
+        assertThat(result.getAccessToken()).isEqualTo("access-token");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh-token");
+        assertThat(result.getUser().getEffectivePermissions()).containsExactly("USER:READ");
+        assertThat(result.getUser().getGroups()).extracting(GroupResponse::userCount).containsExactly(42);
+        verify(userRepository, never()).findByUsernameWithGroups(anyString());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+        verify(auditPublisher).publish(eq(2L), eq("newuser"), eq("LOGIN_SUCCESS"), eq("AUTH"), eq("2"), any(AuditMetadata.class));
+    }
+
+    @Test
+    void refreshAccessToken_WhenVersionsUnchanged_SkipsUserLoad() {
+        Claims claims = refreshClaims(0L, 0L, 0L);
+        when(jwtService.parseToken("refresh-token")).thenReturn(claims);
+        UserSecurityStamp stamp = stamp(0L, 0L, 0L);
+        when(userRepository.findSecurityStampById(2L)).thenReturn(Optional.of(stamp));
+        when(jwtService.generateAccessToken(claims)).thenReturn("access-token");
+
+        AuthResponse result = authService.refreshAccessToken("refresh-token");
+
+        assertThat(result.getAccessToken()).isEqualTo("access-token");
+        assertThat(result.getRefreshToken()).isEqualTo("refresh-token");
+        assertThat(result.getUser()).isNull();
+        verify(userRepository, never()).findByIdWithGroups(anyLong());
+        verifyNoInteractions(userDetailsService, abacPolicyEvaluator);
+    }
+
+    @Test
+    void refreshAccessToken_WhenAttributesChanged_ReloadsPermissionsAndRestampsToken() {
+        Claims claims = refreshClaims(0L, 0L, 0L);
+        when(jwtService.parseToken("refresh-token")).thenReturn(claims);
+        UserSecurityStamp stamp = stamp(0L, 1L, 0L);
+        when(userRepository.findSecurityStampById(2L)).thenReturn(Optional.of(stamp));
+        when(jwtService.generateAccessToken(claims)).thenReturn("access-token");
+        when(userRepository.findByIdWithGroups(2L)).thenReturn(Optional.of(savedUser));
+        when(jwtService.generateRefreshToken(any(UserPrincipal.class), eq(claims.getExpiration())))
+            .thenReturn("restamped-refresh-token");
+        when(userMapper.toAuthResponse(savedUser)).thenReturn(userResponse);
+        when(abacPolicyEvaluator.computeEffectivePermissions(savedUser)).thenReturn(Set.of("USER:READ"));
+
+        AuthResponse result = authService.refreshAccessToken("refresh-token");
+
+        assertThat(result.getRefreshToken()).isEqualTo("restamped-refresh-token");
+        assertThat(result.getUser().getEffectivePermissions()).containsExactly("USER:READ");
+    }
+
+    @Test
+    void refreshAccessToken_WhenSecurityVersionBumped_Rejects() {
+        when(jwtService.parseToken("refresh-token")).thenReturn(refreshClaims(0L, 0L, 0L));
+        UserSecurityStamp stamp = stamp(1L, 0L, 0L);
+        when(userRepository.findSecurityStampById(2L)).thenReturn(Optional.of(stamp));
+
+        assertThatThrownBy(() -> authService.refreshAccessToken("refresh-token"))
+            .isInstanceOf(CredentialsExpiredException.class);
+
+        verify(jwtService, never()).generateAccessToken(any(Claims.class));
+    }
+
+    @Test
+    void refreshAccessToken_WithInvalidToken_Rejects() {
+        when(jwtService.parseToken("garbage")).thenThrow(new MalformedJwtException("bad token"));
+
+        assertThatThrownBy(() -> authService.refreshAccessToken("garbage"))
+            .isInstanceOf(CredentialsExpiredException.class);
+
+        verifyNoInteractions(userRepository);
+    }
+
     @Test
     void register_DuplicateUsername_ThrowsException() {
         when(userRepository.existsByUsernameAndDeletedAtIsNull("newuser")).thenReturn(true);
@@ -153,4 +256,26 @@ class AuthServiceTest {
 
         verify(userRepository, never()).save(any());
     }
+
+    private Claims refreshClaims(long securityVersion, long attributesVersion, long policySetVersion) {
+        return Jwts.claims()
+            .subject("newuser")
+            .expiration(new Date(System.currentTimeMillis() + 60_000))
+            .add(JwtService.CLAIM_USER_ID, 2L)
+            .add(JwtService.CLAIM_SECURITY_VERSION, securityVersion)
+            .add(JwtService.CLAIM_ATTRIBUTES_VERSION, attributesVersion)
+            .add(JwtService.CLAIM_POLICY_SET_VERSION, policySetVersion)
+            .build();
+    }
+
+    private UserSecurityStamp stamp(long securityVersion, long attributesVersion, long policySetVersion) {
+        UserSecurityStamp stamp = mock(UserSecurityStamp.class, withSettings().strictness(Strictness.LENIENT));
+        when(stamp.getUsername()).thenReturn("newuser");
+        when(stamp.getEnabled()).thenReturn(true);
+        when(stamp.getAccountNonLocked()).thenReturn(true);
+        when(stamp.getSecurityVersion()).thenReturn(securityVersion);
+        when(stamp.getAttributesVersion()).thenReturn(attributesVersion);
+        when(stamp.getPolicySetVersion()).thenReturn(policySetVersion);
+        return stamp;
+    }
 }
@@ -0,0 +1,132 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.domain.model.BulkJob;
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
+import com.boilerplate.domain.model.BulkJob.BulkJobType;
+import com.boilerplate.domain.repository.BulkJobRepository;
+import com.boilerplate.domain.repository.UserRepository;
+import com.boilerplate.infrastructure.config.BulkJobProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkJobRunnerTest {
+
+    @Mock
+    private BulkJobRepository bulkJobRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        BulkJobProperties properties = new BulkJobProperties();
+        properties.setChunkSize(2);
+        lenient().when(transactionManager.getTransaction(any()))
+            .thenAnswer(invocation -> new SimpleTransactionStatus());
+        runner = new BulkJobRunner(
+            bulkJobRepository, userRepository, userService, properties, transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (runner.isRunning()) {
+            runner.stop();
+        }
+    }
+
+    @Test
+    void run_AppliesTheRemainingChunksFromWhereTheJobStopped() {
+        runner.start();
+        when(bulkJobRepository.findById(1L)).thenReturn(Optional.of(job(BulkJobType.USER_STATUS, 2)));
+        when(bulkJobRepository.advance(eq(1L), eq(BulkJobStatus.RUNNING), anyInt(), anyInt(), any(), any()))
+            .thenReturn(1);
+        when(userService.bulkUpdateStatus(anyList(), eq(false), eq(1L))).thenReturn(2, 1);
+
+        runner.run(1L);
+
+        InOrder inOrder = inOrder(bulkJobRepository, userService);
+        inOrder.verify(bulkJobRepository).advance(eq(1L), eq(BulkJobStatus.RUNNING), eq(2), eq(4), any(), any());
+        inOrder.verify(userService).bulkUpdateStatus(List.of(12L, 13L), false, 1L);
+        inOrder.verify(bulkJobRepository).addAffected(1L, 2);
+        inOrder.verify(bulkJobRepository).advance(eq(1L), eq(BulkJobStatus.RUNNING), eq(4), eq(5), any(), any());
+        inOrder.verify(userService).bulkUpdateStatus(List.of(14L), false, 1L);
+        inOrder.verify(bulkJobRepository).addAffected(1L, 1);
+        inOrder.verify(bulkJobRepository)
+            .finish(eq(1L), eq(BulkJobStatus.RUNNING), eq(BulkJobStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void run_LeavesAJobThatAnotherHolderMovedOnWithoutTouchingUsers() {
+        runner.start();
+        when(bulkJobRepository.findById(1L)).thenReturn(Optional.of(job(BulkJobType.USER_DELETE, 0)));
+        when(bulkJobRepository.advance(eq(1L), eq(BulkJobStatus.RUNNING), anyInt(), anyInt(), any(), any()))
+            .thenReturn(0);
+
+        runner.run(1L);
+
+        verifyNoInteractions(userService);
+        verify(bulkJobRepository, never()).finish(anyLong(), any(), any(), any(), any());
+    }
+
+    @Test
+    void run_FailsTheJobWithTheErrorOfTheChunk() {
+        runner.start();
+        when(bulkJobRepository.findById(1L)).thenReturn(Optional.of(job(BulkJobType.USER_DELETE, 0)));
+        when(bulkJobRepository.advance(eq(1L), eq(BulkJobStatus.RUNNING), anyInt(), anyInt(), any(), any()))
+            .thenReturn(1);
+        when(userService.bulkSoftDelete(anyList(), eq(1L))).thenThrow(new IllegalStateException("boom"));
+
+        runner.run(1L);
+
+        verify(bulkJobRepository)
+            .finish(eq(1L), eq(BulkJobStatus.RUNNING), eq(BulkJobStatus.FAILED), eq("boom"), any());
+        verify(bulkJobRepository, never()).finish(anyLong(), any(), eq(BulkJobStatus.COMPLETED), any(), any());
+    }
+
+    @Test
+    void run_HandsTheJobBackWhenStopping() {
+        when(bulkJobRepository.findById(1L)).thenReturn(Optional.of(job(BulkJobType.USER_DELETE, 2)));
+
+        runner.run(1L);
+
+        verify(bulkJobRepository).release(eq(1L), eq(BulkJobStatus.RUNNING), eq(BulkJobStatus.QUEUED), any());
+        verifyNoInteractions(userService);
+        assertThat(runner.isRunning()).isFalse();
+    }
+
+    private static BulkJob job(BulkJobType type, int processed) {
+        return BulkJob.builder()
+            .id(1L)
+            .type(type)
+            .status(BulkJobStatus.RUNNING)
+            .userIds(new Long[] {10L, 11L, 12L, 13L, 14L})
+            .enabled(false)
+            .total(5)
+            .processed(processed)
+            .build();
+    }
+}
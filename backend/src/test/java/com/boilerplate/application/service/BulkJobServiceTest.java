@@ -0,0 +1,93 @@
+package com.boilerplate.application.service;
+
+import com.boilerplate.application.dto.response.BulkJobResponse;
+import com.boilerplate.application.mapper.BulkJobMapper;
+import com.boilerplate.domain.model.BulkJob;
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
+import com.boilerplate.domain.model.BulkJob.BulkJobType;
+import com.boilerplate.domain.repository.BulkJobProgress;
+import com.boilerplate.domain.repository.BulkJobRepository;
+import com.boilerplate.infrastructure.config.BulkJobProperties;
+import com.boilerplate.presentation.exception.InvalidBulkJobException;
+import com.boilerplate.presentation.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkJobServiceTest {
+
+    @Mock
+    private BulkJobRepository bulkJobRepository;
+
+    @Mock
+    private BulkJobMapper bulkJobMapper;
+
+    @Mock
+    private BulkJobRunner bulkJobRunner;
+
+    private BulkJobProperties properties;
+    private BulkJobService bulkJobService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new BulkJobProperties();
+        bulkJobService = new BulkJobService(bulkJobRepository, bulkJobMapper, bulkJobRunner, properties);
+    }
+
+    @Test
+    void submitStatusUpdate_QueuesTheDistinctIdsAndStartsDispatching() {
+        when(bulkJobRepository.save(any(BulkJob.class))).thenAnswer(invocation -> {
+            BulkJob job = invocation.getArgument(0);
+            job.setId(7L);
+            return job;
+        });
+        BulkJobProgress progress = mock(BulkJobProgress.class);
+        BulkJobResponse response = BulkJobResponse.builder().id(7L).build();
+        when(bulkJobRepository.findProgressById(7L)).thenReturn(Optional.of(progress));
+        when(bulkJobMapper.toResponse(progress)).thenReturn(response);
+
+        assertThat(bulkJobService.submitStatusUpdate(Arrays.asList(3L, 1L, 3L, null), false, 42L)).isSameAs(response);
+
+        ArgumentCaptor<BulkJob> saved = ArgumentCaptor.forClass(BulkJob.class);
+        verify(bulkJobRepository).save(saved.capture());
+        assertThat(saved.getValue().getType()).isEqualTo(BulkJobType.USER_STATUS);
+        assertThat(saved.getValue().getStatus()).isEqualTo(BulkJobStatus.QUEUED);
+        assertThat(saved.getValue().getUserIds()).containsExactly(3L, 1L);
+        assertThat(saved.getValue().getTotal()).isEqualTo(2);
+        assertThat(saved.getValue().getEnabled()).isFalse();
+        assertThat(saved.getValue().getCreatedBy()).isEqualTo(42L);
+        verify(bulkJobRunner).dispatch();
+    }
+
+    @Test
+    void submitDelete_RejectsMoreUsersThanAJobTakes() {
+        properties.setMaxUsers(2);
+
+        assertThatThrownBy(() -> bulkJobService.submitDelete(List.of(1L, 2L, 3L), 42L))
+            .isInstanceOf(InvalidBulkJobException.class)
+            .hasMessageContaining("at most 2");
+
+        verifyNoInteractions(bulkJobRepository, bulkJobRunner);
+    }
+
+    @Test
+    void getJob_ThrowsWhenTheJobDoesNotExist() {
+        when(bulkJobRepository.findProgressById(9L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> bulkJobService.getJob(9L))
+            .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
@@ -135,6 +135,19 @@ class UserServiceTest {
             .hasMessageContaining("User not found");
     }
 
+    @Test
+    void bulkUpdateStatus_AuditsTheUsersThatChanged() {
+        when(userRepository.updateEnabledByIds(eq(List.of(1L, 2L, 3L)), eq(false), any(LocalDateTime.class)))
+            .thenReturn(List.of(3L, 1L));
+
+        int affected = userService.bulkUpdateStatus(List.of(1L, 2L, 3L), false);
+
+        assertThat(affected).isEqualTo(2);
+        verify(auditPublisher).publish(eq("USER_BULK_STATUS"), eq("USER"), eq("N/A"), argThat(metadata ->
+            metadata.toJson().contains("\"count\":2") && metadata.toJson().contains("\"userIds\":[1,3]")));
+        verify(userRepository, never()).save(any());
+    }
+
     @Test
     void deleteUser_Success() {
         when(userRepository.softDeleteById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
@@ -0,0 +1,248 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.dto.response.AuditArchiveSegmentResponse;
+import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.config.AuditArchiveProperties;
+import com.boilerplate.infrastructure.config.AuditPartitionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditArchiveTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 15);
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+    private static final YearMonth APRIL = YearMonth.of(2026, 4);
+    private static final YearMonth MAY = YearMonth.of(2026, 5);
+
+    @TempDir
+    Path directory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogInserter inserter;
+    private AuditArchiveProperties properties;
+    private AuditArchive archive;
+    private AuditArchiver archiver;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:archive_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        AuditSchema.migrate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        AuditDictionary dictionary = new AuditDictionary(jdbcTemplate);
+        DatabaseDialect dialect = new DatabaseDialect(jdbcTemplate);
+        inserter = new AuditLogInserter(jdbcTemplate, transactionManager, new AuditRollups(jdbcTemplate, dialect), dictionary);
+
+        insertMonth(MARCH, 40);
+        insertMonth(APRIL, 40);
+        insertMonth(MAY, 10);
+
+        properties = new AuditArchiveProperties();
+        properties.setDirectory(directory);
+        properties.setHotMonths(1);
+        properties.setBlockRows(16);
+        archive = new AuditArchive(properties, objectMapper);
+        archiver = new AuditArchiver(properties, new AuditPartitionProperties(), archive, jdbcTemplate,
+            transactionManager, objectMapper, dictionary, dialect);
+    }
+
+    @AfterEach
+    void tearDown() {
+        archive.destroy();
+    }
+
+    @Test
+    void archiveMonths_MovesMonthsBeforeTheHotWindowOutOfTheTable() {
+        List<YearMonth> archived = archiver.archiveMonths(TODAY);
+
+        assertThat(archived).containsExactly(MARCH, APRIL);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class)).isEqualTo(10);
+        assertThat(archive.listSegments())
+            .extracting(AuditArchiveSegmentResponse::getMonth, AuditArchiveSegmentResponse::getRowCount)
+            .containsExactly(tuple(APRIL, 40L), tuple(MARCH, 40L));
+        assertThat(archive.get(MARCH).blockCount()).isEqualTo(3);
+    }
+
+    @Test
+    void search_ReturnsArchivedRowsNewestFirstAndContinuesFromAPosition() {
+        archiver.archiveMonths(TODAY);
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().userId(2L).build();
+
+        List<AuditLogResponse> rows = new ArrayList<>();
+        List<AuditLogResponse> slice = archive.search(search, null, null, 7).rows();
+        while (!slice.isEmpty()) {
+            rows.addAll(slice);
+            AuditLogResponse last = slice.getLast();
+            slice = archive.search(search, last.getCreatedAt(), last.getId(), 7).rows();
+        }
+
+        assertThat(rows).hasSize(20).allMatch(row -> row.getUserId() == 2L);
+        assertThat(rows).isSortedAccordingTo(Comparator.comparing(AuditLogResponse::getCreatedAt).reversed());
+        assertThat(rows.getFirst().getResourceId()).isEqualTo("2026-04-37");
+        assertThat(rows.getLast().getResourceId()).isEqualTo("2026-03-1");
+        assertThat(archive.search(AuditLogSearchRequest.builder().userId(999L).build(), null, null, 10).rows())
+            .isEmpty();
+    }
+
+    @Test
+    void search_StopsAtTheBlockCapAndResumesWhereItStopped() {
+        properties.setMaxBlocksPerSearch(2);
+        archiver.archiveMonths(TODAY);
+        archive = new AuditArchive(properties, objectMapper);
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().resourceId("no-such-row").build();
+
+        AuditArchive.Slice slice = archive.search(search, null, null, 10);
+        int searches = 1;
+        while (slice.resumeBefore() != null) {
+            assertThat(slice.rows()).isEmpty();
+            slice = archive.search(search, slice.resumeBefore().createdAt(), slice.resumeBefore().id(), 10);
+            searches++;
+        }
+
+        // 40 rows per month in blocks of 16, 16 and 8: two blocks per search
+        assertThat(searches).isEqualTo(3);
+        assertThat(archive.search(null, null, null, 100).rows()).hasSize(8 + 16);
+    }
+
+    @Test
+    void search_AppliesTheTimeRangeAndStringFilters() {
+        archiver.archiveMonths(TODAY);
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder()
+            .action("USER_UPDATED")
+            .resource("USER")
+            // Normalized like the database filter does
+            .ipAddress(" 127.0.0.1 ")
+            .from(MARCH.atDay(1).atTime(10, 0))
+            .to(MARCH.atDay(1).atTime(13, 0))
+            .build();
+
+        assertThat(archive.search(search, null, null, 100).rows())
+            .extracting(AuditLogResponse::getResourceId)
+            .containsExactly("2026-03-12", "2026-03-11", "2026-03-10");
+    }
+
+    @Test
+    void download_IsTheSegmentAsOneGzipStreamOfNdjsonLines() throws Exception {
+        archiver.archiveMonths(TODAY);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archive.download(MARCH).writeTo(out);
+        assertThat((long) out.size()).isEqualTo(archive.sizeOf(MARCH));
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(40);
+        assertThat(objectMapper.readValue(lines.getFirst(), AuditLogResponse.class).getResourceId())
+            .isEqualTo("2026-03-0");
+    }
+
+    @Test
+    void segmentsAreLoadedAgainAfterARestart() {
+        archiver.archiveMonths(TODAY);
+        archive.destroy();
+
+        archive = new AuditArchive(properties, objectMapper);
+
+        assertThat(archive.listSegments()).hasSize(2);
+        assertThat(archive.search(null, null, null, 1).rows())
+            .extracting(AuditLogResponse::getResourceId)
+            .containsExactly("2026-04-39");
+    }
+
+    @Test
+    void searchAndListing_SeeSegmentsAnotherInstanceWroteOrDeletedSinceStartup() {
+        AuditArchive other = new AuditArchive(properties, objectMapper);
+        try {
+            archiver.archiveMonths(TODAY);
+            assertThat(other.listSegments()).extracting(AuditArchiveSegmentResponse::getMonth)
+                .containsExactly(APRIL, MARCH);
+
+            archive.deleteBefore(APRIL);
+            assertThat(other.search(null, APRIL.atDay(1).atStartOfDay(), 0L, 1).rows()).isEmpty();
+            assertThat(other.listSegments()).extracting(AuditArchiveSegmentResponse::getMonth)
+                .containsExactly(APRIL);
+        } finally {
+            other.destroy();
+        }
+    }
+
+    @Test
+    void archiveMonths_LeavesRowsThatArrivedAfterTheirMonthWasArchived() {
+        archiver.archiveMonths(TODAY);
+        insert(MARCH.atDay(20).atStartOfDay(), 1L, "late");
+
+        List<YearMonth> archived = archiver.archiveMonths(TODAY);
+
+        assertThat(archived).isEmpty();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_logs WHERE resource_id = 'late'", Long.class)).isEqualTo(1);
+        assertThat(archive.get(MARCH).rowCount()).isEqualTo(40);
+    }
+
+    @Test
+    void archiveMonths_StopsAtTheFirstMonthThatCannotBeRemoved() {
+        archiver.archiveMonths(TODAY.minusMonths(1));
+        insert(MARCH.atDay(20).atStartOfDay(), 1L, "late");
+
+        List<YearMonth> archived = archiver.archiveMonths(TODAY);
+
+        assertThat(archived).isEmpty();
+        assertThat(archive.contains(APRIL)).isFalse();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_logs WHERE created_at >= ?", Long.class, APRIL.atDay(1).atStartOfDay()))
+            .isEqualTo(50);
+    }
+
+    @Test
+    void deleteBefore_RemovesSegmentsAndTheirFiles() {
+        archiver.archiveMonths(TODAY);
+
+        assertThat(archive.deleteBefore(APRIL)).containsExactly(MARCH);
+
+        assertThat(archive.listSegments()).extracting(AuditArchiveSegmentResponse::getMonth).containsExactly(APRIL);
+        assertThat(AuditArchiveSegment.dataFile(directory, MARCH)).doesNotExist();
+        assertThat(AuditArchiveSegment.indexFile(directory, MARCH)).doesNotExist();
+    }
+
+    /** One row per hour from the first of the month; user ids cycle through 1-4. */
+    private void insertMonth(YearMonth month, int rows) {
+        for (int i = 0; i < rows; i++) {
+            insert(month.atDay(1).atStartOfDay().plusHours(i), (long) (i % 4) + 1, month + "-" + i);
+        }
+    }
+
+    private void insert(LocalDateTime createdAt, Long userId, String resourceId) {
+        inserter.insert(new AuditRecord(
+            new AuditEvent(userId, "user" + userId, "USER_UPDATED", "USER", resourceId, "{}", "127.0.0.1"),
+            createdAt));
+    }
+}
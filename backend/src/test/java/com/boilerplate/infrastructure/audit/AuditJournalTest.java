@@ -0,0 +1,177 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.audit.AuditJournal.JournalEntry;
+import com.boilerplate.infrastructure.config.AuditJournalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private AuditJournalProperties properties;
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditJournalProperties();
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofKilobytes(4));
+        properties.setBatchSize(25);
+        properties.setPollInterval(Duration.ofMillis(10));
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.destroy();
+    }
+
+    @Test
+    void read_ReturnsAppendedEventsInOrderAcrossSegments() {
+        for (int i = 0; i < 200; i++) {
+            journal.accept(event("user-" + i));
+        }
+
+        List<JournalEntry> entries = journal.read(journal.getCheckpoint(), 1_000);
+
+        assertThat(segmentFiles()).hasSizeGreaterThan(3);
+        assertThat(entries).hasSize(200);
+        assertThat(entries).extracting(e -> e.record().event().resourceId())
+            .startsWith("user-0", "user-1")
+            .endsWith("user-199");
+        assertThat(entries.getFirst().record().event())
+            .isEqualTo(new AuditEvent(1L, "admin", "USER_UPDATED", "USER", "user-0", "{\"field\":\"é\"}", "127.0.0.1"));
+        assertThat(entries.getLast().nextOffset()).isEqualTo(journal.getWriteOffset());
+    }
+
+    @Test
+    void checkpoint_SurvivesRestartAndDeletesShippedSegments() {
+        for (int i = 0; i < 200; i++) {
+            journal.accept(event("user-" + i));
+        }
+        List<JournalEntry> shipped = journal.read(journal.getCheckpoint(), 150);
+        journal.checkpoint(shipped.getLast().nextOffset());
+        int segmentsAfterCheckpoint = segmentFiles().size();
+        journal.destroy();
+
+        journal = open();
+
+        assertThat(segmentFiles()).hasSize(segmentsAfterCheckpoint);
+        assertThat(journal.read(journal.getCheckpoint(), 1_000))
+            .extracting(e -> e.record().event().resourceId())
+            .hasSize(50)
+            .startsWith("user-150");
+    }
+
+    @Test
+    void recovery_TruncatesATornRecordAndKeepsAppending() throws Exception {
+        journal.accept(event("kept"));
+        long tornOffset = journal.append(AuditRecordCodec.encode(AuditRecord.now(event("torn"))));
+        journal.destroy();
+        // Corrupt the last record's payload as if the process died while copying it
+        try (RandomAccessFile file = new RandomAccessFile(segmentFiles().getLast().toFile(), "rw")) {
+            file.seek(tornOffset + 20);
+            file.write(new byte[] {1, 2, 3, 4});
+        }
+
+        journal = open();
+        journal.accept(event("after-restart"));
+
+        assertThat(journal.read(journal.getCheckpoint(), 10))
+            .extracting(e -> e.record().event().resourceId())
+            .containsExactly("kept", "after-restart");
+    }
+
+    @Test
+    void codec_KeepsTheCountAndRequestIdAndReadsOlderVersions() {
+        AuditEvent coalesced = new AuditEvent(1L, "admin", "LOGIN_SUCCESS", "USER", "1", "{}", "127.0.0.1", 7);
+        AuditRecord record = new AuditRecord(coalesced, LocalDateTime.of(2026, 3, 1, 12, 0), "req-1");
+        byte[] encoded = AuditRecordCodec.encode(record);
+        assertThat(AuditRecordCodec.decode(ByteBuffer.wrap(encoded))).isEqualTo(record);
+
+        // A record from before the request ID was journalled: version 2, no trailing request ID
+        byte[] versionTwo = Arrays.copyOf(encoded, encoded.length - 4 - "req-1".length());
+        versionTwo[0] = 2;
+        AuditRecord decoded = AuditRecordCodec.decode(ByteBuffer.wrap(versionTwo));
+        assertThat(decoded.event()).isEqualTo(coalesced);
+        assertThat(decoded.requestId()).isNull();
+
+        // A record from before the count was journalled: version 1, no trailing count either
+        byte[] versionOne = Arrays.copyOf(versionTwo, versionTwo.length - 4);
+        versionOne[0] = 1;
+        assertThat(AuditRecordCodec.decode(ByteBuffer.wrap(versionOne)).event().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shipper_WritesTheJournalToTheDatabaseAndResumesFromTheCheckpoint() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:journal_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        AuditSchema.migrate(dataSource);
+        AuditLogInserter inserter = new AuditLogInserter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            new AuditRollups(jdbcTemplate, new DatabaseDialect(jdbcTemplate)), new AuditDictionary(jdbcTemplate));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        for (int i = 0; i < 120; i++) {
+            journal.accept(event("user-" + i));
+        }
+        journal.accept(new AuditEvent(1L, "admin", null, "USER", "bad", "{}", "127.0.0.1"));
+        AuditJournalShipper shipper = new AuditJournalShipper(properties, journal, inserter, meterRegistry);
+        shipper.start();
+        shipper.stop();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class)).isEqualTo(120);
+        assertThat(meterRegistry.get("audit.events.failed").counter().count()).isEqualTo(1);
+        assertThat(journal.getLag()).isZero();
+
+        // Events appended after the last checkpoint are shipped after a restart, the rest are not repeated
+        journal.accept(event("user-120"));
+        journal.destroy();
+        journal = open();
+        new AuditJournalShipper(properties, journal, inserter, meterRegistry).shipBatch();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class)).isEqualTo(121);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(DISTINCT resource_id) FROM audit_logs", Long.class)).isEqualTo(121);
+    }
+
+    private AuditJournal open() {
+        return new AuditJournal(properties, new SimpleMeterRegistry());
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> f.toString().endsWith(".seg")).sorted().toList();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static AuditEvent event(String resourceId) {
+        return new AuditEvent(1L, "admin", "USER_UPDATED", "USER", resourceId, "{\"field\":\"é\"}", "127.0.0.1");
+    }
+}
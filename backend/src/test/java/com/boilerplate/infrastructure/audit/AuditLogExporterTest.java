@@ -0,0 +1,191 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.audit.AuditLogExporter.Format;
+import com.boilerplate.infrastructure.config.AuditExportProperties;
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AuditLogExporterTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HikariDataSource dataSource;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogExporter exporter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        String url = "jdbc:h2:mem:export_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // Flyway needs more than the one pooled connection
+        JdbcDataSource schema = new JdbcDataSource();
+        schema.setURL(url);
+        AuditSchema.migrate(schema);
+
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setConnectionTimeout(250);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        AuditDictionary dictionary = new AuditDictionary(jdbcTemplate);
+        DatabaseDialect dialect = new DatabaseDialect(jdbcTemplate);
+        AuditLogInserter inserter = new AuditLogInserter(jdbcTemplate,
+            new DataSourceTransactionManager(dataSource), new AuditRollups(jdbcTemplate, dialect), dictionary);
+        inserter.insertBatch(List.of(
+            new AuditRecord(new AuditEvent(1L, "admin", "USER_UPDATED", "USER", "7", "{\"a\":\"x,y\"}", "10.0.0.1"),
+                START.plusMinutes(2)),
+            new AuditRecord(new AuditEvent(null, "say\n\"hi\"", "USER_CREATED", "USER", "8", "line\nbreak", "10.0.0.2"),
+                START),
+            new AuditRecord(new AuditEvent(2L, "bob", "GROUP_CREATED", "GROUP", "1", null, "10.0.0.3"),
+                START.plusMinutes(1))
+        ));
+
+        AuditExportProperties properties = new AuditExportProperties();
+        properties.setFetchSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        exporter = new AuditLogExporter(dataSource, properties, objectMapper.getFactory(), dictionary, dialect,
+            meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        exporter.close();
+    }
+
+    @Test
+    void export_Ndjson_WritesOneObjectPerLineOldestFirst() throws Exception {
+        List<String> lines = run(exporter.export(null, Format.NDJSON, false)).lines().toList();
+
+        assertThat(lines).hasSize(3).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        List<JsonNode> rows = lines.stream().map(this::parse).toList();
+        assertThat(rows).extracting(row -> row.get("resourceId").asText()).containsExactly("8", "1", "7");
+        assertThat(rows.getFirst().get("userId").isNull()).isTrue();
+        assertThat(rows.getFirst().get("metadata").get("message").asText()).isEqualTo("line\nbreak");
+        assertThat(rows.getLast().get("metadata").get("a").asText()).isEqualTo("x,y");
+        assertThat(rows.getLast().get("createdAt").asText()).isEqualTo("2026-03-01T12:02:00");
+        assertThat(rows.getLast().get("eventCount").asInt()).isEqualTo(1);
+        assertThat(meterRegistry.get("audit.export.rows").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void export_Csv_QuotesFieldsThatNeedIt() throws Exception {
+        String csv = run(exporter.export(null, Format.CSV, false));
+
+        assertThat(csv).startsWith("id,userId,username,action,resource,resourceId,metadata,ipAddress,createdAt,eventCount\r\n");
+        assertThat(csv).contains(",\"say\n\"\"hi\"\"\",USER_CREATED,USER,8,\"{\"\"message\"\":\"\"line\\nbreak\"\"}\",10.0.0.2,2026-03-01T12:00:00,1\r\n");
+        assertThat(csv).contains(",1,admin,USER_UPDATED,USER,7,\"{\"\"a\"\":\"\"x,y\"\"}\",10.0.0.1,");
+        assertThat(csv).contains(",2,bob,GROUP_CREATED,GROUP,1,,10.0.0.3,");
+    }
+
+    @Test
+    void export_AppliesSearchFiltersAndGzip() throws Exception {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder()
+            .resource("USER")
+            .from(START.plusMinutes(1))
+            .build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(search, Format.NDJSON, true).writeTo(out);
+        String ndjson;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ndjson = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertThat(ndjson.lines().map(this::parse).toList())
+            .extracting(row -> row.get("resourceId").asText())
+            .containsExactly("7");
+    }
+
+    @Test
+    void export_MetadataFilter_MatchesRowsWhoseMetadataContainsTheObject() throws Exception {
+        AuditLogSearchRequest search = AuditLogSearchRequest.builder().metadata("{\"a\": \"x,y\"}").build();
+
+        assertThat(run(exporter.export(search, Format.NDJSON, false)).lines().map(this::parse).toList())
+            .extracting(row -> row.get("resourceId").asText())
+            .containsExactly("7");
+    }
+
+    @Test
+    void export_WhenEveryConnectionIsBusy_ThrowsServiceOverloadedException() throws Exception {
+        StreamingResponseBody running = exporter.export(null, Format.NDJSON, false);
+
+        assertThatThrownBy(() -> exporter.export(null, Format.CSV, false))
+            .isInstanceOf(ServiceOverloadedException.class);
+
+        // Finishing the first export hands its connection back
+        run(running);
+        assertThat(run(exporter.export(null, Format.CSV, false))).isNotEmpty();
+    }
+
+    @Test
+    void export_WhenTheRequestEndsBeforeTheBodyRuns_ReleasesTheConnection() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        // An executor that never gets to the task, like a saturated or shut down one
+        asyncManager.setTaskExecutor(mock(AsyncTaskExecutor.class));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        StreamingResponseBody abandoned;
+        try {
+            abandoned = exporter.export(null, Format.NDJSON, false);
+            asyncManager.startCallableProcessing(() -> null);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+
+        assertThat(run(exporter.export(null, Format.CSV, false))).isNotEmpty();
+        assertThatThrownBy(() -> run(abandoned)).isInstanceOf(IOException.class);
+    }
+
+    private static String run(StreamingResponseBody body) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import com.boilerplate.infrastructure.config.AuditWriterProperties;
+import com.boilerplate.infrastructure.config.RequestTraceFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuditLogWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:audit_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        AuditSchema.migrate(dataSource);
+
+        AuditWriterProperties properties = new AuditWriterProperties();
+        properties.setQueueCapacity(1_000);
+        properties.setFlushSize(50);
+        properties.setFlushInterval(Duration.ofMillis(20));
+        meterRegistry = new SimpleMeterRegistry();
+        AuditLogInserter inserter = new AuditLogInserter(jdbcTemplate, new DataSourceTransactionManager(dataSource),
+            new AuditRollups(jdbcTemplate, new DatabaseDialect(jdbcTemplate)), new AuditDictionary(jdbcTemplate));
+        writer = new AuditLogWriter(properties, inserter, meterRegistry);
+    }
+
+    @Test
+    void stop_DrainsEverythingQueuedInBatches() {
+        writer.start();
+        for (int i = 0; i < 730; i++) {
+            writer.accept(event("USER_UPDATED", "user-" + i));
+        }
+        writer.stop();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class)).isEqualTo(730);
+        assertThat(meterRegistry.get("audit.events.written").counter().count()).isEqualTo(730);
+        assertThat(meterRegistry.get("audit.flush.latency").timer().count()).isBetween(15L, 730L);
+        assertThat(meterRegistry.get("audit.queue.depth").gauge().value()).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM audit_logs WHERE created_at IS NULL", Long.class)).isZero();
+    }
+
+    @Test
+    void write_FailedBatchIsRetriedRowByRow() {
+        writer.write(List.of(
+            pending(event("LOGIN_SUCCESS", "1")),
+            pending(event(null, "2")),
+            pending(event("LOGOUT", "3"))
+        ));
+
+        assertThat(jdbcTemplate.queryForList("SELECT resource_id FROM audit_logs ORDER BY id", String.class))
+            .containsExactly("1", "3");
+        assertThat(meterRegistry.get("audit.events.failed").counter().count()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(event_count) FROM audit_log_rollups", Long.class))
+            .isEqualTo(2);
+    }
+
+    @Test
+    void write_RetriesEachRowWithItsRequestIdInTheMdc() {
+        AuditLogInserter inserter = mock(AuditLogInserter.class);
+        doThrow(new IllegalStateException("boom")).when(inserter).insertBatch(anyList());
+        List<String> requestIds = new ArrayList<>();
+        doAnswer(invocation -> requestIds.add(MDC.get(RequestTraceFilter.MDC_REQUEST_ID)))
+            .when(inserter).insert(any());
+        AuditLogWriter failing = new AuditLogWriter(new AuditWriterProperties(), inserter, new SimpleMeterRegistry());
+
+        MDC.put(RequestTraceFilter.MDC_REQUEST_ID, "req-1");
+        AuditRecord first = pending(event("LOGIN_SUCCESS", "1"));
+        MDC.remove(RequestTraceFilter.MDC_REQUEST_ID);
+        failing.write(List.of(first, pending(event("LOGOUT", "2"))));
+
+        assertThat(requestIds).containsExactly("req-1", null);
+        assertThat(MDC.get(RequestTraceFilter.MDC_REQUEST_ID)).isNull();
+    }
+
+    @Test
+    void accept_WhenNotRunning_WritesDirectly() {
+        writer.accept(event("LOGIN_SUCCESS", "1"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Long.class)).isEqualTo(1);
+    }
+
+    private static AuditRecord pending(AuditEvent event) {
+        return AuditRecord.now(event);
+    }
+
+    private static AuditEvent event(String action, String resourceId) {
+        return new AuditEvent(1L, "admin", action, "USER", resourceId, "{}", "127.0.0.1");
+    }
+}
@@ -0,0 +1,153 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.dto.request.AuditActivityRequest;
+import com.boilerplate.application.dto.request.AuditActivityRequest.Dimension;
+import com.boilerplate.application.dto.request.AuditActivityRequest.Granularity;
+import com.boilerplate.application.dto.response.AuditActivityResponse;
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.application.event.AuditMetadata;
+import com.boilerplate.domain.repository.DatabaseDialect;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditRollupsTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private AuditRollups rollups;
+    private AuditLogInserter inserter;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = dataSource();
+        AuditSchema.migrate(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        rollups = new AuditRollups(jdbcTemplate, new DatabaseDialect(jdbcTemplate));
+        inserter = new AuditLogInserter(jdbcTemplate, new DataSourceTransactionManager(dataSource), rollups,
+            new AuditDictionary(jdbcTemplate));
+    }
+
+    @Test
+    void insertBatch_SumsEventsPerHourActionResourceAndUser() {
+        inserter.insertBatch(List.of(
+            record(DAY.withHour(9).withMinute(5), 1L, "LOGIN_SUCCESS"),
+            record(DAY.withHour(9).withMinute(55), 1L, "LOGIN_SUCCESS"),
+            record(DAY.withHour(9).withMinute(30), null, "LOGIN_FAILED"),
+            record(DAY.withHour(10), 1L, "LOGIN_SUCCESS")
+        ));
+        inserter.insert(record(DAY.withHour(9).withMinute(40), null, "LOGIN_FAILED"));
+
+        assertThat(jdbcTemplate.queryForList(
+            "SELECT CONCAT(bucket_start, ' ', action, ' ', user_id, ' ', event_count) FROM audit_log_rollups "
+                + "ORDER BY bucket_start, action", String.class))
+            .containsExactly(
+                "2026-03-02 09:00:00 LOGIN_FAILED  2",
+                "2026-03-02 09:00:00 LOGIN_SUCCESS 1 2",
+                "2026-03-02 10:00:00 LOGIN_SUCCESS 1 1");
+    }
+
+    @Test
+    void insertBatch_CountsACoalescedRowAsTheEventsItStandsFor() {
+        inserter.insertBatch(List.of(
+            new AuditRecord(new AuditEvent(1L, "user1", "LOGIN_SUCCESS", "USER", null, null, "127.0.0.1", 5),
+                DAY.withHour(9)),
+            record(DAY.withHour(9).withMinute(30), 1L, "LOGIN_SUCCESS")
+        ));
+
+        assertThat(jdbcTemplate.queryForList("SELECT event_count FROM audit_logs ORDER BY id", Integer.class))
+            .containsExactly(5, 1);
+        assertThat(jdbcTemplate.queryForObject("SELECT event_count FROM audit_log_rollups", Long.class)).isEqualTo(6);
+    }
+
+    @Test
+    void migrationsBackfillRollupsAndEncodeExistingRows() {
+        JdbcDataSource dataSource = dataSource();
+        AuditSchema.migrate(dataSource, "25");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("INSERT INTO audit_logs (user_id, action, resource, metadata, ip_address, created_at, updated_at) VALUES "
+            + "(1, 'USER_DELETED', 'USER', 'Soft-deleted \"bob\"', '10.0.0.1', TIMESTAMP '2026-03-02 09:10:00', TIMESTAMP '2026-03-02 09:10:00'), "
+            + "(1, 'USER_DELETED', 'USER', NULL, 'UNKNOWN', TIMESTAMP '2026-03-02 09:20:00', TIMESTAMP '2026-03-02 09:20:00')");
+
+        AuditSchema.migrate(dataSource);
+
+        AuditRollups migrated = new AuditRollups(jdbc, new DatabaseDialect(jdbc));
+        assertThat(migrated.query(AuditActivityRequest.builder().build(), DAY, DAY.plusDays(1)))
+            .extracting(AuditActivityResponse::getBucket, AuditActivityResponse::getCount)
+            .containsExactly(tuple(DAY.withHour(9), 2L));
+        AuditDictionary dictionary = new AuditDictionary(jdbc);
+        assertThat(jdbc.queryForList("SELECT action_code, resource_code, ip_address FROM audit_logs ORDER BY id"))
+            .extracting(row -> dictionary.nameOf(((Number) row.get("action_code")).shortValue()),
+                row -> dictionary.nameOf(((Number) row.get("resource_code")).shortValue()), row -> row.get("ip_address"))
+            .containsExactly(tuple("USER_DELETED", "USER", "10.0.0.1"), tuple("USER_DELETED", "USER", null));
+        assertThat(jdbc.queryForList("SELECT metadata FROM audit_logs ORDER BY id", String.class))
+            .extracting(AuditMetadata::read)
+            .containsExactly(AuditMetadata.parseObject("{\"message\": \"Soft-deleted \\\"bob\\\"\"}"), null);
+    }
+
+    @Test
+    void query_SumsOverTheDimensionsNotGroupedBy() {
+        inserter.insertBatch(List.of(
+            record(DAY.withHour(9), 1L, "LOGIN_SUCCESS"),
+            record(DAY.withHour(9), 2L, "LOGIN_SUCCESS"),
+            record(DAY.withHour(9), 2L, "LOGOUT"),
+            record(DAY.withHour(11), 1L, "LOGIN_SUCCESS")
+        ));
+
+        assertThat(query(AuditActivityRequest.builder().build(), DAY, DAY.plusDays(1)))
+            .extracting(AuditActivityResponse::getBucket, AuditActivityResponse::getCount)
+            .containsExactly(tuple(DAY.withHour(9), 3L), tuple(DAY.withHour(11), 1L));
+
+        assertThat(query(AuditActivityRequest.builder().groupBy(Set.of(Dimension.USER)).action("LOGIN_SUCCESS").build(),
+            DAY, DAY.plusDays(1)))
+            .extracting(AuditActivityResponse::getBucket, AuditActivityResponse::getUserId, AuditActivityResponse::getCount)
+            .containsExactly(tuple(DAY.withHour(9), 1L, 1L), tuple(DAY.withHour(9), 2L, 1L), tuple(DAY.withHour(11), 1L, 1L));
+    }
+
+    @Test
+    void query_DailyBucketsStartAtMidnightOfTheFromDay() {
+        inserter.insertBatch(List.of(
+            record(DAY.withHour(1), 1L, "USER_DELETED"),
+            record(DAY.withHour(23), 1L, "USER_DELETED"),
+            record(DAY.plusDays(1).withHour(12), 1L, "USER_DELETED"),
+            record(DAY.plusDays(1).withHour(12), 2L, "USER_DELETED"),
+            record(DAY.plusDays(2), 1L, "USER_DELETED")
+        ));
+        AuditActivityRequest request = AuditActivityRequest.builder()
+            .granularity(Granularity.DAY)
+            .groupBy(Set.of(Dimension.ACTION, Dimension.RESOURCE))
+            .userId(1L)
+            .build();
+
+        assertThat(query(request, DAY.withHour(15), DAY.plusDays(2)))
+            .extracting(AuditActivityResponse::getBucket, AuditActivityResponse::getAction,
+                AuditActivityResponse::getResource, AuditActivityResponse::getUserId, AuditActivityResponse::getCount)
+            .containsExactly(
+                tuple(DAY, "USER_DELETED", "USER", null, 2L),
+                tuple(DAY.plusDays(1), "USER_DELETED", "USER", null, 1L));
+    }
+
+    private List<AuditActivityResponse> query(AuditActivityRequest request, LocalDateTime from, LocalDateTime to) {
+        return rollups.query(request, from, to);
+    }
+
+    private static JdbcDataSource dataSource() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:rollups_" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    private static AuditRecord record(LocalDateTime at, Long userId, String action) {
+        return new AuditRecord(new AuditEvent(userId, "user" + userId, action, "USER", null, null, "127.0.0.1"), at);
+    }
+}
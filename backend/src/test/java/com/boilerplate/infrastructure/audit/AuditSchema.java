@@ -0,0 +1,25 @@
+package com.boilerplate.infrastructure.audit;
+
+import org.flywaydb.core.Flyway;
+
+import javax.sql.DataSource;
+
+/** Creates the application schema in a test database the way the dev profile does on H2. */
+final class AuditSchema {
+
+    private AuditSchema() {
+    }
+
+    static void migrate(DataSource dataSource) {
+        migrate(dataSource, "latest");
+    }
+
+    static void migrate(DataSource dataSource, String target) {
+        Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .target(target)
+            .load()
+            .migrate();
+    }
+}
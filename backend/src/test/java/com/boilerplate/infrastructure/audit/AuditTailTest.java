@@ -0,0 +1,123 @@
+package com.boilerplate.infrastructure.audit;
+
+import com.boilerplate.application.event.AuditEvent;
+import com.boilerplate.infrastructure.audit.AuditTail.Entry;
+import com.boilerplate.infrastructure.config.AuditTailProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AuditTailTest {
+
+    private AuditTail tail;
+
+    @BeforeEach
+    void setUp() {
+        AuditTailProperties properties = new AuditTailProperties();
+        properties.setCapacity(8);
+        tail = new AuditTail(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void read_ReturnsEventsFromThePositionAsTheStoredRowsWillRead() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            tail.append(event("user-" + i));
+        }
+
+        List<Entry> entries = tail.read(1, 0);
+
+        assertThat(entries).extracting(Entry::sequence).containsExactly(1L, 2L);
+        assertThat(entries.getFirst().row().getResourceId()).isEqualTo("user-1");
+        assertThat(entries.getFirst().row().getMetadata().get("field").asText()).isEqualTo("é");
+        assertThat(entries.getFirst().row().getIpAddress()).isNull();
+        assertThat(entries.getFirst().row().getEventCount()).isEqualTo(1);
+    }
+
+    @Test
+    void read_ReturnsIpAddressesInTheFormPostgreSqlReturnsThem() throws Exception {
+        for (String ipAddress : List.of(" 10.0.0.1 ", "2001:0DB8:0:0:1:0:0:1", "::ffff:10.0.0.1", "::0.1.0.0")) {
+            tail.append(new AuditEvent(1L, "admin", "USER_UPDATED", "USER", "1", "{}", ipAddress));
+        }
+
+        assertThat(tail.read(0, 0)).extracting(entry -> entry.row().getIpAddress())
+            .containsExactly("10.0.0.1", "2001:db8::1:0:0:1", "::ffff:10.0.0.1", "::0.1.0.0");
+    }
+
+    @Test
+    void read_WaitsForTheNextEventAndGivesUpAfterTheTimeout() throws Exception {
+        tail.start();
+        assertThat(tail.read(0, Duration.ofMillis(20).toNanos())).isEmpty();
+
+        CompletableFuture<List<Entry>> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return tail.read(0, Duration.ofSeconds(10).toNanos());
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        tail.append(event("late"));
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).extracting(e -> e.row().getResourceId()).containsExactly("late");
+        tail.stop();
+    }
+
+    @Test
+    void append_FromManyThreadsPublishesEveryEventOnce() throws Exception {
+        AuditTailProperties properties = new AuditTailProperties();
+        properties.setCapacity(4096);
+        AuditTail large = new AuditTail(properties, new SimpleMeterRegistry());
+        List<Thread> publishers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            publishers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 500; i++) {
+                    large.append(event("user-" + i));
+                }
+            }));
+        }
+        for (Thread publisher : publishers) {
+            publisher.join();
+        }
+
+        List<Long> sequences = new ArrayList<>();
+        for (List<Entry> entries = large.read(0, 0); !entries.isEmpty(); entries = large.read(sequences.size(), 0)) {
+            entries.forEach(entry -> sequences.add(entry.sequence()));
+        }
+        assertThat(sequences).hasSize(2000).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void read_StartsAtTheOldestEventLeftOnceThePositionWasOverwritten() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            tail.append(event("user-" + i));
+        }
+
+        assertThat(tail.read(3, 0)).extracting(Entry::sequence).containsExactly(12L, 13L, 14L, 15L, 16L, 17L, 18L, 19L);
+    }
+
+    @Test
+    void resumePosition_ContinuesAfterAnIdFromThisRunOnly() {
+        for (int i = 0; i < 5; i++) {
+            tail.append(event("user-" + i));
+        }
+
+        assertThat(tail.resumePosition(null)).isEqualTo(5);
+        assertThat(tail.resumePosition(tail.id(2))).isEqualTo(3);
+        assertThat(tail.resumePosition(tail.id(4))).isEqualTo(5);
+        assertThat(tail.resumePosition(tail.id(9))).isEqualTo(-1);
+        assertThat(tail.resumePosition("before-restart-2")).isEqualTo(-1);
+        assertThat(tail.resumePosition("garbage")).isEqualTo(-1);
+    }
+
+    private static AuditEvent event(String resourceId) {
+        return new AuditEvent(1L, "admin", "USER_UPDATED", "USER", resourceId, "{\"field\":\"é\"}", "UNKNOWN");
+    }
+}
@@ -0,0 +1,121 @@
+package com.boilerplate.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter.Priority.*;
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitProperties properties;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(50);
+
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void classify_UsesConfiguredPathGroups() {
+        assertThat(limiter.classify(new MockHttpServletRequest("POST", "/api/auth/login"))).contains(AUTH);
+        assertThat(limiter.classify(new MockHttpServletRequest("POST", "/api/users/bulk/status"))).contains(BATCH);
+        assertThat(limiter.classify(new MockHttpServletRequest("GET", "/api/audit-logs/tail"))).contains(BATCH);
+        assertThat(limiter.classify(new MockHttpServletRequest("GET", "/api/users"))).contains(INTERACTIVE);
+        assertThat(limiter.classify(new MockHttpServletRequest("GET", "/actuator/health"))).isEmpty();
+    }
+
+    @Test
+    void release_CountsEachPermitOnce() {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(BATCH).orElseThrow();
+
+        permit.releaseWithoutSample();
+        permit.releaseWithoutSample();
+        permit.release();
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void tryAcquire_ShedsBatchFirstAndKeepsHeadroomForAuth() {
+        List<AdaptiveConcurrencyLimiter.Permit> held = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            held.add(limiter.tryAcquire(BATCH).orElseThrow());
+        }
+
+        assertThat(limiter.tryAcquire(BATCH)).isEmpty();
+        for (int i = 0; i < 4; i++) {
+            held.add(limiter.tryAcquire(INTERACTIVE).orElseThrow());
+        }
+        assertThat(limiter.tryAcquire(INTERACTIVE)).isEmpty();
+        assertThat(limiter.tryAcquire(AUTH)).isPresent();
+        assertThat(limiter.tryAcquire(AUTH)).isEmpty();
+
+        assertThat(meterRegistry.get("concurrency.dropped").tag("priority", "batch").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("concurrency.inflight").gauge().value()).isEqualTo(10.0);
+
+        held.forEach(AdaptiveConcurrencyLimiter.Permit::releaseWithoutSample);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void recordSample_ShrinksLimitWhenLatencyClimbs() {
+        for (int i = 0; i < 50; i++) {
+            limiter.recordSample(millis(10), 10);
+        }
+        int steadyLimit = limiter.getLimit();
+
+        for (int i = 0; i < 50; i++) {
+            limiter.recordSample(millis(200), steadyLimit);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(steadyLimit);
+        assertThat(meterRegistry.get("concurrency.limit").gauge().value()).isEqualTo(limiter.getLimit(), offset(1.0));
+    }
+
+    @Test
+    void recordSample_GrowsLimitWhileLatencyIsStableAndLimitIsUsed() {
+        for (int i = 0; i < 50; i++) {
+            limiter.recordSample(millis(10), limiter.getLimit());
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(50);
+    }
+
+    @Test
+    void recordSample_IgnoresSamplesWhenMostOfTheLimitIsIdle() {
+        for (int i = 0; i < 50; i++) {
+            limiter.recordSample(millis(10), 1);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void release_OnlyInteractiveRequestsFeedTheLatencyEstimate() {
+        Optional<AdaptiveConcurrencyLimiter.Permit> auth = limiter.tryAcquire(AUTH);
+
+        auth.orElseThrow().release();
+
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
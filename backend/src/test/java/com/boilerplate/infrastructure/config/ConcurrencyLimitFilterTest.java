@@ -0,0 +1,47 @@
+package com.boilerplate.infrastructure.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ConcurrencyLimitFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter(new ConcurrencyLimitProperties(), new SimpleMeterRegistry());
+        filter = new ConcurrencyLimitFilter(
+            limiter, mock(CorsConfigurationSource.class), mock(HandlerExceptionResolver.class));
+    }
+
+    @Test
+    void doFilter_ReleasesTheSynchronousPermitWhenTheChainReturns() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/users"), new MockHttpServletResponse(),
+            (request, response) -> assertThat(limiter.getInFlight()).isEqualTo(1));
+
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void doFilter_ReleasesTheAsyncPermitWhenTheFirstDispatchReturns() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/audit-logs/tail");
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(request.isAsyncStarted()).isTrue();
+        assertThat(limiter.getInFlight()).isZero();
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limiter.getInFlight()).isZero();
+    }
+}
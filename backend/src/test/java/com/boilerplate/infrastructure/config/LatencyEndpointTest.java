@@ -0,0 +1,62 @@
+package com.boilerplate.infrastructure.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyEndpointTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LatencyEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        endpoint = new LatencyEndpoint(meterRegistry);
+    }
+
+    @Test
+    void latency_ReportsPercentileTimersSlowestFirstAndSkipsPlainTimers() {
+        Timer fast = percentileTimer("abac.evaluation", "decision", "permit");
+        Timer slow = percentileTimer("abac.evaluation", "decision", "deny");
+        for (int i = 1; i <= 100; i++) {
+            fast.record(Duration.ofMillis(i));
+            slow.record(Duration.ofMillis(10L * i));
+        }
+        meterRegistry.timer("plain.timer").record(Duration.ofMillis(5));
+
+        Map<String, List<LatencyEndpoint.TimerLatency>> result = endpoint.latency();
+
+        assertThat(result).containsOnlyKeys("abac.evaluation");
+        List<LatencyEndpoint.TimerLatency> timers = result.get("abac.evaluation");
+        assertThat(timers).extracting(t -> t.tags().get("decision")).containsExactly("deny", "permit");
+        assertThat(timers.get(0).count()).isEqualTo(100);
+        assertThat(timers.get(0).percentilesMs()).containsOnlyKeys("p50", "p99", "p999");
+        assertThat(timers.get(0).percentilesMs().get("p99")).isBetween(900.0, 1100.0);
+        assertThat(timers.get(0).maxMs()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void latencyFor_FiltersByMeterName() {
+        percentileTimer("jwt.verification", "outcome", "valid").record(Duration.ofMillis(1));
+        percentileTimer("abac.evaluation", "decision", "permit").record(Duration.ofMillis(1));
+
+        assertThat(endpoint.latencyFor("jwt.verification"))
+            .singleElement()
+            .satisfies(t -> assertThat(t.tags()).containsEntry("outcome", "valid"));
+    }
+
+    private Timer percentileTimer(String name, String tagKey, String tagValue) {
+        return Timer.builder(name)
+            .tag(tagKey, tagValue)
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.boilerplate.infrastructure.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingFilter.class);
+    private ListAppender<ILoggingEvent> appender;
+    private AccessLogProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        properties = new AccessLogProperties();
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_WithoutSampling_PassesOriginalResponseAndLogsOneLine() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            assertThat(res).isSameAs(response);
+            ((HttpServletResponse) res).setStatus(204);
+        };
+
+        new LoggingFilter(properties).doFilter(request, response, chain);
+
+        assertThat(messages()).singleElement().asString()
+            .startsWith("HTTP GET /api/users - Status: 204 - Duration: ");
+    }
+
+    @Test
+    void doFilter_WhenSampled_CapturesCappedAndRedactedBodies() throws Exception {
+        properties.setBodySampleRate(1);
+        properties.setMaxBodyBytes(40);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users");
+        request.setContent("{\"username\":\"alice\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        String longBody = "{\"id\":1,\"name\":\"" + "x".repeat(100) + "\"}";
+        FilterChain chain = (req, res) -> {
+            req.getInputStream().readAllBytes();
+            res.getWriter().write(longBody);
+        };
+
+        new LoggingFilter(properties).doFilter(request, response, chain);
+
+        assertThat(response.getContentAsString()).isEqualTo(longBody);
+        assertThat(messages()).hasSize(2);
+        assertThat(messages().get(1))
+            .contains("\"password\":\"***\"")
+            .doesNotContain("secret")
+            .contains("Response body: {\"id\":1,\"name\":\"xxx")
+            .endsWith("...(truncated)");
+    }
+
+    @Test
+    void doFilter_ExcludedPathIsNeverCaptured() throws Exception {
+        properties.setBodySampleRate(1);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new LoggingFilter(properties).doFilter(request, response, (req, res) -> assertThat(res).isSameAs(response));
+
+        assertThat(messages()).hasSize(1);
+    }
+
+    private List<String> messages() {
+        return appender.list.stream()
+            .map(ILoggingEvent::getFormattedMessage)
+            .filter(message -> message.startsWith("HTTP "))
+            .toList();
+    }
+}
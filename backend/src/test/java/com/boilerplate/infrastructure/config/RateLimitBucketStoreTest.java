@@ -0,0 +1,217 @@
+package com.boilerplate.infrastructure.config;
+
+import com.boilerplate.domain.model.User;
+import com.boilerplate.infrastructure.security.UserPrincipal;
+import com.boilerplate.presentation.exception.RateLimitExceededException;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.BucketExceptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimitBucketStoreTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitBucketStore bucketStore;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+            rule("login", "POST", "/api/auth/login", RateLimitProperties.KeyType.IP, 2),
+            rule("bulk", "POST", "/api/users/bulk/**", RateLimitProperties.KeyType.USER, 1)
+        ));
+
+        meterRegistry = new SimpleMeterRegistry();
+        bucketStore = new RateLimitBucketStore(properties, meterRegistry, noJdbcBackend());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void checkLimit_WhenBucketEmpty_ThrowsWithRetryAfter() {
+        bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+        bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+
+        assertThatThrownBy(() -> bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.1")))
+            .isInstanceOf(RateLimitExceededException.class)
+            .satisfies(ex -> assertThat(((RateLimitExceededException) ex).getRetryAfterSeconds()).isBetween(1L, 60L));
+        assertThat(meterRegistry.get("rate.limit.throttled").tag("rule", "login").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void checkLimit_KeepsSeparateBucketsPerIp() {
+        bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+        bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+
+        assertThatCode(() -> bucketStore.checkLimit(request("POST", "/api/auth/login", "10.0.0.2")))
+            .doesNotThrowAnyException();
+        assertThat(meterRegistry.get("rate.limit.buckets").tag("rule", "login").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void checkLimit_IgnoresRequestsThatMatchNoRule() {
+        for (int i = 0; i < 5; i++) {
+            bucketStore.checkLimit(request("GET", "/api/auth/login", "10.0.0.1"));
+            bucketStore.checkLimit(request("POST", "/api/users", "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void checkLimit_UserKeyedRuleFollowsPrincipalAcrossIps() {
+        authenticateAs(42L);
+
+        bucketStore.checkLimit(request("POST", "/api/users/bulk/status", "10.0.0.1"));
+
+        assertThatThrownBy(() -> bucketStore.checkLimit(request("POST", "/api/users/bulk/delete", "10.0.0.2")))
+            .isInstanceOf(RateLimitExceededException.class);
+
+        authenticateAs(43L);
+        assertThatCode(() -> bucketStore.checkLimit(request("POST", "/api/users/bulk/status", "10.0.0.1")))
+            .doesNotThrowAnyException();
+    }
+
+    @Test
+    void checkLimit_WhenDisabled_AllowsEverything() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(false);
+        properties.setRules(List.of(rule("login", "POST", "/api/auth/login", RateLimitProperties.KeyType.IP, 1)));
+        RateLimitBucketStore disabled =
+            new RateLimitBucketStore(properties, new SimpleMeterRegistry(), noJdbcBackend());
+
+        for (int i = 0; i < 3; i++) {
+            disabled.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+        }
+    }
+
+    @Test
+    void jdbcBackend_ReplicasShareOneBucket() throws Exception {
+        JdbcDataSource dataSource = h2DataSource("jdbc:h2:mem:rate_limit_shared;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/migration/V22__create_rate_limit_buckets.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        }
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(
+            rule("register", "POST", "/api/auth/register", RateLimitProperties.KeyType.IP, 3)));
+        JdbcBucketProxyManager proxyManager = new JdbcBucketProxyManager(dataSource, Duration.ofSeconds(1));
+        RateLimitBucketStore replicaA =
+            new RateLimitBucketStore(properties, new SimpleMeterRegistry(), jdbcBackend(proxyManager));
+        RateLimitBucketStore replicaB =
+            new RateLimitBucketStore(properties, new SimpleMeterRegistry(), jdbcBackend(proxyManager));
+
+        replicaA.checkLimit(request("POST", "/api/auth/register", "10.0.0.1"));
+        replicaB.checkLimit(request("POST", "/api/auth/register", "10.0.0.1"));
+        replicaA.checkLimit(request("POST", "/api/auth/register", "10.0.0.1"));
+
+        assertThatThrownBy(() -> replicaB.checkLimit(request("POST", "/api/auth/register", "10.0.0.1")))
+            .isInstanceOf(RateLimitExceededException.class);
+        assertThat(proxyManager.removeExpired()).isZero();
+    }
+
+    @Test
+    void jdbcBackend_WhenDatabaseUnavailable_LetsRequestsThrough() {
+        JdbcBucketProxyManager proxyManager = new JdbcBucketProxyManager(
+            h2DataSource("jdbc:h2:mem:rate_limit_missing;IFEXISTS=TRUE"), Duration.ofSeconds(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule("login", "POST", "/api/auth/login", RateLimitProperties.KeyType.IP, 1)));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimitBucketStore store = new RateLimitBucketStore(properties, registry, jdbcBackend(proxyManager));
+
+        for (int i = 0; i < 3; i++) {
+            store.checkLimit(request("POST", "/api/auth/login", "10.0.0.1"));
+        }
+
+        assertThat(registry.get("rate.limit.backend.errors").counter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void jdbcBackend_GivesUpOnALockedBucketAfterTheRequestTimeoutNotAWholeSecond() throws Exception {
+        JdbcDataSource dataSource = h2DataSource("jdbc:h2:mem:rate_limit_locked;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(new ClassPathResource("db/migration/V22__create_rate_limit_buckets.sql")
+                .getContentAsString(StandardCharsets.UTF_8));
+        }
+        JdbcBucketProxyManager proxyManager = new JdbcBucketProxyManager(dataSource, Duration.ofMillis(200));
+        BucketConfiguration configuration = BucketConfiguration.builder()
+            .addLimit(limit -> limit.capacity(10).refillGreedy(10, Duration.ofMinutes(1)))
+            .build();
+        Bucket bucket = proxyManager.builder().build("locked", () -> configuration);
+        bucket.tryConsume(1);
+
+        try (Connection holder = dataSource.getConnection(); Statement statement = holder.createStatement()) {
+            holder.setAutoCommit(false);
+            statement.executeQuery("SELECT state FROM rate_limit_buckets WHERE bucket_key = 'locked' FOR UPDATE");
+
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> bucket.tryConsume(1)).isInstanceOf(BucketExceptions.BucketExecutionException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(900));
+            holder.rollback();
+        }
+    }
+
+    private static ObjectProvider<JdbcBucketProxyManager> noJdbcBackend() {
+        return new StaticListableBeanFactory().getBeanProvider(JdbcBucketProxyManager.class);
+    }
+
+    private static ObjectProvider<JdbcBucketProxyManager> jdbcBackend(JdbcBucketProxyManager proxyManager) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("jdbcBucketProxyManager", proxyManager);
+        return beanFactory.getBeanProvider(JdbcBucketProxyManager.class);
+    }
+
+    private static JdbcDataSource h2DataSource(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        return dataSource;
+    }
+
+    private static RateLimitProperties.Rule rule(
+        String name, String method, String path, RateLimitProperties.KeyType key, long capacity
+    ) {
+        RateLimitProperties.Limit limit = new RateLimitProperties.Limit();
+        limit.setCapacity(capacity);
+        limit.setPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setName(name);
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setKey(key);
+        rule.setLimits(List.of(limit));
+        return rule;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+
+    private static void authenticateAs(Long userId) {
+        UserPrincipal principal = new UserPrincipal(User.builder().id(userId).username("user" + userId).build());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
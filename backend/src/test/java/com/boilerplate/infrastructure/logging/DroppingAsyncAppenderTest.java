@@ -0,0 +1,224 @@
+package com.boilerplate.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class DroppingAsyncAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void append_WithStalledDownstream_NeverBlocksAndCountsEveryDrop() throws Exception {
+        StallingAppender downstream = new StallingAppender();
+        DroppingAsyncAppender async = asyncAppender(downstream, 64, 16);
+        Logger logger = logger(async);
+
+        logger.info("first");
+        assertThat(downstream.entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 0; i < 100; i++) {
+                logger.info("info {}", i);
+            }
+            for (int i = 0; i < 20; i++) {
+                logger.warn("warn {}", i);
+            }
+        });
+
+        // 49 INFO fit before the threshold, the remaining 15 slots go to WARN
+        assertThat(async.getDiscardedCount()).isEqualTo(51);
+        assertThat(async.getRejectedCount()).isEqualTo(5);
+
+        downstream.release.countDown();
+        async.stop();
+
+        assertThat(downstream.received).hasSize(1 + 49 + 15);
+        assertThat(downstream.received.stream().filter(e -> e.getLevel() == Level.WARN)).hasSize(15);
+    }
+
+    @Test
+    void setDiscardLevel_KeepsInfoWhenOnlyDebugIsDiscardable() throws Exception {
+        StallingAppender downstream = new StallingAppender();
+        DroppingAsyncAppender async = asyncAppender(downstream, 16, 8);
+        async.setDiscardLevel("DEBUG");
+        Logger logger = logger(async);
+        logger.setLevel(Level.DEBUG);
+
+        logger.info("first");
+        assertThat(downstream.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 20; i++) {
+            logger.debug("debug {}", i);
+        }
+        for (int i = 0; i < 10; i++) {
+            logger.info("info {}", i);
+        }
+
+        assertThat(async.getDiscardedCount()).isEqualTo(11);
+        assertThat(async.getRejectedCount()).isEqualTo(3);
+        downstream.release.countDown();
+    }
+
+    @Test
+    void bindTo_PublishesDropCountersForConfiguredAppenders() {
+        LoggerContext global = (LoggerContext) LoggerFactory.getILoggerFactory();
+        SlowAppender downstream = new SlowAppender();
+        downstream.setContext(global);
+        downstream.start();
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(global);
+        async.setName("TEST_ASYNC");
+        async.addAppender(downstream);
+        async.start();
+        Logger logger = global.getLogger("async-metrics-test");
+        logger.addAppender(async);
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            new AsyncAppenderMetrics().bindTo(registry);
+
+            assertThat(registry.get("logging.events.dropped")
+                .tag("appender", "TEST_ASYNC").tag("reason", "queue_full").functionCounter().count()).isZero();
+            assertThat(registry.get("logging.queue.depth").tag("appender", "TEST_ASYNC").gauge().value()).isZero();
+        } finally {
+            logger.detachAppender(async);
+            async.stop();
+        }
+    }
+
+    /** A queue with room for the burst hands a slow downstream every event once stopped, dropping none. */
+    @Test
+    void stop_WithSlowDownstream_DeliversEveryQueuedEvent() {
+        int events = 2_000;
+        SlowAppender downstream = new SlowAppender();
+        DroppingAsyncAppender async = asyncAppender(downstream, 8192, 0);
+        Logger logger = logger(async);
+
+        for (int i = 0; i < events; i++) {
+            logger.info("HTTP {} {} - Status: {}", "GET", "/api/users", 200);
+        }
+        async.stop();
+
+        assertThat(async.getDiscardedCount() + async.getRejectedCount()).isZero();
+        assertThat(downstream.count).isEqualTo(events);
+    }
+
+    /**
+     * Rough throughput comparison against a downstream that costs ~20µs per event, roughly a JSON
+     * encode plus a write to a busy stdout pipe. Prints calls/s for both paths. Times the machine as
+     * much as the code, so it only runs when asked for (see the benchmark group in the pom).
+     */
+    @Test
+    @Tag("benchmark")
+    void benchmark_AsyncLoggingOutpacesSynchronousSlowDownstream() {
+        int events = 2_000;
+
+        SlowAppender syncDownstream = new SlowAppender();
+        syncDownstream.setContext(context);
+        syncDownstream.start();
+        Logger syncLogger = context.getLogger("bench.sync");
+        syncLogger.setAdditive(false);
+        syncLogger.addAppender(syncDownstream);
+
+        SlowAppender asyncDownstream = new SlowAppender();
+        DroppingAsyncAppender async = asyncAppender(asyncDownstream, 8192, 0);
+        Logger asyncLogger = logger(async);
+
+        long syncNanos = time(syncLogger, events);
+        long asyncNanos = time(asyncLogger, events);
+        async.stop();
+
+        System.out.printf("logging benchmark: sync %,.0f calls/s, async %,.0f calls/s (%d events)%n",
+            events * 1e9 / syncNanos, events * 1e9 / asyncNanos, events);
+
+        assertThat(asyncNanos).isLessThan(syncNanos);
+        assertThat(async.getDiscardedCount() + async.getRejectedCount()).isZero();
+        assertThat(asyncDownstream.count).isEqualTo(events);
+    }
+
+    private DroppingAsyncAppender asyncAppender(AppenderBase<ILoggingEvent> downstream, int queueSize, int threshold) {
+        downstream.setContext(context);
+        downstream.start();
+
+        DroppingAsyncAppender async = new DroppingAsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(queueSize);
+        async.setDiscardingThreshold(threshold);
+        async.addAppender(downstream);
+        async.start();
+        return async;
+    }
+
+    private Logger logger(DroppingAsyncAppender async) {
+        Logger logger = context.getLogger("async-test-" + System.identityHashCode(async));
+        logger.setAdditive(false);
+        logger.addAppender(async);
+        return logger;
+    }
+
+    private static long time(Logger logger, int events) {
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            logger.info("HTTP {} {} - Status: {}", "GET", "/api/users", 200);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static class StallingAppender extends AppenderBase<ILoggingEvent> {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<ILoggingEvent> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(event);
+        }
+    }
+
+    private static class SlowAppender extends AppenderBase<ILoggingEvent> {
+
+        volatile int count;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            event.getFormattedMessage();
+            LockSupport.parkNanos(20_000);
+            count++;
+        }
+    }
+}
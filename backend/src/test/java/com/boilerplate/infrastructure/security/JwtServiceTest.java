@@ -1,11 +1,15 @@
 package com.boilerplate.infrastructure.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.Date;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
@@ -14,6 +18,7 @@ class JwtServiceTest {
 
     private JwtService jwtService;
     private JwtProperties jwtProperties;
+    private SimpleMeterRegistry meterRegistry;
     private UserDetails userDetails;
 
     // Minimum 256-bit secret for HS256
@@ -31,7 +36,8 @@ class JwtServiceTest {
         jwtProperties.setRefreshTokenExpiration(REFRESH_TTL);
         jwtProperties.setRememberMeExpiration(REMEMBER_ME_TTL);
 
-        jwtService = new JwtService(jwtProperties);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtService = new JwtService(jwtProperties, meterRegistry);
 
         userDetails = new User(
             "testuser",
@@ -107,4 +113,65 @@ class JwtServiceTest {
 
         assertThat(token1).isNotEqualTo(token2);
     }
+
+    @Test
+    void refreshToken_ForUserPrincipal_CarriesSecurityStamp() {
+        com.boilerplate.domain.model.User user = com.boilerplate.domain.model.User.builder()
+            .id(7L)
+            .username("stamped")
+            .password("password")
+            .securityVersion(3L)
+            .attributesVersion(5L)
+            .policySetVersion(11L)
+            .build();
+
+        Claims claims = jwtService.parseToken(jwtService.generateRefreshToken(new UserPrincipal(user), false));
+
+        assertThat(claims.getSubject()).isEqualTo("stamped");
+        assertThat(claims.get(JwtService.CLAIM_USER_ID, Long.class)).isEqualTo(7L);
+        assertThat(claims.get(JwtService.CLAIM_SECURITY_VERSION, Long.class)).isEqualTo(3L);
+        assertThat(claims.get(JwtService.CLAIM_ATTRIBUTES_VERSION, Long.class)).isEqualTo(5L);
+        assertThat(claims.get(JwtService.CLAIM_POLICY_SET_VERSION, Long.class)).isEqualTo(11L);
+    }
+
+    @Test
+    void generateAccessToken_FromRefreshClaims_KeepsSubjectAndAuthorities() {
+        Claims refreshClaims = jwtService.parseToken(jwtService.generateRefreshToken(userDetails, false));
+
+        String accessToken = jwtService.generateAccessToken(refreshClaims);
+
+        assertThat(jwtService.isTokenValid(accessToken, userDetails)).isTrue();
+        assertThat(jwtService.parseToken(accessToken).get("authorities", List.class))
+            .containsExactlyInAnyOrder("USER_READ", "ROLE_USER");
+        assertThat(jwtService.parseToken(accessToken).getExpiration())
+            .isBefore(new Date(System.currentTimeMillis() + ACCESS_TTL + 1_000));
+    }
+
+    @Test
+    void generateRefreshToken_WithExplicitExpiry_DoesNotExtendLifetime() {
+        Date expiresAt = new Date((System.currentTimeMillis() / 1000 + 60) * 1000);
+
+        String token = jwtService.generateRefreshToken(userDetails, expiresAt);
+
+        assertThat(jwtService.parseToken(token).getExpiration()).isEqualTo(expiresAt);
+    }
+
+    @Test
+    void parseToken_WithTamperedToken_Throws() {
+        String token = jwtService.generateRefreshToken(userDetails, false);
+
+        assertThatThrownBy(() -> jwtService.parseToken(token + "x"))
+            .isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void parseToken_RecordsVerificationLatencyByOutcome() {
+        String token = jwtService.generateAccessToken(userDetails);
+
+        jwtService.parseToken(token);
+        assertThatThrownBy(() -> jwtService.parseToken(token + "x")).isInstanceOf(JwtException.class);
+
+        assertThat(meterRegistry.get("jwt.verification").tag("outcome", "valid").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jwt.verification").tag("outcome", "invalid").timer().count()).isEqualTo(1);
+    }
 }
@@ -0,0 +1,119 @@
+package com.boilerplate.infrastructure.security;
+
+import com.boilerplate.presentation.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PasswordHashingExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHashingExecutor hashingExecutor;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        properties.setRetryAfterSeconds(5);
+
+        meterRegistry = new SimpleMeterRegistry();
+        hashingExecutor = new PasswordHashingExecutor(properties, meterRegistry);
+        callers = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        hashingExecutor.destroy();
+    }
+
+    @Test
+    void encode_RunsOnHashingThreadAndRecordsLatency() {
+        String threadName = hashingExecutor.encode(() -> Thread.currentThread().getName());
+
+        assertThat(threadName).startsWith("password-hash-");
+        assertThat(meterRegistry.get("password.hashing.latency").tag("operation", "encode").timer().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void matches_WhenWorkerAndQueueAreFull_RejectsWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        Future<Boolean> running = callers.submit(() -> hashingExecutor.matches(() -> {
+            started.countDown();
+            await(release);
+            return true;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Boolean> queued = callers.submit(() -> hashingExecutor.matches(() -> true));
+        awaitQueueDepth(1);
+
+        assertThatThrownBy(() -> hashingExecutor.matches(() -> true))
+            .isInstanceOf(ServiceOverloadedException.class)
+            .satisfies(ex -> assertThat(((ServiceOverloadedException) ex).getRetryAfterSeconds()).isEqualTo(5));
+        assertThat(meterRegistry.get("password.hashing.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void offloadingEncoder_DelegatesToBCrypt() {
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(
+            new BCryptPasswordEncoder(4), hashingExecutor);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+    }
+
+    @Test
+    void offloadingEncoder_FlagsWeakerHashesForUpgrade() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("secret");
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(
+            new BCryptPasswordEncoder(5), hashingExecutor);
+
+        assertThat(encoder.upgradeEncoding(weakHash)).isTrue();
+    }
+
+    @Test
+    void calibrate_StaysWithinBounds() {
+        assertThat(BCryptStrengthCalibrator.calibrate(4, 6, 0)).isEqualTo(4);
+        assertThat(BCryptStrengthCalibrator.calibrate(4, 6, 60_000)).isEqualTo(6);
+    }
+
+    private void awaitQueueDepth(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hashing.queue.depth").gauge().value() < expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Queue never reached depth " + expected);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.boilerplate.infrastructure.tracing;
+
+import com.boilerplate.infrastructure.config.SlowRequestProperties;
+import com.boilerplate.infrastructure.tracing.RequestTrace.CompletedRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SlowRequestRecorderTest {
+
+    private SlowRequestRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        SlowRequestProperties properties = new SlowRequestProperties();
+        properties.setCapacity(5);
+        properties.setThreshold(Duration.ofMillis(10));
+        properties.setMaxSpans(3);
+        recorder = new SlowRequestRecorder(properties);
+    }
+
+    @Test
+    void offer_KeepsOnlyTheSlowestRequestsAboveThreshold() {
+        for (int ms : new int[] {5, 50, 20, 80, 11, 60, 9, 30, 70}) {
+            recorder.offer(request(ms));
+        }
+
+        assertThat(recorder.snapshot())
+            .extracting(CompletedRequest::durationMs)
+            .containsExactly(80.0, 70.0, 60.0, 50.0, 30.0);
+    }
+
+    @Test
+    void offer_ConcurrentOffersConvergeOnTheGlobalTopN() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(pool.submit(() ->
+                    IntStream.range(0, 1_000).forEach(i -> recorder.offer(request(10 + i * 8 + offset)))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(recorder.snapshot())
+            .extracting(CompletedRequest::durationMs)
+            .containsExactly(8009.0, 8008.0, 8007.0, 8006.0, 8005.0);
+    }
+
+    @Test
+    void requestTrace_RecordsSpansUpToTheCapAndCountsTheRest() {
+        RequestTrace trace = RequestTrace.begin("req-1", "GET", "/api/users", 3);
+        try (RequestTrace.Span span = RequestTrace.span("jwt.verify")) {
+            RequestTrace.prepareSql("select 1");
+        }
+        RequestTrace.recordSql(System.nanoTime());
+        RequestTrace.recordSinceStart("filters");
+        RequestTrace.recordSinceStart("handler");
+
+        CompletedRequest completed = trace.end(200);
+
+        assertThat(completed.spans()).extracting(RequestTrace.SpanRecord::name)
+            .containsExactly("jwt.verify", "sql", "filters");
+        assertThat(completed.spans().get(1).detail()).isEqualTo("select 1");
+        assertThat(completed.droppedSpans()).isEqualTo(1);
+
+        // Detached from the thread: further spans are no-ops
+        RequestTrace.recordSinceStart("late");
+        assertThat(completed.spans()).hasSize(3);
+    }
+
+    private static CompletedRequest request(double durationMs) {
+        return new CompletedRequest("id", "GET", "/api/users", 200, Instant.now(), durationMs, List.of(), 0);
+    }
+}
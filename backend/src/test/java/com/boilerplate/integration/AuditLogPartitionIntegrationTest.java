@@ -0,0 +1,110 @@
+package com.boilerplate.integration;
+
+import com.boilerplate.infrastructure.audit.AuditDictionary;
+import com.boilerplate.infrastructure.audit.AuditPartitionMaintenance;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Checks the monthly partitioning of audit_logs from V23: rows are routed by created_at, range
+ * queries are pruned to the months they cover and retention drops whole partitions.
+ */
+class AuditLogPartitionIntegrationTest extends AbstractIntegrationTest {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditPartitionMaintenance maintenance;
+
+    @Autowired
+    private AuditDictionary auditDictionary;
+
+    @Test
+    void partitionsExistForTheCurrentAndUpcomingMonths() {
+        maintenance.maintain();
+        YearMonth now = YearMonth.now();
+
+        List<String> partitions = partitions();
+
+        for (int i = 0; i <= 3; i++) {
+            assertThat(partitions).contains(partitionName(now.plusMonths(i)));
+        }
+        assertThat(partitions).contains("audit_logs_default");
+    }
+
+    @Test
+    void rowsAreRoutedByMonthAndRangeQueriesArePruned() {
+        YearMonth month = YearMonth.now().plusMonths(1);
+        insert(month.atDay(15).atStartOfDay());
+
+        String partition = jdbcTemplate.queryForObject(
+            "SELECT tableoid::regclass::text FROM audit_logs WHERE created_at = ?", String.class,
+            Timestamp.valueOf(month.atDay(15).atStartOfDay()));
+        String plan = String.join("\n", jdbcTemplate.queryForList(
+            "EXPLAIN SELECT * FROM audit_logs WHERE created_at >= ? AND created_at < ?", String.class,
+            Timestamp.valueOf(month.atDay(1).atStartOfDay()),
+            Timestamp.valueOf(month.atDay(10).atStartOfDay())));
+
+        assertThat(partition).isEqualTo(partitionName(month));
+        assertThat(plan).contains(partitionName(month)).doesNotContain(partitionName(month.plusMonths(1)));
+    }
+
+    @Test
+    void dropPartitionsBefore_DropsOnlyMonthsBeforeTheCutoff() {
+        YearMonth old = YearMonth.now().minusYears(5);
+        jdbcTemplate.queryForObject("SELECT audit_logs_create_partition(?)", Boolean.class, old.atDay(1));
+        insert(old.atDay(3).atStartOfDay());
+
+        List<String> dropped = jdbcTemplate.queryForList(
+            "SELECT audit_logs_drop_partitions_before(?)", String.class, old.plusMonths(1).atDay(1));
+
+        assertThat(dropped).containsExactly(partitionName(old));
+        assertThat(partitions()).doesNotContain(partitionName(old)).contains(partitionName(YearMonth.now()));
+    }
+
+    @Test
+    void createPartition_MovesRowsThatLandedInTheDefaultPartition() {
+        YearMonth far = YearMonth.now().plusYears(3);
+        insert(far.atDay(1).atStartOfDay());
+
+        Boolean created = jdbcTemplate.queryForObject(
+            "SELECT audit_logs_create_partition(?)", Boolean.class, far.atDay(1));
+
+        assertThat(created).isTrue();
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM " + partitionName(far), Long.class)).isEqualTo(1);
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("""
+            SELECT child.relname FROM pg_inherits
+            JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+            JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+            WHERE parent.relname = 'audit_logs'
+            """, String.class);
+    }
+
+    private void insert(LocalDateTime createdAt) {
+        jdbcTemplate.update("""
+            INSERT INTO audit_logs (user_id, username, action_code, resource_code, created_at, updated_at)
+            VALUES (1, 'admin', ?, ?, ?, ?)
+            """, auditDictionary.intern("USER_UPDATED"), auditDictionary.intern("USER"),
+            Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    private static String partitionName(YearMonth month) {
+        return "audit_logs_" + month.format(PARTITION_SUFFIX);
+    }
+}
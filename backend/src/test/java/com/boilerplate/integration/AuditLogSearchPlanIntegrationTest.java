@@ -0,0 +1,132 @@
+package com.boilerplate.integration;
+
+import com.boilerplate.application.dto.request.AuditLogSearchRequest;
+import com.boilerplate.application.dto.response.AuditLogResponse;
+import com.boilerplate.application.dto.response.CursorPage;
+import com.boilerplate.application.service.AuditLogService;
+import com.boilerplate.infrastructure.tracing.RequestTrace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the audit log search against sequential scans: for every filter combination the SQL that
+ * Hibernate actually generates (listing, keyset continuation and page count) is explained as a
+ * generic plan, i.e. for any parameter values, over a table large enough for the planner to care.
+ */
+class AuditLogSearchPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 200_000;
+    private static boolean seeded;
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private final String partition = "audit_logs_" + YearMonth.now().format(DateTimeFormatter.ofPattern("yyyy_MM"));
+
+    @BeforeEach
+    void seed() {
+        if (seeded) {
+            return;
+        }
+        jdbcTemplate.update("""
+            INSERT INTO audit_dictionary (name)
+            SELECT 'ACTION_' || g FROM generate_series(0, 39) AS g
+            UNION ALL
+            SELECT 'RES_' || g FROM generate_series(0, 7) AS g
+            ON CONFLICT DO NOTHING
+            """);
+        jdbcTemplate.update("""
+            INSERT INTO audit_logs (user_id, username, action_code, resource_code, resource_id, metadata, ip_address,
+                                    created_at, updated_at)
+            SELECT g % 1000, 'user' || (g % 1000), a.code, r.code, (g % 20000)::text,
+                   jsonb_build_object('userIds', jsonb_build_array(g % 5000)),
+                   ('10.0.' || (g % 200) || '.' || (g % 250))::inet,
+                   date_trunc('month', now()) + (g % 20) * INTERVAL '1 hour' + g * INTERVAL '1 millisecond',
+                   now()
+            FROM generate_series(1, ?) AS g
+            JOIN audit_dictionary a ON a.name = 'ACTION_' || (g % 40)
+            JOIN audit_dictionary r ON r.name = 'RES_' || (g % 8)
+            """, ROWS);
+        jdbcTemplate.execute("ANALYZE audit_logs");
+        seeded = true;
+    }
+
+    @Test
+    void everyFilterCombinationUsesAnIndex() throws SQLException {
+        List<String> failures = new ArrayList<>();
+        try (Connection explain = GenericPlans.connect(dataSourceProperties)) {
+            for (int mask = 0; mask < 128; mask++) {
+                AuditLogSearchRequest search = search(mask);
+                if (search.getResourceId() != null && search.getResource() == null) {
+                    continue;
+                }
+                CursorPage<AuditLogResponse> first = capture(explain, failures, search, () ->
+                    auditLogService.scrollAuditLogs(search, null, 20));
+                if (first.getNextCursor() != null) {
+                    capture(explain, failures, search, () ->
+                        auditLogService.scrollAuditLogs(search, first.getNextCursor(), 20));
+                }
+                if (mask != 0) {
+                    capture(explain, failures, search, () -> auditLogService.getAllAuditLogs(search,
+                        PageRequest.of(1, 20, Sort.by(Sort.Direction.DESC, "createdAt"))));
+                }
+            }
+        }
+
+        assertThat(failures).isEmpty();
+    }
+
+    private <T> T capture(Connection explain, List<String> failures, AuditLogSearchRequest search,
+                          Supplier<T> call) throws SQLException {
+        RequestTrace trace = RequestTrace.begin("plan", "GET", "/api/audit-logs", 100);
+        T result = call.get();
+        List<String> statements = trace.end(200).spans().stream()
+            .filter(span -> "sql".equals(span.name()))
+            .map(RequestTrace.SpanRecord::detail)
+            .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = GenericPlans.explain(explain, sql);
+            if (plan.contains("Seq Scan on " + partition)) {
+                failures.add(search + "\n" + sql + "\n" + plan);
+            }
+        }
+        return result;
+    }
+
+    private static AuditLogSearchRequest search(int mask) {
+        LocalDateTime monthStart = YearMonth.now().atDay(1).atStartOfDay();
+        return AuditLogSearchRequest.builder()
+            .userId((mask & 1) != 0 ? 7L : null)
+            .action((mask & 2) != 0 ? "ACTION_7" : null)
+            .resource((mask & 4) != 0 ? "RES_7" : null)
+            .resourceId((mask & 8) != 0 ? "7" : null)
+            .ipAddress((mask & 16) != 0 ? "10.0.7.7" : null)
+            .from((mask & 32) != 0 ? monthStart : null)
+            .to((mask & 32) != 0 ? monthStart.plusDays(1) : null)
+            .metadata((mask & 64) != 0 ? "{\"userIds\":[7]}" : null)
+            .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.boilerplate.integration;
+
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Explains statements as captured from Hibernate as generic plans, i.e. for any parameter values,
+ * so the plan tests can assert on the shape of the SQL the application actually runs.
+ */
+final class GenericPlans {
+
+    private GenericPlans() {
+    }
+
+    /** The driver would bind $n as real parameters, so the plans are asked for over the simple protocol. */
+    static Connection connect(DataSourceProperties dataSourceProperties) throws SQLException {
+        String url = dataSourceProperties.getUrl();
+        return DriverManager.getConnection(url + (url.contains("?") ? "&" : "?") + "preferQueryMode=simple",
+            dataSourceProperties.getUsername(), dataSourceProperties.getPassword());
+    }
+
+    static String explain(Connection connection, String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + numberPlaceholders(sql))) {
+            while (rows.next()) {
+                plan.append(rows.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    /** JDBC placeholders to PostgreSQL's $n, which EXPLAIN (GENERIC_PLAN) accepts without values. */
+    private static String numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++index);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+}
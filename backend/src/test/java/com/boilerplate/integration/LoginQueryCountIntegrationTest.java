@@ -0,0 +1,60 @@
+package com.boilerplate.integration;
+
+import com.boilerplate.application.dto.request.LoginRequest;
+import com.boilerplate.application.dto.response.AuthResponse;
+import com.boilerplate.application.service.AuthService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the login pipeline against query regressions: user + groups, the groups' member counts,
+ * attributes and the enabled policy set are each read exactly once, and nothing is lazy-loaded
+ * afterwards.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class LoginQueryCountIntegrationTest extends AbstractIntegrationTest {
+
+    private static final long MAX_LOGIN_QUERIES = 4;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Warm-up login so a one-off password hash upgrade is not counted
+        authService.login(adminLogin());
+        statistics.clear();
+    }
+
+    @Test
+    void login_StaysWithinFixedQueryBudget() {
+        AuthResponse response = authService.login(adminLogin());
+
+        assertThat(response.getUser().getEffectivePermissions()).isNotEmpty();
+        assertThat(response.getUser().getGroups()).isNotEmpty()
+            .allSatisfy(group -> assertThat(group.userCount()).isPositive());
+        assertThat(statistics.getQueryExecutionCount()).isLessThanOrEqualTo(MAX_LOGIN_QUERIES);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private LoginRequest adminLogin() {
+        return LoginRequest.builder()
+            .username("admin")
+            .password("admin123")
+            .build();
+    }
+}
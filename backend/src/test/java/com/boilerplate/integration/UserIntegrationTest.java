@@ -1,17 +1,30 @@
 package com.boilerplate.integration;
 
+import com.boilerplate.application.dto.request.BulkActionRequest;
+import com.boilerplate.application.dto.request.BulkStatusRequest;
 import com.boilerplate.application.dto.request.CreateUserRequest;
 import com.boilerplate.application.dto.request.LoginRequest;
 import com.boilerplate.application.dto.response.AuthResponse;
+import com.boilerplate.application.dto.response.BulkActionResponse;
+import com.boilerplate.application.dto.response.BulkJobResponse;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.domain.model.BulkJob.BulkJobStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.*;
 
 class UserIntegrationTest extends AbstractIntegrationTest {
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private String adminToken;
 
     @BeforeEach
@@ -181,4 +194,73 @@ class UserIntegrationTest extends AbstractIntegrationTest {
         assertThat(restoreResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(restoreResponse.getBody().getDeletedAt()).isNull();
     }
+
+    @Test
+    void bulkStatus_DisablesOnlyUsersThatChangeAcrossChunks() {
+        // More users than one statement takes, plus one already disabled and one deleted
+        jdbcTemplate.update("""
+            INSERT INTO users (username, email, password, enabled, created_at, updated_at, deleted_at)
+            SELECT 'bulk' || g, 'bulk' || g || '@example.com', 'x', g <> 2, now(), now(),
+                   CASE WHEN g = 3 THEN now() END
+            FROM generate_series(1, 12000) AS g""");
+        List<Long> ids = new ArrayList<>(jdbcTemplate.queryForList(
+            "SELECT id FROM users WHERE username LIKE 'bulk%'", Long.class));
+        ids.add(ids.getFirst());
+
+        ResponseEntity<BulkActionResponse> response = restTemplate.exchange(
+            baseUrl() + "/users/bulk/status",
+            HttpMethod.POST,
+            new HttpEntity<>(BulkStatusRequest.builder().userIds(ids).enabled(false).build(), authHeaders()),
+            BulkActionResponse.class
+        );
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getAffected()).isEqualTo(11998);
+        assertThat(jdbcTemplate.queryForList("""
+            SELECT enabled || ' ' || version || ' ' || security_version || ' ' || (deleted_at IS NULL) || ' ' || COUNT(*)
+            FROM users WHERE username LIKE 'bulk%'
+            GROUP BY enabled, version, security_version, deleted_at IS NULL
+            ORDER BY 1""", String.class))
+            .containsExactly("false 0 0 true 1", "false 1 1 true 11998", "true 0 0 false 1");
+
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'bulk%'");
+    }
+
+    @Test
+    void bulkDeleteJob_RunsInChunksInTheBackgroundUntilCompleted() throws InterruptedException {
+        jdbcTemplate.update("""
+            INSERT INTO users (username, email, password, enabled, created_at, updated_at)
+            SELECT 'job' || g, 'job' || g || '@example.com', 'x', true, now(), now()
+            FROM generate_series(1, 2500) AS g""");
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE 'job%'", Long.class);
+
+        ResponseEntity<BulkJobResponse> submitted = restTemplate.exchange(
+            baseUrl() + "/users/bulk/delete/jobs",
+            HttpMethod.POST,
+            new HttpEntity<>(BulkActionRequest.builder().userIds(ids).build(), authHeaders()),
+            BulkJobResponse.class
+        );
+        assertThat(submitted.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(submitted.getHeaders().getLocation()).hasPath("/api/users/bulk/jobs/" + submitted.getBody().getId());
+
+        BulkJobResponse job = submitted.getBody();
+        for (int i = 0; i < 100 && !job.getStatus().isFinished(); i++) {
+            Thread.sleep(100);
+            job = restTemplate.exchange(
+                baseUrl() + "/users/bulk/jobs/" + job.getId(),
+                HttpMethod.GET,
+                new HttpEntity<>(authHeaders()),
+                BulkJobResponse.class
+            ).getBody();
+        }
+
+        assertThat(job.getStatus()).isEqualTo(BulkJobStatus.COMPLETED);
+        assertThat(job.getProcessed()).isEqualTo(2500);
+        assertThat(job.getAffected()).isEqualTo(2500);
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM users WHERE username LIKE 'job%' AND deleted_at IS NULL", Integer.class)).isZero();
+
+        jdbcTemplate.update("DELETE FROM bulk_jobs");
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'job%'");
+    }
 }
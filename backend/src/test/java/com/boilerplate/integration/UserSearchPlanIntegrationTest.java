@@ -0,0 +1,100 @@
+package com.boilerplate.integration;
+
+import com.boilerplate.application.dto.request.UserSearchRequest;
+import com.boilerplate.application.service.UserService;
+import com.boilerplate.infrastructure.tracing.RequestTrace;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Guards the user keyword search against reading every user: for each filter combination the SQL
+ * that Hibernate generates (page and count) is explained as a generic plan over enough users for
+ * the planner to care, and must look the keyword up in all four pg_trgm indexes.
+ */
+class UserSearchPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ROWS = 200_000;
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+        "idx_users_username_trgm",
+        "idx_users_email_trgm",
+        "idx_user_profiles_first_name_trgm",
+        "idx_user_profiles_last_name_trgm"
+    );
+    private static final Pattern FULL_SCAN = Pattern.compile("Seq Scan on (users|user_profiles) ");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Test
+    void everyFilterCombinationLooksTheKeywordUpInTheTrigramIndexes() throws SQLException {
+        jdbcTemplate.update("""
+            INSERT INTO users (username, email, password, enabled, created_at, updated_at)
+            SELECT 'plan' || md5(g::text), md5((g * 7)::text) || '@example.com', 'x', g % 10 <> 0, now(), now()
+            FROM generate_series(1, ?) AS g""", ROWS);
+        jdbcTemplate.update("""
+            INSERT INTO user_profiles (user_id, first_name, last_name, created_at, updated_at)
+            SELECT id, md5(id || 'first'), md5(id || 'last'), now(), now()
+            FROM users WHERE username LIKE 'plan%' AND id % 2 = 0""");
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE user_profiles");
+
+        try {
+            List<String> failures = new ArrayList<>();
+            try (Connection explain = GenericPlans.connect(dataSourceProperties)) {
+                for (int mask = 0; mask < 8; mask++) {
+                    UserSearchRequest search = UserSearchRequest.builder()
+                        .search("NoSuchUser")
+                        .showDeleted((mask & 1) != 0)
+                        .enabled((mask & 2) != 0 ? true : null)
+                        .group((mask & 4) != 0 ? "Default Users" : null)
+                        .build();
+                    // Nothing matches, so the second page also runs the count query
+                    capture(explain, failures, search, PageRequest.of(1, 20));
+                    capture(explain, failures, search, PageRequest.of(0, 20, Sort.by("username")));
+                }
+            }
+
+            assertThat(failures).isEmpty();
+            assertThat(userService.searchUsers(UserSearchRequest.builder().search("ADMIN").build(), PageRequest.of(0, 20))
+                .getContent()).extracting("username").contains("admin");
+        } finally {
+            jdbcTemplate.update("DELETE FROM users WHERE username LIKE 'plan%'");
+        }
+    }
+
+    private void capture(Connection explain, List<String> failures, UserSearchRequest search,
+                         PageRequest pageable) throws SQLException {
+        RequestTrace trace = RequestTrace.begin("plan", "GET", "/api/users", 100);
+        userService.searchUsers(search, pageable);
+        List<String> statements = trace.end(200).spans().stream()
+            .filter(span -> "sql".equals(span.name()))
+            .map(RequestTrace.SpanRecord::detail)
+            .filter(sql -> sql.contains("user_profiles"))
+            .toList();
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            String plan = GenericPlans.explain(explain, sql);
+            if (FULL_SCAN.matcher(plan).find() || !TRIGRAM_INDEXES.stream().allMatch(plan::contains)) {
+                failures.add(search + " " + pageable + "\n" + sql + "\n" + plan);
+            }
+        }
+    }
+}
@@ -5,8 +5,12 @@ import com.boilerplate.application.dto.request.RegisterRequest;
 import com.boilerplate.application.dto.response.AuthResponse;
 import com.boilerplate.application.dto.response.UserResponse;
 import com.boilerplate.application.service.AuthService;
+import com.boilerplate.infrastructure.config.AccessLogProperties;
+import com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter;
+import com.boilerplate.infrastructure.config.RateLimitBucketStore;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
 import com.boilerplate.presentation.exception.DuplicateResourceException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -71,6 +75,18 @@ class AuthControllerTest {
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
+    @MockBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private AccessLogProperties accessLogProperties;
+
+    @MockBean
+    private SlowRequestRecorder slowRequestRecorder;
+
     private AuthResponse mockAuthResponse;
 
     @BeforeEach
@@ -6,8 +6,12 @@ import com.boilerplate.application.service.PolicyService;
 import com.boilerplate.domain.model.Policy.PolicyAction;
 import com.boilerplate.domain.model.Policy.PolicyEffect;
 import com.boilerplate.domain.model.Policy.PolicyResource;
+import com.boilerplate.infrastructure.config.AccessLogProperties;
+import com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter;
+import com.boilerplate.infrastructure.config.RateLimitBucketStore;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
 import com.boilerplate.presentation.exception.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +82,18 @@ class PolicyControllerTest {
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
+    @MockBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private AccessLogProperties accessLogProperties;
+
+    @MockBean
+    private SlowRequestRecorder slowRequestRecorder;
+
     private PolicyResponse testPolicyResponse;
 
     @BeforeEach
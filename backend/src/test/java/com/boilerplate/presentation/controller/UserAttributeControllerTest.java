@@ -3,8 +3,12 @@ package com.boilerplate.presentation.controller;
 import com.boilerplate.application.dto.request.UserAttributeRequest;
 import com.boilerplate.application.dto.response.UserAttributeResponse;
 import com.boilerplate.application.service.UserAttributeService;
+import com.boilerplate.infrastructure.config.AccessLogProperties;
+import com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter;
+import com.boilerplate.infrastructure.config.RateLimitBucketStore;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
 import com.boilerplate.presentation.exception.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -73,6 +77,18 @@ class UserAttributeControllerTest {
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
+    @MockBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private AccessLogProperties accessLogProperties;
+
+    @MockBean
+    private SlowRequestRecorder slowRequestRecorder;
+
     private UserAttributeResponse testAttributeResponse;
 
     @BeforeEach
@@ -4,9 +4,14 @@ import com.boilerplate.application.dto.request.CreateUserRequest;
 import com.boilerplate.application.dto.request.UpdateUserRequest;
 import com.boilerplate.application.dto.response.BulkActionResponse;
 import com.boilerplate.application.dto.response.UserResponse;
+import com.boilerplate.application.service.BulkJobService;
 import com.boilerplate.application.service.UserService;
+import com.boilerplate.infrastructure.config.AccessLogProperties;
+import com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter;
+import com.boilerplate.infrastructure.config.RateLimitBucketStore;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
 import com.boilerplate.presentation.exception.ResourceNotFoundException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -62,6 +67,9 @@ class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private BulkJobService bulkJobService;
+
     @MockBean
     private JwtService jwtService;
 
@@ -74,6 +82,18 @@ class UserControllerTest {
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
+    @MockBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private AccessLogProperties accessLogProperties;
+
+    @MockBean
+    private SlowRequestRecorder slowRequestRecorder;
+
     private UserResponse testUserResponse;
 
     @BeforeEach
@@ -4,9 +4,13 @@ import com.boilerplate.application.dto.request.UpdateProfileRequest;
 import com.boilerplate.application.dto.response.UserProfileResponse;
 import com.boilerplate.application.service.UserProfileService;
 import com.boilerplate.domain.model.User;
+import com.boilerplate.infrastructure.config.AccessLogProperties;
+import com.boilerplate.infrastructure.config.AdaptiveConcurrencyLimiter;
+import com.boilerplate.infrastructure.config.RateLimitBucketStore;
 import com.boilerplate.infrastructure.security.AbacPolicyEvaluator;
 import com.boilerplate.infrastructure.security.JwtService;
 import com.boilerplate.infrastructure.security.UserPrincipal;
+import com.boilerplate.infrastructure.tracing.SlowRequestRecorder;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -71,6 +75,18 @@ class UserProfileControllerTest {
     @MockBean
     private JpaMetamodelMappingContext jpaMetamodelMappingContext;
 
+    @MockBean
+    private RateLimitBucketStore rateLimitBucketStore;
+
+    @MockBean
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    @MockBean
+    private AccessLogProperties accessLogProperties;
+
+    @MockBean
+    private SlowRequestRecorder slowRequestRecorder;
+
     private UserPrincipal userPrincipal;
     private UserProfileResponse testProfileResponse;
 
@@ -5,7 +5,8 @@ export interface AuditLog {
   action: string;
   resource: string;
   resourceId: string;
-  metadata: string;
+  // A JSON object; plain text in rows archived before metadata became structured
+  metadata: Record<string, unknown> | string | null;
   ipAddress: string;
   createdAt: string;
 }
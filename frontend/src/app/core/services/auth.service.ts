@@ -23,7 +23,8 @@ export interface AuthResponse {
   refreshToken: string;
   tokenType: string;
   expiresIn: number;
-  user: UserResponse;
+  /** Omitted by a lightweight refresh when the user's permissions have not changed. */
+  user?: UserResponse | null;
 }
 
 @Injectable({ providedIn: 'root' })
@@ -40,7 +41,7 @@ export class AuthService {
       tap((response) => {
         this.tokenService.setAccessToken(response.accessToken);
         this.tokenService.setRefreshToken(response.refreshToken);
-        this.currentUser.set(response.user);
+        this.currentUser.set(response.user ?? null);
         this.isAuthenticated.set(true);
       })
     );
@@ -51,7 +52,7 @@ export class AuthService {
       tap((response) => {
         this.tokenService.setAccessToken(response.accessToken);
         this.tokenService.setRefreshToken(response.refreshToken);
-        this.currentUser.set(response.user);
+        this.currentUser.set(response.user ?? null);
         this.isAuthenticated.set(true);
       })
     );
@@ -66,16 +67,24 @@ export class AuthService {
 
   refreshToken(): Observable<AuthResponse> {
     const refreshToken = this.tokenService.getRefreshToken();
+    // Only skip the user payload when there is one to keep
+    const lightweight = this.currentUser() !== null;
     return this.http
       .post<AuthResponse>(
         `${environment.apiUrl}/auth/refresh`,
         {},
-        { headers: { Authorization: `Bearer ${refreshToken}` } }
+        {
+          headers: { Authorization: `Bearer ${refreshToken}` },
+          params: { lightweight },
+        }
       )
       .pipe(
         tap((response) => {
           this.tokenService.setAccessToken(response.accessToken);
-          this.currentUser.set(response.user);
+          this.tokenService.setRefreshToken(response.refreshToken);
+          if (response.user) {
+            this.currentUser.set(response.user);
+          }
         })
       );
   }
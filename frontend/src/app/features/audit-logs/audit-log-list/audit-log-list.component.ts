@@ -17,8 +17,11 @@ export class AuditLogListComponent {
 
   // Data signals
   logs = signal<AuditLog[]>([]);
-  totalElements = signal(0);
-  totalPages = signal(0);
+  hasNext = signal(false);
+
+  // Cursor that loaded each visited page (null for the first), so Previous can go back
+  private cursors: (string | null)[] = [null];
+  private nextCursor: string | null = null;
 
   // Define actions that should have specific colors
   private actionColors: Record<string, string> = {
@@ -36,16 +39,25 @@ export class AuditLogListComponent {
   }
 
   fetchLogs() {
-    this.auditLogService.getAuditLogs(this.currentPage(), this.pageSize()).subscribe((page) => {
+    const cursor = this.cursors[this.currentPage()];
+    this.auditLogService.scrollAuditLogs(cursor, this.pageSize()).subscribe((page) => {
       this.logs.set(page.content);
-      this.totalElements.set(page.totalElements);
-      this.totalPages.set(page.totalPages);
+      this.hasNext.set(page.hasNext);
+      this.nextCursor = page.nextCursor;
     });
   }
 
-  onPageChange(newPage: number) {
-    if (newPage >= 0 && newPage < this.totalPages()) {
-      this.currentPage.set(newPage);
+  onNextPage() {
+    if (this.hasNext() && this.nextCursor) {
+      this.cursors[this.currentPage() + 1] = this.nextCursor;
+      this.currentPage.update((page) => page + 1);
+      this.fetchLogs();
+    }
+  }
+
+  onPreviousPage() {
+    if (this.currentPage() > 0) {
+      this.currentPage.update((page) => page - 1);
       this.fetchLogs();
     }
   }
@@ -53,4 +65,17 @@ export class AuditLogListComponent {
   getActionClass(action: string): string {
     return this.actionColors[action] || 'bg-gray-100 text-gray-800';
   }
+
+  describeMetadata(log: AuditLog): string {
+    const metadata = log.metadata;
+    if (!metadata || typeof metadata === 'string') {
+      return metadata ?? '';
+    }
+    const message = typeof metadata['message'] === 'string' ? metadata['message'] : '';
+    const userIds = Array.isArray(metadata['userIds']) ? metadata['userIds'] : null;
+    if (userIds) {
+      return `${message} (${userIds.length} users)`.trim();
+    }
+    return message || JSON.stringify(metadata);
+  }
 }
@@ -12,6 +12,13 @@ export interface Page<T> {
   number: number;
 }
 
+export interface CursorPage<T> {
+  content: T[];
+  size: number;
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
 @Injectable({
   providedIn: 'root',
 })
@@ -24,4 +31,14 @@ export class AuditLogService {
 
     return this.http.get<Page<AuditLog>>(this.apiUrl, { params });
   }
+
+  /** Newest first without a total count; pass the previous slice's nextCursor to continue. */
+  scrollAuditLogs(cursor: string | null = null, size: number = 10): Observable<CursorPage<AuditLog>> {
+    let params = new HttpParams().set('size', size.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+
+    return this.http.get<CursorPage<AuditLog>>(`${this.apiUrl}/scroll`, { params });
+  }
 }